@@ -4,6 +4,7 @@ import com.ferreusveritas.dynamictrees.command.DTCommand;
 import com.ferreusveritas.dynamictrees.compat.CompatHandler;
 import com.ferreusveritas.dynamictrees.proxy.CommonProxy;
 import com.ferreusveritas.dynamictrees.seasons.SeasonHelper;
+import com.ferreusveritas.dynamictrees.systems.TreePartTable;
 import com.ferreusveritas.dynamictrees.worldgen.WorldGeneratorTrees;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.SidedProxy;
@@ -42,6 +43,11 @@ public class DynamicTrees {
 		proxy.cleanUp();
 	}
 
+	@Mod.EventHandler
+	public void idMappingChanged(FMLModIdMappingEvent event) {
+		TreePartTable.invalidate();//Block state ids have changed
+	}
+
 	@Mod.EventHandler
 	public static void serverStarting(FMLServerStartingEvent event) {
 		event.registerServerCommand(new DTCommand());
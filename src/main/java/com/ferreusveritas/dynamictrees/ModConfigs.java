@@ -28,6 +28,7 @@ public class ModConfigs {
 	public static float diseaseChance;
 	public static int maxBranchRotRadius;
 	public static boolean enableAppleTrees;
+	public static boolean chunkSpeciesStorage;
 
 	public static boolean isLeavesPassable;
 	public static boolean vanillaLeavesCollision;
@@ -40,6 +41,8 @@ public class ModConfigs {
 	public static boolean dirtBucketPlacesDirt;
 	public static boolean enableAltLeavesSnow;
 	public static int boneMealGrowthPulses;
+	public static int maxFellingsPerTick;
+	public static int fellingBlocksPerTick;
 
 	public static boolean replaceVanillaSapling;
 
@@ -47,9 +50,12 @@ public class ModConfigs {
 	public static boolean roofedForestMushroomGen;
 	public static boolean worldGen;
 	public static boolean vanillaCactusWorldGen;
+	public static boolean cacheJoCodes;
+	public static float pregenTargetMspt;
 	public static HashSet<Integer> dimensionBlacklist = new HashSet<Integer>();
 
 	public static boolean fancyThickRings;
+	public static boolean cacheThickRingTextures;
 
 	public static boolean worldGenDebug;
 
@@ -82,6 +88,7 @@ public class ModConfigs {
 		diseaseChance = config.getFloat("diseaseChance", "trees", 0.0f, 0.0f, 1.0f, "The chance of a tree on depleted soil to die. 1/256(~0.004) averages to about 1 death every 16 minecraft days");
 		maxBranchRotRadius = config.getInt("maxBranchRotRadius", "trees", 8, 0, 24, "The maximum radius of a branch that is allowed to rot away. 8 = Full block size.  Set to 0 to prevent rotting");
 		enableAppleTrees = config.getBoolean("enableAppleTrees", "trees", true, "If enabled apple trees will be generated during worldgen and oak trees will not drop apples");
+		chunkSpeciesStorage = config.getBoolean("chunkSpeciesStorage", "trees", false, "If enabled the species of trees that differ from the default of their tree are stored in the chunk instead of in a tile entity under each tree. Existing trees are moved over as they grow.");
 
 		//Interaction
 		isLeavesPassable = config.getBoolean("isLeavesPassable", "interaction", false, "If enabled all leaves will be passable");
@@ -95,6 +102,8 @@ public class ModConfigs {
 		dirtBucketPlacesDirt = config.getBoolean("dirtBucketPlacesDirt", "interaction", true, "If enabled the Dirt Bucket will place a dirt block on right-click");
 		enableAltLeavesSnow = config.getBoolean("enableAltLeavesSnow", "interaction", false, "If enabled then an alternate(non-vanilla) snow layer block will be used on top of leaves");
 		boneMealGrowthPulses = config.getInt("boneMealGrowthPulses", "interaction", 1, 1, 512, "The amount of growth pulses to send when bone meal is applied to a tree. Setting values higher than 64 is not recommended other than for testing purposes.");
+		maxFellingsPerTick = config.getInt("maxFellingsPerTick", "interaction", 4, 1, 256, "The most trees that can be felled in a world each tick. Any more are felled on the following ticks.");
+		fellingBlocksPerTick = config.getInt("fellingBlocksPerTick", "interaction", 16384, 0, 1048576, "The most blocks that felling trees can read or destroy in a world each tick. Bigger trees are destroyed over several ticks and fall once they are gone. Set to 0 to always destroy a tree in one go.");
 
 		//Vanilla
 		replaceVanillaSapling = config.getBoolean("replaceVanillaSapling", "vanilla", false, "Right clicking with a vanilla sapling places a dynamic sapling instead.");
@@ -104,6 +113,8 @@ public class ModConfigs {
 		roofedForestMushroomGen = config.getBoolean("roofedForestMushroomGen", "world", true, "Generate giant mushrooms in roofed forests.");
 		worldGen = config.getBoolean("worldGen", "world", true, "World Generation produces Dynamic Trees instead of Vanilla trees.");
 		vanillaCactusWorldGen = config.getBoolean("vanillaCactusWorldGen", "world", false, "World Generation produces Vanilla cactus as well as Dynamic cactus if world gen replacement is enabled.");
+		cacheJoCodes = config.getBoolean("cacheJoCodes", "world", true, "Compile tree code files into binary bundles in the config folder so they load faster and are only decoded when used.");
+		pregenTargetMspt = config.getFloat("pregenTargetMspt", "world", 40.0f, 1.0f, 1000.0f, "The average milliseconds per tick that /dt pregen keeps the server under while it populates chunks.");
 		String[] dims = config.getStringList("dimensionsBlacklist", "world", new String[]{"7"}, "Blacklist of dimension numbers for disabling Dynamic Tree worldgen");
 
 		for (String dim : dims) {
@@ -117,6 +128,7 @@ public class ModConfigs {
 
 		//Client
 		fancyThickRings = config.getBoolean("fancyThickRings", "client", true, "Rings of thick trees are rendered using a texture created with an expanded tangram construction technique. Otherwise the ring texture is simply stretched");
+		cacheThickRingTextures = config.getBoolean("cacheThickRingTextures", "client", true, "Keep generated thick ring textures in the config folder so they are only generated again when the ring texture changes.");
 
 		//Debug
 		worldGenDebug = config.getBoolean("worldGenDebug", "debug", false, "Enable to mark tree spawn locations with wool circles.");
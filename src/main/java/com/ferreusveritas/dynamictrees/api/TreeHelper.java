@@ -5,11 +5,17 @@ import com.ferreusveritas.dynamictrees.api.network.MapSignal;
 import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.blocks.*;
 import com.ferreusveritas.dynamictrees.blocks.BlockTrunkShell.ShellMuse;
+import com.ferreusveritas.dynamictrees.cells.LeafClusters;
+import com.ferreusveritas.dynamictrees.systems.TreePartTable;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeFindEnds;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeTwinkle;
 import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.BlockBounds;
 import com.ferreusveritas.dynamictrees.util.Deprecatron;
+import com.ferreusveritas.dynamictrees.util.IVoxmap;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
 import com.ferreusveritas.dynamictrees.worldgen.JoCode;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -20,19 +26,23 @@ import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
+import java.util.List;
 import java.util.Optional;
 
 public class TreeHelper {
 
 	public static final ITreePart nullTreePart = new NullTreePart();
 
+	/** Leaves have filled in around new branches by this many agings so a bulk grow never ages them more */
+	private static final int MAX_BULK_AGE_ITERATIONS = 4;
+
 	///////////////////////////////////////////
 	//CONVENIENCE METHODS
 	///////////////////////////////////////////
 
 	/**
-	 * Convenience method to pulse a single growth cycle and age the cuboid volume. Used by growth potions, fertilizers
-	 * and the dendrocoil.
+	 * Convenience method to pulse a single growth cycle and age the leaves of the tree. Used by growth potions,
+	 * fertilizers and the dendrocoil.
 	 *
 	 * @param world
 	 * @param rootPos
@@ -42,10 +52,101 @@ public class TreeHelper {
 		BlockRooty dirt = TreeHelper.getRooty(rootyState);
 		if (dirt != null) {
 			dirt.updateTree(rootyState, world, rootPos, world.rand, false);
-			ageVolume(world, rootPos, 8, 32, 1, SafeChunkBounds.ANY);//blindly age a cuboid volume
+			ageTree(world, rootPos, 1, SafeChunkBounds.ANY);
 		}
 	}
 
+	/**
+	 * Convenience method to pulse several growth cycles at once.  The tree is grown in a single update and the leaves
+	 * are aged once afterwards, which is much cheaper than calling {@link #growPulse} for each pulse.  Species that
+	 * override how they update are still pulsed one at a time.
+	 *
+	 * @param world
+	 * @param rootPos
+	 * @param pulses  The number of growth cycles
+	 */
+	public static void growPulses(World world, BlockPos rootPos, int pulses) {
+		if (pulses <= 1) {
+			growPulse(world, rootPos);
+			return;
+		}
+
+		IBlockState rootyState = world.getBlockState(rootPos);
+		BlockRooty dirt = TreeHelper.getRooty(rootyState);
+		if (dirt != null) {
+			if (!dirt.getSpecies(rootyState, world, rootPos).canBulkUpdate()) {
+				for (int pulse = 0; pulse < pulses; pulse++) {
+					growPulse(world, rootPos);
+				}
+				return;
+			}
+			dirt.bulkGrowTree(rootyState, world, rootPos, world.rand, pulses);
+			ageTree(world, rootPos, Math.min(pulses, MAX_BULK_AGE_ITERATIONS), SafeChunkBounds.ANY);
+		}
+	}
+
+	/**
+	 * Ages only the leaves that can belong to a tree.  A leaf map is built by stamping the species' leaf cluster on
+	 * each branch endpoint and filled from the leaves actually in the world.  Much cheaper than aging a cuboid volume
+	 * since only blocks that could hold leaves are visited.
+	 *
+	 * @param world      The world
+	 * @param rootPos    The position of the rooty block of the tree
+	 * @param iterations The number of times to age the leaves
+	 * @param safeBounds The defined boundaries where it is safe to make block changes
+	 */
+	public static void ageTree(World world, BlockPos rootPos, int iterations, SafeChunkBounds safeBounds) {
+		IBlockState rootyState = world.getBlockState(rootPos);
+		BlockRooty rooty = getRooty(rootyState);
+		if (rooty == null) {
+			return;//The tree may have died during the update
+		}
+
+		BlockPos treePos = rootPos.offset(rooty.getTrunkDirection(world, rootPos));
+		IBlockState treeState = world.getBlockState(treePos);
+		BlockBranch branch = getBranch(treeState);
+		if (branch == null) {
+			return;
+		}
+
+		SimpleVoxmap leafCluster = rooty.getSpecies(rootyState, world, rootPos).getLeavesProperties().getCellKit().getLeafCluster();
+		if (leafCluster == LeafClusters.NULLMAP) {
+			return;//No leaves to age
+		}
+
+		NodeFindEnds endFinder = new NodeFindEnds();
+		branch.analyse(treeState, world, treePos, null, new MapSignal(endFinder));
+		List<BlockPos> ends = endFinder.getEnds();
+		if (ends.isEmpty()) {
+			return;
+		}
+
+		//Make room for a leaf cluster around every endpoint
+		BlockPos clusterCenter = leafCluster.getCenter();
+		BlockBounds bounds = new BlockBounds(ends);
+		bounds.expand(EnumFacing.WEST, clusterCenter.getX());
+		bounds.expand(EnumFacing.EAST, leafCluster.getLenX() - 1 - clusterCenter.getX());
+		bounds.expand(EnumFacing.DOWN, clusterCenter.getY());
+		bounds.expand(EnumFacing.UP, leafCluster.getLenY() - 1 - clusterCenter.getY());
+		bounds.expand(EnumFacing.NORTH, clusterCenter.getZ());
+		bounds.expand(EnumFacing.SOUTH, leafCluster.getLenZ() - 1 - clusterCenter.getZ());
+
+		IVoxmap leafMap = IVoxmap.create(bounds);//Mostly empty for big trees
+		for (BlockPos end : ends) {
+			leafMap.blitMax(end, leafCluster);
+		}
+
+		//Replace the potential hydro values with the real ones so that only leaves that change propagate
+		for (Cell cell : leafMap.getAllNonZeroCells()) {
+			MutableBlockPos cellPos = cell.getPos();
+			IBlockState state = world.getBlockState(cellPos);
+			boolean valid = safeBounds.inBounds(cellPos, true) && state.getBlock() instanceof BlockDynamicLeaves;
+			leafMap.setVoxel(cellPos, valid ? (byte) (int) state.getValue(BlockDynamicLeaves.HYDRO) : 0);
+		}
+
+		ageVolume(world, leafMap, iterations, safeBounds);
+	}
+
 	/**
 	 * Pulses an entire leafMap volume of blocks each with an age signal. Warning: CPU intensive and should be used
 	 * sparingly
@@ -55,9 +156,21 @@ public class TreeHelper {
 	 * @param iterations The number of times to age the map
 	 */
 	public static void ageVolume(World world, SimpleVoxmap leafMap, int iterations, SafeChunkBounds safeBounds) {
+		ageVolume(world, (IVoxmap) leafMap, iterations, safeBounds);
+	}
+
+	/**
+	 * Pulses an entire leafMap volume of blocks each with an age signal. Warning: CPU intensive and should be used
+	 * sparingly
+	 *
+	 * @param world      The world
+	 * @param leafMap    The voxel map of hydrovalues to use as a iterator
+	 * @param iterations The number of times to age the map
+	 */
+	public static void ageVolume(World world, IVoxmap leafMap, int iterations, SafeChunkBounds safeBounds) {
 
 		//The iterMap is the voxmap we will use as a discardable.  The leafMap must survive for snow
-		SimpleVoxmap iterMap = leafMap != null ? new SimpleVoxmap(leafMap) : null;
+		IVoxmap iterMap = leafMap != null ? leafMap.copy() : null;
 		Iterable<MutableBlockPos> iterable = iterMap.getAllNonZero();
 
 		for (int i = 0; i < iterations; i++) {
@@ -357,8 +470,7 @@ public class TreeHelper {
 	}
 
 	public final static int getRadius(IBlockAccess access, BlockPos pos) {
-		IBlockState state = access.getBlockState(pos);
-		return getTreePart(state).getRadius(state);
+		return TreePartTable.getRadius(access, pos);
 	}
 
 	public final static Optional<BlockBranch> getBranchOpt(Block block) {
@@ -9,8 +9,12 @@ import com.ferreusveritas.dynamictrees.worldgen.BiomeDataBase;
 import com.ferreusveritas.dynamictrees.worldgen.BiomeDataBasePopulatorJson;
 import com.ferreusveritas.dynamictrees.worldgen.MultiDimensionalPopulator;
 import com.ferreusveritas.dynamictrees.worldgen.TreeGenerator;
+import com.ferreusveritas.dynamictrees.worldgen.TreeGenerator.BiomeDataBaseSet;
 import com.ferreusveritas.dynamictrees.worldgen.json.IJsonBiomeApplier;
 import com.ferreusveritas.dynamictrees.worldgen.json.IJsonBiomeSelector;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.eventhandler.Event;
@@ -20,7 +24,11 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class WorldGenRegistry {
 
@@ -42,7 +50,7 @@ public class WorldGenRegistry {
 		return ModConfigs.worldGen;
 	}
 
-	private static IBiomeDataBasePopulator collectDataBasePopulators() {
+	private static IBiomeDataBasePopulator collectDataBasePopulators(Map<File, JsonElement> preloadedJson) {
 		BiomeDataBasePopulatorRegistryEvent event = new BiomeDataBasePopulatorRegistryEvent();
 
 		//This registers the main populator
@@ -52,33 +60,69 @@ public class WorldGenRegistry {
 		MinecraftForge.EVENT_BUS.post(event);
 
 		//This loads the custom default populator from config
-		loadCustomDefaultPopulator(event);
+		loadCustomDefaultPopulator(event, preloadedJson);
 
 		return event.getPopulator();
 	}
 
-	private static void loadCustomDefaultPopulator(BiomeDataBasePopulatorRegistryEvent event) {
+	private static void loadCustomDefaultPopulator(BiomeDataBasePopulatorRegistryEvent event, Map<File, JsonElement> preloadedJson) {
 
 		File file = new File(ModConfigs.configDirectory.getAbsolutePath() + WORLDGENCONFIGPATH);
 
 		if (!file.exists()) {
 			writeBlankJsonArrayToFile(file);
 		} else {
-			event.register(new BiomeDataBasePopulatorJson(JsonHelper.load(file)));
+			event.register(preloadedJson.containsKey(file) ? new BiomeDataBasePopulatorJson(preloadedJson.get(file)) : new BiomeDataBasePopulatorJson(file));
 		}
 	}
 
-	private static void loadMultiDimensionalPopulator(IBiomeDataBasePopulator populator) {
+	private static void loadMultiDimensionalPopulator(IBiomeDataBasePopulator populator, Map<File, JsonElement> preloadedJson) {
 
 		File file = new File(ModConfigs.configDirectory.getAbsolutePath() + DIMGENCONFIGPATH);
 
 		if (!file.exists()) {
 			writeBlankJsonArrayToFile(file);
 		} else {
-			new MultiDimensionalPopulator(JsonHelper.load(file), populator);
+			JsonElement mainJsonElement = preloadedJson.containsKey(file) ? preloadedJson.get(file) : JsonHelper.load(file);
+			new MultiDimensionalPopulator(mainJsonElement, populator, preloadedJson);
 		}
 	}
 
+	/**
+	 * Reads the worldgen files in the config folder.  Only does file reading and json parsing so it's safe to run off
+	 * the server thread.  Worldgen and dimension files that don't exist are left out.
+	 *
+	 * @throws JsonParseException with the path of the first file that couldn't be read or parsed.  Reloading without
+	 *                            it would drop everything the file adds so nothing is reloaded.
+	 */
+	private static Map<File, JsonElement> readConfigJson() {
+		Map<File, JsonElement> json = new HashMap<>();
+
+		File worldGenFile = new File(ModConfigs.configDirectory.getAbsolutePath() + WORLDGENCONFIGPATH);
+		if (worldGenFile.exists()) {
+			readConfigJson(worldGenFile, json);
+		}
+
+		File dimGenFile = new File(ModConfigs.configDirectory.getAbsolutePath() + DIMGENCONFIGPATH);
+		if (dimGenFile.exists()) {
+			JsonElement dimGenJson = readConfigJson(dimGenFile, json);
+			for (File file : MultiDimensionalPopulator.getPopulatorFiles(dimGenJson)) {
+				readConfigJson(file, json);
+			}
+		}
+
+		return json;
+	}
+
+	private static JsonElement readConfigJson(File file, Map<File, JsonElement> json) {
+		JsonElement element = JsonHelper.load(file);
+		if (element == null) {
+			throw new JsonParseException(file.getPath());
+		}
+		json.put(file, element);
+		return element;
+	}
+
 	private static void writeBlankJsonArrayToFile(File file) {
 		try {
 			new File(ModConfigs.configDirectory.getAbsolutePath() + CONFIGPATH).mkdirs();
@@ -92,21 +136,58 @@ public class WorldGenRegistry {
 
 	public static void populateDataBase() {
 		if (WorldGenRegistry.isWorldGenEnabled()) {
+			TreeGenerator.getTreeGenerator().setBiomeDataBases(buildDataBases(Collections.emptyMap()));
+		}
+	}
+
+	/**
+	 * Rebuilds the biome databases from the json files so worldgen can be tuned on a running server.  The worldgen files
+	 * in the config folder are read and parsed on a background thread.  Everything else, from the registry events to
+	 * swapping the new databases in, happens in one task on the server thread once they're read.  The databases are
+	 * only swapped in if they're valid.
+	 *
+	 * @param server The server whose thread the databases are built on
+	 * @return Completes with true if the new databases were swapped in or false if they weren't valid.  Completes
+	 * exceptionally with a {@link JsonParseException} holding the path of a file that couldn't be read.
+	 */
+	public static CompletableFuture<Boolean> reloadDataBases(MinecraftServer server) {
+		if (!WorldGenRegistry.isWorldGenEnabled()) {
+			return CompletableFuture.completedFuture(false);
+		}
+
+		return CompletableFuture.supplyAsync(WorldGenRegistry::readConfigJson).thenApplyAsync(preloadedJson -> {
+			BiomeDataBaseSet dataBases = buildDataBases(preloadedJson);
+			if (dataBases.isValid()) {
+				TreeGenerator.getTreeGenerator().setBiomeDataBases(dataBases);
+				return true;
+			}
+			return false;
+		}, server::addScheduledTask);
+	}
 
-			BiomeDataBaseJsonCapabilityRegistryEvent capabilityEvent = new BiomeDataBaseJsonCapabilityRegistryEvent();
+	/**
+	 * Builds a complete set of biome databases without touching the ones worldgen is using.  Must be run on the main
+	 * thread since it posts events to add-ons and links dimensions through the staging.
+	 *
+	 * @param preloadedJson Config files that were already read
+	 */
+	private static BiomeDataBaseSet buildDataBases(Map<File, JsonElement> preloadedJson) {
 
-			//Register the main Json capabilities
-			BiomeDataBasePopulatorJson.registerJsonCapabilities(capabilityEvent);
+		BiomeDataBaseJsonCapabilityRegistryEvent capabilityEvent = new BiomeDataBaseJsonCapabilityRegistryEvent();
 
-			//Send out an event asking for Json Capabilities to be registered
-			MinecraftForge.EVENT_BUS.post(capabilityEvent);
+		//Register the main Json capabilities
+		BiomeDataBasePopulatorJson.registerJsonCapabilities(capabilityEvent);
 
-			//Prep the databases by clearing them out
-			TreeGenerator.getTreeGenerator().clearAllBiomeDataBases();
-			BiomeDataBase database = TreeGenerator.getTreeGenerator().getDefaultBiomeDataBase();
+		//Send out an event asking for Json Capabilities to be registered
+		MinecraftForge.EVENT_BUS.post(capabilityEvent);
 
+		//The databases are built in a staging copy so worldgen never sees them half populated
+		TreeGenerator treeGenerator = TreeGenerator.getTreeGenerator();
+		BiomeDataBase database = treeGenerator.beginStaging();
+
+		try {
 			//This collects all available populators and returns an aggregate populator for the lot
-			IBiomeDataBasePopulator biomePopulator = collectDataBasePopulators();
+			IBiomeDataBasePopulator biomePopulator = collectDataBasePopulators(preloadedJson);
 
 			//This is where the main population occurs
 			biomePopulator.populate(database);
@@ -115,10 +196,14 @@ public class WorldGenRegistry {
 			MinecraftForge.EVENT_BUS.post(new PopulateDataBaseEvent(database, biomePopulator));
 
 			//Populate custom dimensions if available
-			loadMultiDimensionalPopulator(biomePopulator);
+			loadMultiDimensionalPopulator(biomePopulator, preloadedJson);
 
 			//Blacklist certain dimensions according to the base config
-			ModConfigs.dimensionBlacklist.forEach(d -> TreeGenerator.getTreeGenerator().BlackListDimension(d));
+			ModConfigs.dimensionBlacklist.forEach(treeGenerator::BlackListDimension);
+
+			return treeGenerator.finishStaging();
+		} finally {
+			treeGenerator.endStaging();
 
 			//Cleanup all of the unused static objects
 			BiomeDataBasePopulatorJson.cleanup();
@@ -3,8 +3,9 @@ package com.ferreusveritas.dynamictrees.api.substances;
 import javax.annotation.Nullable;
 
 import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
-import com.ferreusveritas.dynamictrees.entities.EntityLingeringEffector;
+import com.ferreusveritas.dynamictrees.systems.substances.LingeringEffectScheduler;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.world.World;
@@ -14,13 +15,13 @@ import net.minecraft.world.World;
  * <p>
  * Effects may either be lingering or instant, which can be checked by {@link #isLingering()}. Lingering potion effects
  * can use {@link #apply(World, BlockPos)} to set up the effect and {@link #update(World, BlockPos, int, int)} to apply 
- * the effect on each tick. These types are controlled by a {@linkplain EntityLingeringEffector parent entity}. 
+ * the effect on each tick. These types are run by the {@linkplain LingeringEffectScheduler lingering effect scheduler}. 
  * <p>
  * Instant effects should use {@link #apply(World, BlockPos)} to apply the effect and return {@code false} on {@link 
  * #update(World, BlockPos, int, int)}. 
  *
  * @author ferreusveritas
- * @see EntityLingeringEffector
+ * @see LingeringEffectScheduler
  */
 public interface ISubstanceEffect {
 
@@ -48,7 +49,8 @@ public interface ISubstanceEffect {
 	Result apply(World world, BlockPos rootPos, BlockPos hitPos);
 
 	/**
-	 * Updates a lingering effect. Called every tick by the {@linkplain EntityLingeringEffector controlling entity}.
+	 * Updates a lingering effect. Called by the {@linkplain LingeringEffectScheduler scheduler} every tick, or as often as
+	 * {@link #getTicksUntilUpdate(World, int)} asks for.
 	 *
 	 * @param world the current world
 	 * @param rootPos the position of the {@linkplain BlockRooty root block}
@@ -58,6 +60,35 @@ public interface ISubstanceEffect {
 	 */
 	boolean update(World world, BlockPos rootPos, int deltaTicks, int fertility);
 
+	/**
+	 * Returns how long to wait before the next update. Effects that only act every so many ticks can skip the ticks in
+	 * between.
+	 *
+	 * @param world the current world
+	 * @param deltaTicks the number of ticks since the effect started
+	 * @return the number of ticks until the next update, at least 1
+	 */
+	default int getTicksUntilUpdate(World world, int deltaTicks) {
+		return 1;
+	}
+
+	/**
+	 * Saves the state of a lingering effect. Only used for effects registered with 
+	 * {@link LingeringEffectScheduler#registerPersistentEffect}.
+	 *
+	 * @param tag the tag to write to
+	 */
+	default void writeToNBT(NBTTagCompound tag) {
+	}
+
+	/**
+	 * Restores the state of a lingering effect saved by {@link #writeToNBT(NBTTagCompound)}.
+	 *
+	 * @param tag the tag to read from
+	 */
+	default void readFromNBT(NBTTagCompound tag) {
+	}
+
 	/**
 	 * Returns the name of the effect. Used to compare existing effects in the environment.
 	 *
@@ -7,7 +7,10 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -103,6 +106,7 @@ public class BiomePropertySelectors {
 
 		ArrayList<Entry> decisionTable = new ArrayList<Entry>();
 		int totalWeight;
+		private AliasTable aliasTable;//Built on first use and dropped whenever a decision is added
 
 		public int getSize() {
 			return decisionTable.size();
@@ -111,28 +115,161 @@ public class BiomePropertySelectors {
 		public RandomSpeciesSelector add(@Nonnull Species species, int weight) {
 			decisionTable.add(new Entry(new SpeciesSelection(species), weight));
 			totalWeight += weight;
+			aliasTable = null;
 			return this;
 		}
 
 		public RandomSpeciesSelector add(int weight) {
 			decisionTable.add(new Entry(new SpeciesSelection(), weight));
 			totalWeight += weight;
+			aliasTable = null;
 			return this;
 
 		}
 
 		@Override
 		public SpeciesSelection getSpecies(BlockPos pos, IBlockState dirt, Random random) {
-			int chance = random.nextInt(totalWeight);
+			AliasTable table = aliasTable;
+			if (table == null) {
+				aliasTable = table = new AliasTable();
+			}
+			return table.select(random);
+		}
+
+		/**
+		 * Vose's alias method with integer weights.  Every column holds totalWeight worth of chance split between its
+		 * own decision and one alias, so a selection costs the same no matter how many decisions there are.
+		 */
+		private class AliasTable {
+
+			final int columns = decisionTable.size();
+			final SpeciesSelection[] decisions = new SpeciesSelection[columns];
+			final SpeciesSelection[] aliases = new SpeciesSelection[columns];
+			final int[] thresholds = new int[columns];//Draws below the threshold land on the column's own decision
+			final boolean singleDraw = (long) columns * totalWeight <= Integer.MAX_VALUE;
+
+			AliasTable() {
+				long[] scaled = new long[columns];
+				ArrayDeque<Integer> small = new ArrayDeque<>();
+				ArrayDeque<Integer> large = new ArrayDeque<>();
+
+				for (int i = 0; i < columns; i++) {
+					Entry entry = decisionTable.get(i);
+					decisions[i] = aliases[i] = entry.decision;
+					scaled[i] = (long) Math.max(entry.weight, 0) * columns;
+					(scaled[i] < totalWeight ? small : large).push(i);
+				}
+
+				while (!small.isEmpty() && !large.isEmpty()) {
+					int s = small.pop();
+					int l = large.pop();
+					thresholds[s] = (int) scaled[s];
+					aliases[s] = decisions[l];
+					scaled[l] -= totalWeight - scaled[s];
+					(scaled[l] < totalWeight ? small : large).push(l);
+				}
+
+				//The weights are integers so whatever is left fills its whole column exactly
+				large.forEach(i -> thresholds[i] = totalWeight);
+				small.forEach(i -> thresholds[i] = totalWeight);
+			}
+
+			SpeciesSelection select(Random random) {
+				if (columns == 0 || totalWeight <= 0) {
+					return new SpeciesSelection();
+				}
+
+				int column;
+				int chance;
+				if (singleDraw) {
+					int draw = random.nextInt(columns * totalWeight);
+					column = draw / totalWeight;
+					chance = draw % totalWeight;
+				} else {
+					column = random.nextInt(columns);
+					chance = random.nextInt(totalWeight);
+				}
+
+				return chance < thresholds[column] ? decisions[column] : aliases[column];
+			}
+
+		}
 
-			for (Entry entry : decisionTable) {
-				if (chance < entry.weight) {
-					return entry.decision;
+		/**
+		 * Flattens two spliced selectors into a single table.  The first selector decides and the second only gets the
+		 * share the first leaves unhandled, the same as a splice in the {@link
+		 * com.ferreusveritas.dynamictrees.worldgen.BiomeDataBase}.  Only plain static and random selectors can be
+		 * flattened since they pay no attention to the position or soil.
+		 *
+		 * @return The flattened selector or null if the selectors can't be flattened
+		 */
+		public static RandomSpeciesSelector splice(ISpeciesSelector first, ISpeciesSelector second) {
+			RandomSpeciesSelector a = asRandom(first);
+			RandomSpeciesSelector b = asRandom(second);
+			if (a == null || b == null || a.totalWeight <= 0 || b.totalWeight <= 0) {
+				return null;
+			}
+
+			Map<Species, Long> weights = new LinkedHashMap<>();
+			long unhandledWeight = 0;
+			for (Entry entry : a.decisionTable) {
+				if (entry.decision.isHandled()) {
+					weights.merge(entry.decision.getSpecies(), (long) entry.weight * b.totalWeight, Long::sum);
+				} else {
+					for (Entry fallback : b.decisionTable) {
+						long weight = (long) entry.weight * fallback.weight;
+						if (fallback.decision.isHandled()) {
+							weights.merge(fallback.decision.getSpecies(), weight, Long::sum);
+						} else {
+							unhandledWeight += weight;
+						}
+					}
 				}
-				chance -= entry.weight;
 			}
 
-			return decisionTable.get(decisionTable.size() - 1).decision;
+			//Keep the weights small since chains of splices multiply them
+			long divisor = unhandledWeight;
+			for (long weight : weights.values()) {
+				divisor = gcd(divisor, weight);
+			}
+			divisor = Math.max(divisor, 1);
+
+			long total = unhandledWeight / divisor;
+			for (long weight : weights.values()) {
+				total += weight / divisor;
+			}
+			if (total > Integer.MAX_VALUE) {
+				return null;
+			}
+
+			RandomSpeciesSelector spliced = new RandomSpeciesSelector();
+			for (Map.Entry<Species, Long> weight : weights.entrySet()) {
+				spliced.add(weight.getKey(), (int) (weight.getValue() / divisor));
+			}
+			if (unhandledWeight > 0) {
+				spliced.add((int) (unhandledWeight / divisor));
+			}
+			return spliced;
+		}
+
+		private static RandomSpeciesSelector asRandom(ISpeciesSelector selector) {
+			if (selector != null && selector.getClass() == RandomSpeciesSelector.class) {
+				return (RandomSpeciesSelector) selector;
+			}
+			if (selector != null && selector.getClass() == StaticSpeciesSelector.class) {
+				SpeciesSelection decision = ((StaticSpeciesSelector) selector).decision;
+				return decision.isHandled() ? new RandomSpeciesSelector().add(decision.getSpecies(), 1) : new RandomSpeciesSelector().add(1);
+			}
+			return null;
+		}
+
+		private static long gcd(long a, long b) {
+			while (b != 0) {
+				long t = a % b;
+				a = b;
+				b = t;
+			}
+			return a;
 		}
 
 	}
@@ -4,21 +4,17 @@ import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.api.IFutureBreakable;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
-import com.ferreusveritas.dynamictrees.api.network.MapSignal;
 import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree.DestroyType;
 import com.ferreusveritas.dynamictrees.event.FutureBreak;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeDestroyer;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeExtState;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeSpecies;
+import com.ferreusveritas.dynamictrees.systems.StreamingFelling;
+import com.ferreusveritas.dynamictrees.systems.TreePartTable;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler.Subsystem;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
-import com.ferreusveritas.dynamictrees.util.BlockBounds;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
-import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
-import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.EnumPushReaction;
 import net.minecraft.block.material.Material;
@@ -39,12 +35,12 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.Explosion;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
+import net.minecraftforge.common.property.IExtendedBlockState;
 import net.minecraftforge.common.property.IUnlistedProperty;
 import net.minecraftforge.common.property.Properties;
 
@@ -83,6 +79,7 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 	///////////////////////////////////////////
 
 	public void setFamily(TreeFamily tree) {
+		TreePartTable.invalidate();
 		this.tree = tree;
 	}
 
@@ -198,6 +195,19 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 
 	public abstract IBlockState getStateForRadius(int radius);
 
+	/**
+	 * @return The radius of the connection on a side, the same as the side's {@link #CONNECTIONS} value of the extended
+	 * state.  Override to read it without building the extended state.
+	 */
+	public int getConnectionRadius(IBlockAccess world, BlockPos pos, IBlockState state, EnumFacing side) {
+		IBlockState exState = getExtendedState(state, world, pos);
+		if (exState instanceof IExtendedBlockState) {
+			Integer radius = (Integer) ((IExtendedBlockState) exState).getValue(CONNECTIONS[side.getIndex()]);
+			return radius != null ? radius : 0;
+		}
+		return 0;
+	}
+
 	public int getMaxRadius() {
 		return RADMAX_NORMAL;
 	}
@@ -236,43 +246,7 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 	 * @return The volume of the portion of the tree that was destroyed
 	 */
 	public BranchDestructionData destroyBranchFromNode(World world, BlockPos cutPos, EnumFacing toolDir, boolean wholeTree) {
-
-		IBlockState blockState = world.getBlockState(cutPos);
-		NodeSpecies nodeSpecies = new NodeSpecies();
-		MapSignal signal = analyse(blockState, world, cutPos, null, new MapSignal(nodeSpecies));// Analyze entire tree network to find root node and species
-		Species species = nodeSpecies.getSpecies();//Get the species from the root node
-
-		// Analyze only part of the tree beyond the break point and map out the extended block states
-		// We can't destroy the branches during this step since we need accurate extended block states that include connections
-		NodeExtState extStateMapper = new NodeExtState(cutPos);
-		analyse(blockState, world, cutPos, wholeTree ? null : signal.localRootDir, new MapSignal(extStateMapper));
-
-		// Analyze only part of the tree beyond the break point and calculate it's volume, then destroy the branches
-		NodeNetVolume volumeSum = new NodeNetVolume();
-		NodeDestroyer destroyer = new NodeDestroyer(species);
-		destroyMode = EnumDestroyMode.HARVEST;
-		analyse(blockState, world, cutPos, wholeTree ? null : signal.localRootDir, new MapSignal(volumeSum, destroyer));
-		destroyMode = EnumDestroyMode.SLOPPY;
-
-		//Destroy all the leaves on the branch, store them in a map and convert endpoint coordinates from absolute to relative
-		List<BlockPos> endPoints = destroyer.getEnds();
-		Map<BlockPos, IBlockState> destroyedLeaves = new HashMap<>();
-		List<BlockItemStack> leavesDropsList = new ArrayList<>();
-		destroyLeaves(world, cutPos, species, endPoints, destroyedLeaves, leavesDropsList);
-		endPoints = endPoints.stream().map(p -> p.subtract(cutPos)).collect(Collectors.toList());
-
-		//Calculate main trunk height
-		int trunkHeight = 1;
-		for (BlockPos iter = new BlockPos(0, 1, 0); extStateMapper.getExtStateMap().containsKey(iter); iter = iter.up()) {
-			trunkHeight++;
-		}
-
-		EnumFacing cutDir = signal.localRootDir;
-		if (cutDir == null) {
-			cutDir = EnumFacing.DOWN;
-		}
-
-		return new BranchDestructionData(species, extStateMapper.getExtStateMap(), destroyedLeaves, leavesDropsList, endPoints, volumeSum.getVolume(), cutPos, cutDir, toolDir, trunkHeight);
+		return new StreamingFelling(world, cutPos, toolDir, wholeTree).finish();
 	}
 
 	/**
@@ -295,58 +269,11 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 	 * @param destroyedLeaves A map for collecting the positions and blockstates for all of the leaves blocks that will
 	 *                        be destroyed.
 	 * @param drops           A list for collecting the ItemStacks and their positions relative to the cut position
+	 * @deprecated No longer called when a branch is destroyed.  The leaves are removed by {@link StreamingFelling}.
 	 */
+	@Deprecated
 	protected void destroyLeaves(World world, BlockPos cutPos, Species species, List<BlockPos> endPoints, Map<BlockPos, IBlockState> destroyedLeaves, List<BlockItemStack> drops) {
-
-		if (!world.isRemote && !endPoints.isEmpty()) {
-
-			//Make a bounding volume that holds all of the endpoints and expand the volume by 3 blocks for the leaves radius
-			BlockBounds bounds = new BlockBounds(endPoints).expand(3);
-
-			//Create a voxmap to store the leaf destruction map
-			SimpleVoxmap vmap = new SimpleVoxmap(bounds);
-
-			//For each of the endpoints add a 7x7 destruction volume around it
-			for (BlockPos endPos : endPoints) {
-				for (BlockPos leafPos : BlockPos.getAllInBoxMutable(endPos.add(-3, -3, -3), endPos.add(3, 3, 3))) {
-					vmap.setVoxel(leafPos, (byte) 1);//Flag this position for destruction
-				}
-				vmap.setVoxel(endPos, (byte) 0);//We know that the endpoint does not have a leaves block in it because it was a branch
-			}
-
-			TreeFamily family = species.getFamily();
-			BlockBranch familyBranch = family.getDynamicBranch();
-			int primaryThickness = (int) family.getPrimaryThickness();
-
-			//Expand the volume yet again by 3 blocks in all directions and search for other non-destroyed endpoints
-			for (MutableBlockPos findPos : bounds.expand(3).iterate()) {
-				IBlockState findState = world.getBlockState(findPos);
-				if (familyBranch.getRadius(findState) == primaryThickness) { //Search for endpoints of the same tree family
-					Iterable<MutableBlockPos> leaves = species.getLeavesProperties().getCellKit().getLeafCluster().getAllNonZero();
-					for (MutableBlockPos leafpos : leaves) {
-						vmap.setVoxel(findPos.getX() + leafpos.getX(), findPos.getY() + leafpos.getY(), findPos.getZ() + leafpos.getZ(), (byte) 0);
-					}
-				}
-			}
-
-			ArrayList<ItemStack> dropList = new ArrayList<ItemStack>();
-
-			//Destroy all family compatible leaves
-			for (Cell cell : vmap.getAllNonZeroCells()) {
-				MutableBlockPos pos = cell.getPos();
-				IBlockState state = world.getBlockState(pos);
-				if (species.isCompatibleLeaves(world, pos, state)) {
-					dropList.clear();
-					species.getTreeHarvestDrops(world, pos, dropList, world.rand);
-					BlockPos imPos = pos.toImmutable();//We are storing this so it must be immutable
-					BlockPos relPos = imPos.subtract(cutPos);
-					world.setBlockState(imPos, ModBlocks.blockStates.air, 0);//Covertly destroy the leaves on the server side
-					destroyedLeaves.put(relPos, state);
-					dropList.forEach(i -> drops.add(new BlockItemStack(i, relPos)));
-				}
-			}
-		}
-
+		StreamingFelling.destroyLeaves(world, cutPos, species, endPoints, destroyedLeaves, drops);
 	}
 
 	public boolean canFall() {
@@ -404,16 +331,34 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 			toolDir = EnumFacing.DOWN;//Make everything better
 		}
 
-		//Do the actual destruction
-		BranchDestructionData destroyData = destroyBranchFromNode(world, cutPos, toolDir, false);
+		//Do the actual destruction.  Big trees are destroyed over several ticks and fall once they're done.
+		ItemStack heldItem = entity.getHeldItemMainhand();
+		StreamingFelling felling = new StreamingFelling(world, cutPos, toolDir, false);
+		StreamingFelling.start(felling, destroyData -> onFelled(state, world, cutPos, entity, heldItem, destroyData, felling.getWorkNanos()));
+	}
+
+	/**
+	 * Drops the wood and the falling tree once a tree cut by an entity has been destroyed.  Big trees take several ticks
+	 * so the entity may have died or changed worlds by now, in which case the wood drops without it.
+	 *
+	 * @param workNanos The time spent destroying the tree, for the profiler
+	 */
+	protected void onFelled(IBlockState state, World world, BlockPos cutPos, EntityLivingBase entity, ItemStack heldItem, BranchDestructionData destroyData, long workNanos) {
+
+		long profileStart = TreeProfiler.begin() - workNanos;
 
 		//Get all of the wood drops
-		ItemStack heldItem = entity.getHeldItemMainhand();
 		int fortune = EnchantmentHelper.getEnchantmentLevel(Enchantments.FORTUNE, heldItem);
 		float fortuneFactor = 1.0f + 0.25f * fortune;
 		float woodVolume = destroyData.woodVolume;// The amount of wood calculated from the body of the tree network
 		List<ItemStack> woodItems = getLogDrops(world, cutPos, destroyData.species, woodVolume * fortuneFactor);
 
+		if (!entity.isEntityAlive() || entity.world != world) {
+			EntityFallingTree.dropTree(world, destroyData, woodItems, DestroyType.HARVEST);
+			TreeProfiler.end(Subsystem.FELLING, destroyData.species, profileStart, destroyData.getNumBranches() + destroyData.getNumLeaves());
+			return;
+		}
+
 		if (entity.getActiveHand() == null) {//What the hell man? I trusted you!
 			entity.setActiveHand(EnumHand.MAIN_HAND);//Players do things with hands.
 		}
@@ -433,6 +378,8 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 
 		//Damage the axe by a prescribed amount
 		damageAxe(entity, heldItem, getRadius(state), woodVolume);
+
+		TreeProfiler.end(Subsystem.FELLING, destroyData.species, profileStart, destroyData.getNumBranches() + destroyData.getNumLeaves());
 	}
 
 	// We override the standard behavior because we need to preserve the tree network structure to calculate
@@ -530,6 +477,9 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 	public void breakBlock(World world, BlockPos pos, IBlockState state) {
 		if (!world.isRemote && destroyMode == EnumDestroyMode.SLOPPY) {
 			//System.out.println("Sloppy break detected at: " + pos);
+			if (StreamingFelling.isClaimed(world, pos)) {
+				return;//Already part of a tree that's being felled
+			}
 			IBlockState toBlockState = world.getBlockState(pos);
 			Block toBlock = toBlockState.getBlock();
 			if (toBlock instanceof BlockBranch) {
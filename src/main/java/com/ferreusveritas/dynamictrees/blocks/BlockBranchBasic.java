@@ -11,8 +11,10 @@ import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.cells.CellMetadata;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.TreePartTable;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.properties.IProperty;
@@ -245,7 +247,7 @@ public class BlockBranchBasic extends BlockBranch {
 	@Override
 	public int setRadius(World world, BlockPos pos, int radius, EnumFacing originDir, int flags) {
 		destroyMode = EnumDestroyMode.SETRADIUS;
-		world.setBlockState(pos, getStateForRadius(radius), flags);
+		WorldGenBlockWriter.setBlockState(world, pos, getStateForRadius(radius), flags);
 		destroyMode = EnumDestroyMode.SLOPPY;
 		return radius;
 	}
@@ -313,9 +315,9 @@ public class BlockBranchBasic extends BlockBranch {
 					// derived from BlockBranch and this works perfectly. Should even work with
 					// tileEntity blocks derived from BlockBranch.
 					IBlockState blockState = world.getBlockState(deltaPos);
-					ITreePart treepart = TreeHelper.getTreePart(blockState);
-					if (isSameTree(treepart)) {
-						int branchRadius = treepart.getRadius(blockState);
+					int entry = TreePartTable.lookup(blockState);
+					if (TreePartTable.getKind(entry) == TreePartTable.BRANCH && TreePartTable.getFamily(entry, blockState) == getFamily()) {
+						int branchRadius = TreePartTable.getRadius(entry);
 						areaAccum += branchRadius * branchRadius;
 					}
 				}
@@ -360,22 +362,7 @@ public class BlockBranchBasic extends BlockBranch {
 		}
 
 		int thisRadius = getRadius(state);
-
-		boolean connectionMade = false;
-		double radius = thisRadius / 16.0;
-		double gap = 0.5 - radius;
-		AxisAlignedBB aabb = new AxisAlignedBB(0, 0, 0, 0, 0, 0).grow(radius);
-		for (EnumFacing dir : EnumFacing.VALUES) {
-			if (getSideConnectionRadius(blockAccess, pos, thisRadius, dir) > 0) {
-				connectionMade = true;
-				aabb = aabb.expand(dir.getFrontOffsetX() * gap, dir.getFrontOffsetY() * gap, dir.getFrontOffsetZ() * gap);
-			}
-		}
-		if (connectionMade) {
-			return aabb.offset(0.5, 0.5, 0.5);
-		}
-
-		return new AxisAlignedBB(0.5 - radius, 0.5 - radius, 0.5 - radius, 0.5 + radius, 0.5 + radius, 0.5 + radius);
+		return BranchBoundingBoxes.getSelection(thisRadius, getConnectionMask(blockAccess, pos, thisRadius));
 	}
 
 	@Override
@@ -391,17 +378,12 @@ public class BlockBranchBasic extends BlockBranch {
 			int connRadius = getSideConnectionRadius(world, pos, thisRadius, dir);
 			if (connRadius > 0) {
 				hasConnections = true;
-				double radius = MathHelper.clamp(connRadius, 1, thisRadius) / 16.0;
-				double gap = 0.5 - radius;
-				AxisAlignedBB aabb = new AxisAlignedBB(0, 0, 0, 0, 0, 0).grow(radius);
-				aabb = aabb.expand(dir.getFrontOffsetX() * gap, dir.getFrontOffsetY() * gap, dir.getFrontOffsetZ() * gap).offset(0.5, 0.5, 0.5);//.intersect(maxBranchBB);
-				addCollisionBoxToList(pos, entityBox, collidingBoxes, aabb);
+				BranchBoundingBoxes.addCollisionBox(pos, entityBox, collidingBoxes, BranchBoundingBoxes.getArm(MathHelper.clamp(connRadius, 1, thisRadius), dir));
 			}
 		}
 
 		if (!hasConnections) {
-			AxisAlignedBB aabb = new AxisAlignedBB(0.5, 0.5, 0.5, 0.5, 0.5, 0.5).grow(thisRadius);
-			addCollisionBoxToList(pos, entityBox, collidingBoxes, aabb);
+			BranchBoundingBoxes.addCollisionBox(pos, entityBox, collidingBoxes, BranchBoundingBoxes.getCore(thisRadius));
 		}
 
 	}
@@ -411,6 +393,24 @@ public class BlockBranchBasic extends BlockBranch {
 		return getRadius(state);
 	}
 
+	/**
+	 * @return A bit for each side that has a connection, by {@link EnumFacing#getIndex()}
+	 */
+	protected int getConnectionMask(IBlockAccess blockAccess, BlockPos pos, int radius) {
+		int mask = 0;
+		for (EnumFacing dir : EnumFacing.VALUES) {
+			if (getSideConnectionRadius(blockAccess, pos, radius, dir) > 0) {
+				mask |= 1 << dir.getIndex();
+			}
+		}
+		return mask;
+	}
+
+	@Override
+	public int getConnectionRadius(IBlockAccess world, BlockPos pos, IBlockState state, EnumFacing side) {
+		return getSideConnectionRadius(world, pos, getRadius(state), side);
+	}
+
 	protected int getSideConnectionRadius(IBlockAccess blockAccess, BlockPos pos, int radius, EnumFacing side) {
 		BlockPos deltaPos = pos.offset(side);
 		IBlockState blockState = blockAccess.getBlockState(deltaPos);
@@ -458,10 +458,9 @@ public class BlockBranchBasic extends BlockBranch {
 					BlockPos deltaPos = pos.offset(dir);
 
 					IBlockState deltaState = world.getBlockState(deltaPos);
-					ITreePart treePart = TreeHelper.getTreePart(deltaState);
 
-					if (treePart.shouldAnalyse()) {
-						signal = treePart.analyse(deltaState, world, deltaPos, dir.getOpposite(), signal);
+					if (TreePartTable.shouldAnalyse(TreePartTable.lookup(deltaState))) {
+						signal = TreeHelper.getTreePart(deltaState).analyse(deltaState, world, deltaPos, dir.getOpposite(), signal);
 
 						// This should only be true for the originating block when the root node is found
 						if (signal.found && signal.localRootDir == null && fromDir == null) {
@@ -296,6 +296,11 @@ public class BlockBranchCactus extends BlockBranch {
 		return 0;
 	}
 
+	@Override
+	public int getConnectionRadius(IBlockAccess world, BlockPos pos, IBlockState state, EnumFacing side) {
+		return getSideConnectionRadius(world, pos, getRadius(state), side);
+	}
+
 	protected int getSideConnectionRadius(IBlockAccess blockAccess, BlockPos pos, int radius, EnumFacing side) {
 		BlockPos deltaPos = pos.offset(side);
 		IBlockState otherState = blockAccess.getBlockState(deltaPos);
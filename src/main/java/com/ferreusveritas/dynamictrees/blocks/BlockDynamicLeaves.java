@@ -10,13 +10,16 @@ import com.ferreusveritas.dynamictrees.api.cells.ICell;
 import com.ferreusveritas.dynamictrees.api.network.MapSignal;
 import com.ferreusveritas.dynamictrees.api.treedata.ILeavesProperties;
 import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
-import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
-import com.ferreusveritas.dynamictrees.items.Seed;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.StreamingFelling;
+import com.ferreusveritas.dynamictrees.systems.TreePartTable;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler.Subsystem;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
 import com.ferreusveritas.dynamictrees.util.IRayTraceCollision;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.*;
 import net.minecraft.block.BlockDoublePlant.EnumBlockHalf;
 import net.minecraft.block.BlockDoublePlant.EnumPlantType;
@@ -29,8 +32,6 @@ import net.minecraft.block.state.BlockStateContainer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.entity.IProjectile;
-import net.minecraft.entity.item.EntityItem;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -57,6 +58,8 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 
 	public static boolean passableLeavesModLoaded = false;
 
+	protected static final AxisAlignedBB CANOPY_AABB = new AxisAlignedBB(0.125, 0, 0.125, 0.875, 0.50, 0.875);
+
 	protected static Random backupRng = new Random();
 
 	public static final PropertyInteger HYDRO = PropertyInteger.create("hydro", 1, 4);
@@ -148,8 +151,10 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 	}
 
 	protected void doTick(World worldIn, BlockPos pos, IBlockState state, Random rand) {
-		if (canTickAt(worldIn, pos) && getProperties(state).updateTick(worldIn, pos, state, rand)) {
+		if (canTickAt(worldIn, pos) && !StreamingFelling.isFelling(worldIn, pos) && getProperties(state).updateTick(worldIn, pos, state, rand)) {
+			long profileStart = TreeProfiler.begin();
 			age(worldIn, pos, state, rand, SafeChunkBounds.ANY);
+			TreeProfiler.end(Subsystem.LEAVES_AGE, getProperties(state).getTree().getCommonSpecies(), profileStart, 1);
 		}
 	}
 
@@ -170,13 +175,13 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 		int newHydro = getHydrationLevelFromNeighbors(world, pos, leavesProperties);
 
 		if (newHydro == 0 || (!worldGen && !hasAdequateLight(state, world, leavesProperties, pos))) { //Light doesn't work right during worldgen so we'll just disable it during worldgen for now.
-			world.setBlockToAir(pos);//No water, no light .. no leaves
+			WorldGenBlockWriter.setBlockToAir(world, pos);//No water, no light .. no leaves
 			return -1;//Leaves were destroyed
 		} else {
 			if (oldHydro != newHydro) {//Only update if the hydro has changed. A little performance gain
 				//We do not use the 0x02 flag(update client) for performance reasons.  The clients do not need to know the hydration level of the leaves blocks as it
 				//does not affect appearance or behavior.  For the same reason we use the 0x04 flag to prevent the block from being re-rendered.
-				world.setBlockState(pos, leavesProperties.getDynamicLeavesState(newHydro), leavesProperties.appearanceChangesWithHydro() ? 2 : 4);
+				WorldGenBlockWriter.setBlockState(world, pos, leavesProperties.getDynamicLeavesState(newHydro), leavesProperties.appearanceChangesWithHydro() ? 2 : 4);
 			}
 		}
 
@@ -189,7 +194,7 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 				if (safeBounds.inBounds(offpos, true) && isLocationSuitableForNewLeaves(world, leavesProperties, offpos)) {//Attempt to grow new leaves
 					int hydro = getHydrationLevelFromNeighbors(world, offpos, leavesProperties);
 					if (hydro > 0) {
-						world.setBlockState(offpos, newLeavesHander.getLeaves(world, offpos, leavesProperties.getDynamicLeavesState(hydro)), 2);//Removed Notify Neighbors Flag for performance
+						WorldGenBlockWriter.setBlockState(world, offpos, newLeavesHander.getLeaves(world, offpos, leavesProperties.getDynamicLeavesState(hydro)), 2);//Removed Notify Neighbors Flag for performance
 					}
 				}
 			}
@@ -254,30 +259,24 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 
 	@Override
 	public void addCollisionBoxToList(IBlockState state, World worldIn, BlockPos pos, AxisAlignedBB entityBox, List<AxisAlignedBB> collidingBoxes, Entity entityIn, boolean unknown) {
-		if (entityIn instanceof EntityItem) {
-			EntityItem item = (EntityItem) entityIn;
-			if (item.getItem().getItem() instanceof Seed) {
-				return; //Let seeds fall through the canopy
-			} else {
+		LeavesCollision.Path path = LeavesCollision.getCollisionPath(entityIn);
+		LeavesCollision.countCollision(path);
+		switch (path) {
+			case SOLID://Items sit on top like a regular block
 				super.addCollisionBoxToList(state, worldIn, pos, entityBox, collidingBoxes, entityIn, unknown);
-				return; //Items sit on top like a regular block
-			}
-		}
-		if (entityIn == null || entityIn instanceof EntityFallingTree) {
-			return;
-		}
-		if (passableLeavesModLoaded || ModConfigs.vanillaLeavesCollision) {
-			super.addCollisionBoxToList(state, worldIn, pos, entityBox, collidingBoxes, entityIn, unknown);
-		} else if (!ModConfigs.isLeavesPassable) {
-			AxisAlignedBB aabb = new AxisAlignedBB(0.125, 0, 0.125, 0.875, 0.50, 0.875);
-			addCollisionBoxToList(pos, entityBox, collidingBoxes, aabb);
+				break;
+			case CANOPY:
+				BranchBoundingBoxes.addCollisionBox(pos, entityBox, collidingBoxes, CANOPY_AABB);
+				break;
+			default:
+				break;
 		}
 	}
 
 	@Override
 	public void onFallenUpon(World world, BlockPos pos, Entity entity, float fallDistance) {
 
-		if (ModConfigs.canopyCrash && entity instanceof EntityLivingBase) { //We are only interested in Living things crashing through the canopy.
+		if (LeavesCollision.crashesThroughCanopy(entity)) {
 			entity.fallDistance--;
 
 			AxisAlignedBB aabb = entity.getEntityBoundingBox();
@@ -318,8 +317,7 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 
 	@Override
 	public void onEntityCollidedWithBlock(World world, BlockPos pos, IBlockState state, Entity entity) {
-		if (entity instanceof EntityItem || entity instanceof IProjectile ||
-			passableLeavesModLoaded || ModConfigs.vanillaLeavesCollision) {
+		if (!LeavesCollision.isSlowedInside(entity)) {
 			super.onEntityCollidedWithBlock(world, pos, state, entity);
 		} else {
 			if (entity.motionY < 0.0D && entity.fallDistance < 2.0f) {
@@ -432,10 +430,9 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 	 * Used to find if the leaf block is at the bottom of the stack
 	 */
 	public static boolean isBottom(World world, BlockPos pos) {
-		IBlockState belowBlockState = world.getBlockState(pos.down());
-		ITreePart belowTreepart = TreeHelper.getTreePart(belowBlockState);
-		if (belowTreepart != TreeHelper.nullTreePart) {
-			return belowTreepart.getRadius(belowBlockState) > 1;//False for leaves, twigs, and dirt.  True for stocky branches
+		int below = TreePartTable.lookup(world.getBlockState(pos.down()));
+		if (TreePartTable.getKind(below) != TreePartTable.NONE) {
+			return TreePartTable.getRadius(below) > 1;//False for leaves, twigs, and dirt.  True for stocky branches
 		}
 		return true;//Non-Tree parts below indicate the bottom of stack
 	}
@@ -1,5 +1,6 @@
 package com.ferreusveritas.dynamictrees.blocks;
 
+import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.api.ICustomRootDecay;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
@@ -12,6 +13,11 @@ import com.ferreusveritas.dynamictrees.blocks.MimicProperty.IMimic;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree.DestroyType;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.StreamingFelling;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler.Subsystem;
+import com.ferreusveritas.dynamictrees.systems.rootindex.RootIndex;
+import com.ferreusveritas.dynamictrees.systems.speciespalette.SpeciesPalette;
 import com.ferreusveritas.dynamictrees.tileentity.TileEntitySpecies;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
@@ -51,8 +57,10 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -90,11 +98,22 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 	 */
 	public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
 		super.breakBlock(worldIn, pos, state);
+		RootIndex.removeRoot(worldIn, pos);
+		SpeciesPalette.removeSpecies(worldIn, pos);
 		if (hasTileEntity(state)) {
 			worldIn.removeTileEntity(pos);
 		}
 	}
 
+	/**
+	 * Called serverside after this block is placed in Chunk.  The species is recorded later when it's known.
+	 */
+	@Override
+	public void onBlockAdded(World worldIn, BlockPos pos, IBlockState state) {
+		super.onBlockAdded(worldIn, pos, state);
+		RootIndex.addRoot(worldIn, pos, null);
+	}
+
 	@Override
 	public boolean hasTileEntity(IBlockState state) {
 		return hasTileEntity;
@@ -147,11 +166,30 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 	///////////////////////////////////////////
 	@Override
 	public void randomTick(World world, BlockPos pos, IBlockState state, Random random) {
+		IBlockState paletteState = SpeciesPalette.isEnabled() ? getPaletteState(state) : null;
+		if (paletteState != null) {//Move the species over to the chunk palette and let the new block carry on
+			Species species = getSpecies(state, world, pos);
+			world.setBlockState(pos, paletteState, 2);
+			BlockRooty paletteBlock = (BlockRooty) paletteState.getBlock();
+			paletteBlock.setSpecies(world, pos, species);
+			RootIndex.addRoot(world, pos, species);
+			paletteBlock.randomTick(world, pos, paletteState, random);
+			return;
+		}
+
 		if (random.nextInt(ModConfigs.treeGrowthFolding) == 0) {
 			updateTree(state, world, pos, random, true);
 		}
 	}
 
+	/**
+	 * @return The state without a tile entity that this rooty block becomes when species are stored in the chunk
+	 * palette, or null if it stays as it is
+	 */
+	protected IBlockState getPaletteState(IBlockState state) {
+		return this == ModBlocks.blockRootyDirtSpecies ? ModBlocks.blockRootyDirt.getDefaultState().withProperty(LIFE, state.getValue(LIFE)) : null;
+	}
+
 	public EnumFacing getTrunkDirection(IBlockAccess access, BlockPos rootPos) {
 		return EnumFacing.UP;
 	}
@@ -163,9 +201,36 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 	 * @param natural
 	 */
 	public void updateTree(IBlockState rootyState, World world, BlockPos rootPos, Random random, boolean natural) {
+		updateTree(rootyState, world, rootPos, random, natural, 1);
+	}
+
+	/**
+	 * Grows the tree by several pulses in one update.  Used by growth accelerants instead of updating once per pulse.
+	 * Species that can't be bulk updated are updated once per pulse instead.
+	 *
+	 * @param pulses The number of growth pulses
+	 * @see Species#bulkUpdate
+	 */
+	public void bulkGrowTree(IBlockState rootyState, World world, BlockPos rootPos, Random random, int pulses) {
+		if (getSpecies(rootyState, world, rootPos).canBulkUpdate()) {
+			updateTree(rootyState, world, rootPos, random, false, pulses);
+			return;
+		}
+
+		for (int pulse = 0; pulse < pulses && world.getBlockState(rootPos).getBlock() == this; pulse++) {
+			updateTree(world.getBlockState(rootPos), world, rootPos, random, false);
+		}
+	}
+
+	private void updateTree(IBlockState rootyState, World world, BlockPos rootPos, Random random, boolean natural, int pulses) {
+
+		if (StreamingFelling.isFelling(world, rootPos)) {
+			return;//Wait for the tree to finish falling
+		}
 
 		if (CoordUtils.isSurroundedByLoadedChunks(world, rootPos)) {
 
+			long profileStart = TreeProfiler.begin();
 			boolean viable = false;
 
 			Species species = getSpecies(rootyState, world, rootPos);
@@ -175,7 +240,18 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 				ITreePart treeBase = TreeHelper.getTreePart(world.getBlockState(treePos));
 
 				if (treeBase != TreeHelper.nullTreePart) {
-					viable = species.update(world, this, rootPos, getSoilLife(rootyState, world, rootPos), treeBase, treePos, random, natural);
+					beginSoilLifeBatch(world, rootPos);//Growth may change the soil life several times so it's only committed once
+					try {
+						int soilLife = getSoilLife(rootyState, world, rootPos);
+						viable = pulses > 1 ?
+							species.bulkUpdate(world, this, rootPos, soilLife, treeBase, treePos, random, pulses) :
+							species.update(world, this, rootPos, soilLife, treeBase, treePos, random, natural);
+					} finally {
+						commitSoilLifeBatch(world, rootPos);
+					}
+					if (viable) {
+						RootIndex.updateRoot(world, rootPos, species, treeBase.getRadius(world.getBlockState(treePos)));
+					}
 				}
 			}
 
@@ -184,6 +260,7 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 				world.setBlockState(rootPos, getDecayBlockState(world, rootPos), 3);
 			}
 
+			TreeProfiler.end(Subsystem.ROOTY_UPDATE, species, profileStart, pulses);
 		}
 
 	}
@@ -282,15 +359,110 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 		destroyTree(world, pos);
 	}
 
+	///////////////////////////////////////////
+	// SOIL LIFE
+	///////////////////////////////////////////
+
+	/**
+	 * Soil life changes that are held back until the batch for the root is committed.
+	 */
+	private static class SoilLifeBatch {
+
+		private final World world;
+		private int depth = 1;
+		private int life;
+		private boolean changed = false;
+
+		private SoilLifeBatch(World world) {
+			this.world = world;
+		}
+
+	}
+
+	//Read by clients for tooltips and Waila so it must be safe to read from another thread
+	private static final Map<BlockPos, SoilLifeBatch> soilLifeBatches = new ConcurrentHashMap<>();
+
+	private static SoilLifeBatch getSoilLifeBatch(IBlockAccess access, BlockPos pos) {
+		if (soilLifeBatches.isEmpty()) {
+			return null;
+		}
+		SoilLifeBatch batch = soilLifeBatches.get(pos);
+		return batch != null && batch.world == access ? batch : null;
+	}
+
 	public int getSoilLife(IBlockState blockState, IBlockAccess blockAccess, BlockPos pos) {
-		return blockState.getValue(LIFE);
+		SoilLifeBatch batch = getSoilLifeBatch(blockAccess, pos);
+		return batch != null && batch.changed ? batch.life : blockState.getValue(LIFE);
 	}
 
+	/**
+	 * Sets the soil life.  If a batch is open for the root the change is held until the batch is committed.
+	 */
 	public void setSoilLife(World world, BlockPos rootPos, int life) {
-		Species species = getSpecies(world.getBlockState(rootPos), world, rootPos);
-		world.setBlockState(rootPos, getDefaultState().withProperty(LIFE, MathHelper.clamp(life, 0, 15)), 3);
-		world.notifyNeighborsOfStateChange(rootPos, this, false);//Notify all neighbors of NSEWUD neighbors(for comparator)
-		setSpecies(world, rootPos, species);
+		life = MathHelper.clamp(life, 0, 15);
+		SoilLifeBatch batch = getSoilLifeBatch(world, rootPos);
+		if (batch != null) {
+			batch.life = life;
+			batch.changed = true;
+		} else {
+			applySoilLife(world, rootPos, life);
+		}
+	}
+
+	/**
+	 * Holds back soil life changes to the root until {@link #commitSoilLifeBatch} is called so that several changes
+	 * during an update make a single block change.  Batches nest and only the outermost commit applies the change.
+	 * Does nothing on the client.
+	 */
+	public void beginSoilLifeBatch(World world, BlockPos rootPos) {
+		if (world.isRemote) {
+			return;
+		}
+		SoilLifeBatch batch = getSoilLifeBatch(world, rootPos);
+		if (batch != null) {
+			batch.depth++;
+		} else {
+			soilLifeBatches.putIfAbsent(rootPos.toImmutable(), new SoilLifeBatch(world));
+		}
+	}
+
+	/**
+	 * Applies the soil life held back since the matching {@link #beginSoilLifeBatch}.  The change is dropped if the root
+	 * is no longer this block since the tree has died.
+	 */
+	public void commitSoilLifeBatch(World world, BlockPos rootPos) {
+		SoilLifeBatch batch = getSoilLifeBatch(world, rootPos);
+		if (batch == null || --batch.depth > 0) {
+			return;
+		}
+		soilLifeBatches.remove(rootPos);
+		if (batch.changed && world.getBlockState(rootPos).getBlock() == this) {
+			applySoilLife(world, rootPos, batch.life);
+		}
+	}
+
+	protected void applySoilLife(World world, BlockPos rootPos, int life) {
+		IBlockState state = world.getBlockState(rootPos);
+
+		if (state.getBlock() != this) {//Becoming this block so it's a full replacement
+			Species species = getSpecies(state, world, rootPos);
+			world.setBlockState(rootPos, getDefaultState().withProperty(LIFE, life), 3);
+			world.notifyNeighborsOfStateChange(rootPos, this, false);//Notify all neighbors of NSEWUD neighbors(for comparator)
+			setSpecies(world, rootPos, species);
+			return;
+		}
+
+		if (state.getValue(LIFE) == life) {
+			return;//Nothing to send
+		}
+
+		//Only the life changes so the block and its tile entity stay and the neighbors have nothing to react to
+		int oldOutput = getComparatorInputOverride(state, world, rootPos);
+		IBlockState newState = state.withProperty(LIFE, life);
+		world.setBlockState(rootPos, newState, 2);
+		if (getComparatorInputOverride(newState, world, rootPos) != oldOutput) {
+			world.updateComparatorOutputLevel(rootPos, this);
+		}
 	}
 
 	public boolean fertilize(World world, BlockPos pos, int amount) {
@@ -383,13 +555,18 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 
 	/**
 	 * Rooty Dirt can report whatever {@link TreeFamily} species it wants to be. We'll use a stored value to determine
-	 * the species for the {@link TileEntity} version. Otherwise we'll just make it report whatever {@link DynamicTree}
-	 * the above {@link BlockBranch} says it is.
+	 * the species for the {@link TileEntity} version or one stored in the {@link SpeciesPalette} of the chunk. Otherwise
+	 * we'll just make it report whatever {@link DynamicTree} the above {@link BlockBranch} says it is.
 	 */
 	public Species getSpecies(IBlockState blockState, World world, BlockPos rootPos) {
 
 		TreeFamily tree = getFamily(blockState, world, rootPos);
 
+		Species paletteSpecies = SpeciesPalette.getSpecies(world, rootPos);
+		if (paletteSpecies != null && paletteSpecies.getFamily() == tree) {//Same sanity check as the tile entity
+			return paletteSpecies;
+		}
+
 		if (hasTileEntity) {
 			TileEntitySpecies rootyDirtTE = getTileEntitySpecies(world, rootPos);
 
@@ -410,6 +587,13 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 			if (rootyDirtTE instanceof TileEntitySpecies) {
 				rootyDirtTE.setSpecies(species);
 			}
+		} else if (SpeciesPalette.isEnabled()) {
+			TreeFamily tree = getFamily(world.getBlockState(rootPos), world, rootPos);
+			if (species == tree.getSpeciesForLocation(world, rootPos.offset(getTrunkDirection(world, rootPos)))) {
+				SpeciesPalette.removeSpecies(world, rootPos);//The location already gives this species so nothing needs storing
+			} else {
+				SpeciesPalette.setSpecies(world, rootPos, species);
+			}
 		}
 	}
 
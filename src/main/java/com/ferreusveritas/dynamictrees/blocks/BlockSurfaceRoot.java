@@ -5,6 +5,7 @@ import com.ferreusveritas.dynamictrees.ModTabs;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.util.CoordUtils.Surround;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
@@ -158,7 +159,7 @@ public class BlockSurfaceRoot extends Block {
 	}
 
 	public int setRadius(World world, BlockPos pos, int radius, EnumFacing originDir, int flags) {
-		world.setBlockState(pos, getStateForRadius(radius), flags);
+		WorldGenBlockWriter.setBlockState(world, pos, getStateForRadius(radius), flags);
 		return radius;
 	}
 
@@ -0,0 +1,84 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.List;
+
+/**
+ * Precomputed bounding boxes for branches so that collision and selection don't have to build them on every call.
+ * Boxes are in block local coordinates and shared so they must never be changed.
+ */
+public final class BranchBoundingBoxes {
+
+	public static final int MAX_RADIUS = BlockBranchThick.RADMAX_THICK;
+
+	private static final AxisAlignedBB[] cores = new AxisAlignedBB[MAX_RADIUS + 1];//Indexed by radius
+	private static final AxisAlignedBB[][] arms = new AxisAlignedBB[MAX_RADIUS + 1][6];//Indexed by connection radius and direction
+	private static final AxisAlignedBB[][] selections = new AxisAlignedBB[MAX_RADIUS + 1][64];//Indexed by radius and connection mask
+
+	static {
+		for (int radius = 1; radius <= MAX_RADIUS; radius++) {
+			double r = radius / 16.0;
+			double gap = 0.5 - r;
+			AxisAlignedBB core = new AxisAlignedBB(0, 0, 0, 0, 0, 0).grow(r);
+			cores[radius] = core.offset(0.5, 0.5, 0.5);
+
+			for (EnumFacing dir : EnumFacing.VALUES) {
+				arms[radius][dir.getIndex()] = core.expand(dir.getFrontOffsetX() * gap, dir.getFrontOffsetY() * gap, dir.getFrontOffsetZ() * gap).offset(0.5, 0.5, 0.5);
+			}
+
+			selections[radius][0] = cores[radius];
+			for (int mask = 1; mask < 64; mask++) {
+				AxisAlignedBB aabb = core;
+				for (EnumFacing dir : EnumFacing.VALUES) {
+					if ((mask & (1 << dir.getIndex())) != 0) {
+						aabb = aabb.expand(dir.getFrontOffsetX() * gap, dir.getFrontOffsetY() * gap, dir.getFrontOffsetZ() * gap);
+					}
+				}
+				selections[radius][mask] = aabb.offset(0.5, 0.5, 0.5);
+			}
+		}
+	}
+
+	private BranchBoundingBoxes() {
+	}
+
+	/**
+	 * @return A cube of the radius in the middle of the block
+	 */
+	public static AxisAlignedBB getCore(int radius) {
+		return cores[MathHelper.clamp(radius, 1, MAX_RADIUS)];
+	}
+
+	/**
+	 * @return A cube of the radius reaching from the middle of the block to the side
+	 */
+	public static AxisAlignedBB getArm(int radius, EnumFacing dir) {
+		return arms[MathHelper.clamp(radius, 1, MAX_RADIUS)][dir.getIndex()];
+	}
+
+	/**
+	 * @param connectionMask A bit for each side with a connection, by {@link EnumFacing#getIndex()}
+	 * @return The core of the radius stretched to each connected side
+	 */
+	public static AxisAlignedBB getSelection(int radius, int connectionMask) {
+		return selections[MathHelper.clamp(radius, 1, MAX_RADIUS)][connectionMask & 63];
+	}
+
+	/**
+	 * Same as {@link net.minecraft.block.Block#addCollisionBoxToList(BlockPos, AxisAlignedBB, List, AxisAlignedBB)}
+	 * but only creates the world space box when it actually collides.
+	 */
+	public static void addCollisionBox(BlockPos pos, AxisAlignedBB entityBox, List<AxisAlignedBB> collidingBoxes, AxisAlignedBB box) {
+		int x = pos.getX();
+		int y = pos.getY();
+		int z = pos.getZ();
+		if (entityBox.intersects(box.minX + x, box.minY + y, box.minZ + z, box.maxX + x, box.maxY + y, box.maxZ + z)) {
+			collidingBoxes.add(box.offset(pos));
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
+import com.ferreusveritas.dynamictrees.items.Seed;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.entity.item.EntityItem;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides how an entity collides with dynamic leaves.  An entity is usually inside several leaves blocks at once and
+ * asks each of them for collision boxes more than once a tick, so the decision is cached for the rest of the tick.
+ * <p>
+ * Counts how many calls each path serves.  The counts are reset and reported by the profiler.
+ */
+public final class LeavesCollision {
+
+	public enum Path {
+		IGNORE,//No collision.  Falling trees and seeds falling through the canopy
+		SOLID,//Full block collision.  Items resting on top or vanilla collision
+		CANOPY,//The soft canopy box that slows entities down
+		PASSABLE//No collision since leaves are configured to be passable
+	}
+
+	public enum Counter {
+		COLLISION_IGNORE("Collision: ignored"),
+		COLLISION_SOLID("Collision: solid"),
+		COLLISION_CANOPY("Collision: canopy"),
+		COLLISION_PASSABLE("Collision: passable"),
+		CACHE_HITS("Collision: cached path"),
+		COLLIDED_SKIPPED("Inside: items and projectiles skipped"),
+		COLLIDED_VANILLA("Inside: vanilla"),
+		COLLIDED_SLOWED("Inside: slowed down"),
+		FALLEN_CRASHED("Fall: canopy crash"),
+		FALLEN_IGNORED("Fall: ignored");
+
+		private final String label;
+
+		Counter(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private static final Counter[] COUNTERS = Counter.values();
+	private static final LongAdder[] counts = new LongAdder[COUNTERS.length];
+
+	static {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	//Client and server threads both collide with leaves so each gets its own single entry cache.  The entity is weakly
+	//held so the last one to collide doesn't keep its world loaded after it's unloaded.
+	private static class Cache {
+		private WeakReference<Entity> entity = new WeakReference<>(null);
+		private int tick;
+		private Path path;
+	}
+
+	private static final ThreadLocal<Cache> cache = ThreadLocal.withInitial(Cache::new);
+
+	private LeavesCollision() {
+	}
+
+	public static Path getCollisionPath(Entity entity) {
+		if (entity == null) {
+			return Path.IGNORE;
+		}
+
+		Cache entry = cache.get();
+		if (entry.entity.get() == entity && entry.tick == entity.ticksExisted) {
+			count(Counter.CACHE_HITS);
+			return entry.path;
+		}
+
+		entry.entity = new WeakReference<>(entity);
+		entry.tick = entity.ticksExisted;
+		entry.path = classify(entity);
+		return entry.path;
+	}
+
+	private static Path classify(Entity entity) {
+		if (entity instanceof EntityItem) {
+			return ((EntityItem) entity).getItem().getItem() instanceof Seed ? Path.IGNORE : Path.SOLID;//Let seeds fall through the canopy
+		}
+		if (entity instanceof EntityFallingTree) {
+			return Path.IGNORE;
+		}
+		if (BlockDynamicLeaves.passableLeavesModLoaded || ModConfigs.vanillaLeavesCollision) {
+			return Path.SOLID;
+		}
+		return ModConfigs.isLeavesPassable ? Path.PASSABLE : Path.CANOPY;
+	}
+
+	/**
+	 * @return true if the entity is slowed down while inside leaves
+	 */
+	public static boolean isSlowedInside(Entity entity) {
+		if (entity instanceof EntityItem || entity instanceof IProjectile) {
+			count(Counter.COLLIDED_SKIPPED);
+			return false;
+		}
+		if (BlockDynamicLeaves.passableLeavesModLoaded || ModConfigs.vanillaLeavesCollision) {
+			count(Counter.COLLIDED_VANILLA);
+			return false;
+		}
+		count(Counter.COLLIDED_SLOWED);
+		return true;
+	}
+
+	/**
+	 * @return true if the entity crashes through the canopy when it lands
+	 */
+	public static boolean crashesThroughCanopy(Entity entity) {
+		boolean crash = ModConfigs.canopyCrash && entity instanceof EntityLivingBase;//We are only interested in Living things crashing through the canopy.
+		count(crash ? Counter.FALLEN_CRASHED : Counter.FALLEN_IGNORED);
+		return crash;
+	}
+
+	public static void countCollision(Path path) {
+		count(COUNTERS[Counter.COLLISION_IGNORE.ordinal() + path.ordinal()]);
+	}
+
+	private static void count(Counter counter) {
+		counts[counter.ordinal()].increment();
+	}
+
+	public static void resetCounters() {
+		for (LongAdder count : counts) {
+			count.reset();
+		}
+	}
+
+	public static Map<String, Long> getCounters() {
+		Map<String, Long> map = new LinkedHashMap<>();
+		for (Counter counter : COUNTERS) {
+			map.put(counter.getLabel(), counts[counter.ordinal()].sum());
+		}
+		return map;
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.ferreusveritas.dynamictrees.client;
+
+import com.ferreusveritas.dynamictrees.api.treedata.ILeavesProperties;
+import com.ferreusveritas.dynamictrees.seasons.SeasonHelper;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.ChunkCache;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the foliage color of each leaves properties for every block column of the loaded client chunks.  Biome
+ * colors are blended over neighboring columns so resolving them is expensive, and it's done for every leaves block when
+ * a chunk is rebuilt and for every leaves block of a falling tree.
+ * <p>
+ * Colors are keyed by (leaves properties, x, z) since biomes don't change with height.  The small cooling of biomes
+ * above sea level is sampled at whichever leaves block of the column is colored first.  Chunk rebuilds happen on the
+ * render worker threads so the tables are shared without locking.  A racing write can only store the same color.
+ * <p>
+ * Entries are dropped when their chunk is loaded or unloaded, which covers chunk data sent from the server with new
+ * biomes, and everything is dropped when the season changes or the world unloads.  Anything else that changes biomes
+ * on the client should call {@link #invalidateChunk}.
+ */
+@SideOnly(Side.CLIENT)
+public class FoliageColorCache {
+
+	private static final int UNKNOWN = 0;//Colors are stored with the alpha bits set so zero is never a stored color
+	private static final int OPAQUE = 0xFF000000;
+	private static final int SEASON_CHECK_INTERVAL = 20;
+
+	private static final Map<Long, ChunkColors> chunks = new ConcurrentHashMap<>();
+	private static Float lastSeason = null;
+	private static int seasonCheckTicks = 0;
+
+	private static class ChunkColors {
+
+		private final Map<ILeavesProperties, int[]> columns = new ConcurrentHashMap<>();
+
+		public int[] getColumns(ILeavesProperties leavesProperties) {
+			return columns.computeIfAbsent(leavesProperties, p -> new int[256]);
+		}
+
+	}
+
+	/**
+	 * Gets the foliage color of the leaves properties at a position, resolving and storing it if it's not yet known.
+	 * Falls back to resolving the color directly for block accesses that are not views of the client world.
+	 */
+	public static int getColor(ILeavesProperties leavesProperties, IBlockState state, IBlockAccess access, BlockPos pos) {
+		if (pos == null || !isClientWorld(access)) {
+			return leavesProperties.foliageColorMultiplier(state, access, pos);
+		}
+
+		int x = pos.getX();
+		int z = pos.getZ();
+		int[] columns = chunks.computeIfAbsent(ChunkPos.asLong(x >> 4, z >> 4), k -> new ChunkColors()).getColumns(leavesProperties);
+		int index = (z & 15) << 4 | (x & 15);
+		int color = columns[index];
+
+		if (color == UNKNOWN) {
+			color = leavesProperties.foliageColorMultiplier(state, access, pos) | OPAQUE;
+			columns[index] = color;
+		}
+
+		return color;
+	}
+
+	/**
+	 * Only the client world and the chunk caches built from it for rendering share the biomes this cache holds.
+	 */
+	private static boolean isClientWorld(IBlockAccess access) {
+		return access instanceof ChunkCache || (access != null && access == Minecraft.getMinecraft().world);
+	}
+
+	public static void invalidateChunk(int chunkX, int chunkZ) {
+		chunks.remove(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	public static void invalidateAll() {
+		chunks.clear();
+	}
+
+	///////////////////////////////////////////
+	//EVENTS
+	///////////////////////////////////////////
+
+	@SubscribeEvent
+	public void onChunkLoad(ChunkEvent.Load event) {
+		if (event.getWorld().isRemote) {
+			invalidateChunk(event.getChunk().x, event.getChunk().z);
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			invalidateChunk(event.getChunk().x, event.getChunk().z);
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			invalidateAll();
+			lastSeason = null;
+		}
+	}
+
+	/**
+	 * Seasons mods tint foliage as the season changes so the colors are thrown away whenever it does.
+	 */
+	@SubscribeEvent
+	public void clientTick(TickEvent.ClientTickEvent event) {
+		Minecraft mc = Minecraft.getMinecraft();
+		World world = mc.world;
+		if (event.phase == Phase.END && world != null && mc.player != null && ++seasonCheckTicks >= SEASON_CHECK_INTERVAL) {
+			seasonCheckTicks = 0;
+			Float season = SeasonHelper.getSeasonValue(world, mc.player.getPosition());
+			if (!Objects.equals(season, lastSeason)) {
+				lastSeason = season;
+				invalidateAll();
+			}
+		}
+	}
+
+}
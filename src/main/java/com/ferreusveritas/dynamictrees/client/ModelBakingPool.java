@@ -0,0 +1,75 @@
+package com.ferreusveritas.dynamictrees.client;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bakes the variants of the branch, root and cactus models in the background.  Forge bakes models one at a time so
+ * each family's model submits its own variants here when it's constructed and the rest of the model bake carries on
+ * while they are built.  The inputs are sprites and fixed geometry so the tasks share nothing.
+ * <p>
+ * A model must {@link #await} its task before reading the variants it bakes.
+ */
+@SideOnly(Side.CLIENT)
+public class ModelBakingPool {
+
+	private static volatile ForkJoinPool pool;
+
+	private static synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+			int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			pool = new ForkJoinPool(parallelism, p -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName("DynamicTrees Model Baker " + thread.getPoolIndex());
+				thread.setContextClassLoader(classLoader);
+				return thread;
+			}, null, false);
+		}
+		return pool;
+	}
+
+	/**
+	 * @param name   The name of the model for the log if baking fails
+	 * @param baking The work that fills in the model's variants
+	 * @return The task to hand to {@link #await}
+	 */
+	public static ForkJoinTask<Boolean> submit(String name, Runnable baking) {
+		return getPool().submit(() -> {
+			try {
+				baking.run();
+				return true;
+			} catch (Exception e) {
+				DynamicTrees.log.error("Baking model " + name + " failed", e);
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Waits for a model's variants to be baked.  Returns immediately once they are.
+	 *
+	 * @return True if the variants were all baked, false if baking failed
+	 */
+	public static boolean await(ForkJoinTask<Boolean> task) {
+		return task.join();
+	}
+
+	/**
+	 * Waits for every submitted model to finish baking.  Called once Forge has baked all of the models so that none of
+	 * the baking is left for the first frames.
+	 */
+	public static void awaitAll() {
+		ForkJoinPool current = pool;
+		if (current != null) {
+			current.awaitQuiescence(Long.MAX_VALUE, TimeUnit.SECONDS);
+		}
+	}
+
+}
@@ -125,7 +125,14 @@ public class ThickRingTextureAtlasSprite extends TextureAtlasSprite {
 		this.height = srcHeight * 3;
 
 		PixelBuffer basePixbuf = new PixelBuffer(baseTexture);
-		PixelBuffer majPixbuf = createMajorTexture(basePixbuf);
+
+		//Compositing is slow for large textures so the result is kept on disk for the next reload
+		String cacheKey = ThickRingTextureCache.getKey(basePixbuf);
+		PixelBuffer majPixbuf = ThickRingTextureCache.load(cacheKey, width, height);
+		if (majPixbuf == null) {
+			majPixbuf = createMajorTexture(basePixbuf);
+			ThickRingTextureCache.save(cacheKey, majPixbuf);
+		}
 
 		//Load the pixels into the TextureAtlasSprite
 		int mipmapLevels = baseTexture.getFrameTextureData(0).length;
@@ -0,0 +1,133 @@
+package com.ferreusveritas.dynamictrees.client;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.ModConstants;
+import com.ferreusveritas.dynamictrees.client.TextureUtils.PixelBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A disk cache of the textures generated by {@link ThickRingTextureAtlasSprite}.  Each texture is stored under a hash
+ * of the source ring pixels, their size, the fancyThickRings setting and the generator version so an unchanged ring
+ * texture is read back instead of being composited again on every resource reload.  A changed texture simply hashes to
+ * a new file.
+ * <p>
+ * Layout: magic, version, width, height and then the deflated ARGB pixels.
+ */
+@SideOnly(Side.CLIENT)
+public class ThickRingTextureCache {
+
+	public static final int MAGIC = 0x44545452;//"DTTR"
+	public static final int VERSION = 1;//Bump whenever the generated textures would change
+
+	private static boolean isEnabled() {
+		return ModConfigs.cacheThickRingTextures && ModConfigs.configDirectory != null;
+	}
+
+	/**
+	 * @param source The ring texture the thick ring texture is generated from
+	 * @return The hash that names the cached texture or null if caching is unavailable
+	 */
+	public static String getKey(PixelBuffer source) {
+		if (!isEnabled()) {
+			return null;
+		}
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			ByteBuffer header = ByteBuffer.allocate(16);
+			header.putInt(VERSION).putInt(ModConfigs.fancyThickRings ? 1 : 0).putInt(source.w).putInt(source.h);
+			digest.update(header.array());
+
+			ByteBuffer pixels = ByteBuffer.allocate(source.pixels.length * 4);
+			pixels.asIntBuffer().put(source.pixels);
+			digest.update(pixels.array());
+
+			StringBuilder key = new StringBuilder();
+			for (byte b : digest.digest()) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	private static File getFile(String key) {
+		return new File(ModConfigs.configDirectory.getAbsolutePath() + "/" + ModConstants.MODID + "/cache/thickrings/" + key + ".dttr");
+	}
+
+	/**
+	 * @return The cached texture or null if it's missing or corrupt
+	 */
+	public static PixelBuffer load(String key, int width, int height) {
+		if (key == null) {
+			return null;
+		}
+
+		File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != width || in.readInt() != height) {
+				return null;
+			}
+
+			byte[] data = new byte[width * height * 4];
+			try (DataInputStream pixelsIn = new DataInputStream(new InflaterInputStream(in))) {
+				pixelsIn.readFully(data);
+			}
+
+			PixelBuffer texture = new PixelBuffer(width, height);
+			ByteBuffer.wrap(data).asIntBuffer().get(texture.pixels);
+			return texture;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	public static void save(String key, PixelBuffer texture) {
+		if (key == null) {
+			return;
+		}
+
+		File file = getFile(key);
+		try {
+			File parent = file.getParentFile();
+			if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+				throw new IOException("Couldn't create directory " + parent);
+			}
+
+			ByteBuffer data = ByteBuffer.allocate(texture.pixels.length * 4);
+			data.asIntBuffer().put(texture.pixels);
+
+			//Written to a temporary file first so a crash never leaves a truncated texture behind
+			File temp = new File(file.getPath() + ".tmp");
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+			try (DeflaterOutputStream pixelsOut = new DeflaterOutputStream(out)) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(texture.w);
+				out.writeInt(texture.h);
+				out.flush();
+				pixelsOut.write(data.array());
+			}
+			if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+				throw new IOException("Couldn't rename " + temp);
+			}
+		} catch (IOException e) {
+			DynamicTrees.log.warn("Unable to cache thick ring texture at " + file + ": " + e.getMessage());
+		}
+	}
+
+}
@@ -42,10 +42,11 @@ public class CommandGrowPulse extends SubCommand {
 		}
 
 		BlockPos pos = CommandBase.parseBlockPos(sender, args, 1, false);
+		int pulses = args.length >= 5 ? CommandBase.parseInt(args[4], 1, 256) : 1;
 
 		ITreePart part = TreeHelper.getTreePart(world.getBlockState(pos));
 		if (part.isRootNode()) {
-			TreeHelper.growPulse(world, pos);
+			TreeHelper.growPulses(world, pos, pulses);
 		} else {
 			throw new CommandException("commands.dynamictrees.growpulse.norootyerror", pos.getX() + " " + pos.getY() + " " + pos.getZ());
 		}
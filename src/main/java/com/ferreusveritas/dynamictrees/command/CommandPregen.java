@@ -0,0 +1,75 @@
+package com.ferreusveritas.dynamictrees.command;
+
+import com.ferreusveritas.dynamictrees.api.WorldGenRegistry;
+import com.ferreusveritas.dynamictrees.worldgen.TreePregenerator;
+import com.google.common.collect.Lists;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+import java.util.List;
+
+/**
+ * Pregenerates the trees of the chunks around the sender.  The chunks are populated a few each tick by the world's
+ * {@link TreePregenerator}.
+ */
+public class CommandPregen extends SubCommand {
+
+	public static final String PREGEN = "pregen";
+	public static final String STOP = "stop";
+	public static final String STATUS = "status";
+
+	private static final int MAX_RADIUS = 1000;
+
+	@Override
+	public String getName() {
+		return PREGEN;
+	}
+
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, BlockPos targetPos) {
+		if (args.length == 2) {
+			return CommandBase.getListOfStringsMatchingLastWord(args, Lists.newArrayList(STOP, STATUS));
+		}
+		return super.getTabCompletions(server, sender, args, targetPos);
+	}
+
+	@Override
+	public void execute(World world, ICommandSender sender, String[] args) throws CommandException {
+
+		if (args.length < 2) {
+			throw new WrongUsageException("commands.dynamictrees.pregen.usage");
+		}
+
+		if (!WorldGenRegistry.isWorldGenEnabled()) {
+			throw new CommandException("commands.dynamictrees.pregen.disabled");
+		}
+
+		WorldServer worldServer = (WorldServer) world;
+		TreePregenerator pregenerator = TreePregenerator.get(worldServer);
+
+		switch (args[1]) {
+			case STOP:
+				pregenerator.stop(worldServer);
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.pregen.stopped", pregenerator.getIndex(), pregenerator.getTotalChunks()));
+				break;
+			case STATUS:
+				pregenerator.setSender(sender);
+				sender.sendMessage(new TextComponentTranslation(pregenerator.isRunning() ? "commands.dynamictrees.pregen.status" : "commands.dynamictrees.pregen.idle", pregenerator.getIndex(), pregenerator.getTotalChunks()));
+				break;
+			default:
+				int radius = CommandBase.parseInt(args[1], 0, MAX_RADIUS);
+				BlockPos pos = sender.getPosition();
+				pregenerator.start(worldServer, pos.getX() >> 4, pos.getZ() >> 4, radius, sender);
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.pregen.started", pregenerator.getTotalChunks()));
+				break;
+		}
+	}
+
+}
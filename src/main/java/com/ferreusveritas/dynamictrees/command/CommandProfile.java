@@ -0,0 +1,73 @@
+package com.ferreusveritas.dynamictrees.command;
+
+import com.ferreusveritas.dynamictrees.ModConstants;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+public class CommandProfile extends SubCommand {
+
+	public static final String PROFILE = "profile";
+	public static final String START = "start";
+	public static final String STOP = "stop";
+	public static final String DUMP = "dump";
+
+	@Override
+	public String getName() {
+		return PROFILE;
+	}
+
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, BlockPos targetPos) {
+
+		if (args.length == 2) {
+			return CommandBase.getListOfStringsMatchingLastWord(args, START, STOP, DUMP);
+		}
+
+		return super.getTabCompletions(server, sender, args, targetPos);
+	}
+
+	@Override
+	public void execute(World world, ICommandSender sender, String[] args) throws CommandException {
+
+		if (args.length < 2) {
+			throw new WrongUsageException("commands.dynamictrees.profile.usage");
+		}
+
+		switch (args[1]) {
+			case START:
+				TreeProfiler.start();
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.profile.started"));
+				break;
+			case STOP:
+				TreeProfiler.stop();
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.profile.stopped"));
+				break;
+			case DUMP:
+				String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+				File file = world.getMinecraftServer().getFile(ModConstants.MODID + "/profile-" + timestamp + ".txt");
+				try {
+					TreeProfiler.dump(file);
+				} catch (IOException e) {
+					throw new CommandException("commands.dynamictrees.profile.dumperror", e.getMessage());
+				}
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.profile.dumped", file.getPath()));
+				break;
+			default:
+				throw new WrongUsageException("commands.dynamictrees.profile.usage");
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.ferreusveritas.dynamictrees.command;
+
+import com.ferreusveritas.dynamictrees.api.WorldGenRegistry;
+import com.google.gson.JsonParseException;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
+
+/**
+ * Reloads the worldgen json files without stopping the server.  Unlike {@link CommandRepop} the files are read in the
+ * background and the new databases are only swapped in once they're complete and valid.
+ */
+public class CommandReloadWorldGen extends SubCommand {
+
+	public static final String RELOADWORLDGEN = "reloadworldgen";
+
+	@Override
+	public String getName() {
+		return RELOADWORLDGEN;
+	}
+
+	@Override
+	public void execute(World world, ICommandSender sender, String[] args) throws CommandException {
+		if (!WorldGenRegistry.isWorldGenEnabled()) {
+			throw new CommandException("commands.dynamictrees.reloadworldgen.disabled");
+		}
+
+		MinecraftServer server = world.getMinecraftServer();
+		sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.reloadworldgen.run"));
+
+		WorldGenRegistry.reloadDataBases(server).whenCompleteAsync((swapped, error) -> {
+			Throwable cause = error != null && error.getCause() != null ? error.getCause() : error;
+			if (cause instanceof JsonParseException) {
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.reloadworldgen.badfile", cause.getMessage()));
+			} else if (error != null) {
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.reloadworldgen.error", String.valueOf(error.getCause())));
+			} else {
+				sender.sendMessage(new TextComponentTranslation(swapped ? "commands.dynamictrees.reloadworldgen.done" : "commands.dynamictrees.reloadworldgen.invalid"));
+			}
+		}, server::addScheduledTask);
+	}
+
+}
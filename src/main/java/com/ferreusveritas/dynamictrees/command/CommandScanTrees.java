@@ -0,0 +1,79 @@
+package com.ferreusveritas.dynamictrees.command;
+
+import com.ferreusveritas.dynamictrees.ModConstants;
+import com.ferreusveritas.dynamictrees.systems.scanner.RegionTreeScanner;
+import com.ferreusveritas.dynamictrees.systems.scanner.TreeIndexEntry;
+import com.ferreusveritas.dynamictrees.systems.scanner.TreeScanTable;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Indexes every tree saved in the region files of the current dimension without loading any chunks.  The scan only
+ * sees what has been saved so run save-all first.  The block table written next to the index can be used to purge
+ * trees with {@link RegionTreeScanner#main} while the server is stopped.
+ */
+public class CommandScanTrees extends SubCommand {
+
+	public static final String SCANTREES = "scantrees";
+
+	private static final AtomicBoolean running = new AtomicBoolean();
+
+	@Override
+	public String getName() {
+		return SCANTREES;
+	}
+
+	@Override
+	public void execute(World world, ICommandSender sender, String[] args) throws CommandException {
+
+		if (!running.compareAndSet(false, true)) {
+			throw new CommandException("commands.dynamictrees.scantrees.runningerror");
+		}
+
+		int dimension = world.provider.getDimension();
+		File saveDir = ((WorldServer) world).getChunkSaveLocation();
+		File outputDir = new File(saveDir, ModConstants.MODID);
+		File tableFile = new File(outputDir, "treescan.dat");
+		File indexFile = new File(outputDir, "treeindex-" + dimension + ".csv");
+
+		//The table has to be built on the server thread from the live registry so that the block ids match the save
+		TreeScanTable table = TreeScanTable.fromRegistry();
+		try {
+			table.write(tableFile);
+		} catch (IOException e) {
+			running.set(false);
+			throw new CommandException("commands.dynamictrees.scantrees.error", e.getMessage());
+		}
+
+		MinecraftServer server = world.getMinecraftServer();
+		RegionTreeScanner scanner = new RegionTreeScanner(new File(saveDir, "region"), table);
+		sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.scantrees.started", scanner.getRegionFiles().length));
+
+		Thread thread = new Thread(() -> {
+			try {
+				long start = System.currentTimeMillis();
+				List<TreeIndexEntry> entries = scanner.scan(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+				RegionTreeScanner.writeIndex(entries, indexFile);
+				long orphans = entries.stream().filter(TreeIndexEntry::isOrphaned).count();
+				long time = System.currentTimeMillis() - start;
+				server.addScheduledTask(() -> sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.scantrees.done", entries.size(), orphans, time, indexFile.getPath())));
+			} catch (IOException e) {
+				server.addScheduledTask(() -> sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.scantrees.error", e.getMessage())));
+			} finally {
+				running.set(false);
+			}
+		}, "DynamicTrees Tree Scanner");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+}
@@ -37,6 +37,10 @@ public class DTCommand extends CommandBase {
 		addSubCommand(new CommandPurgeTrees());
 		addSubCommand(new CommandTransform());
 		addSubCommand(new CommandCreateTransformPotion());
+		addSubCommand(new CommandProfile());
+		addSubCommand(new CommandScanTrees());
+		addSubCommand(new CommandReloadWorldGen());
+		addSubCommand(new CommandPregen());
 	}
 
 	@Override
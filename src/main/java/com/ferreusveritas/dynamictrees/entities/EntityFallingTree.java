@@ -11,6 +11,7 @@ import com.ferreusveritas.dynamictrees.models.IModelTracker;
 import com.ferreusveritas.dynamictrees.models.ModelTrackerCacheEntityFallingTree;
 import com.ferreusveritas.dynamictrees.util.BlockBounds;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
+import com.ferreusveritas.dynamictrees.util.BranchDestructionData.BranchCursor;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData.PosType;
 import com.ferreusveritas.dynamictrees.util.CoordUtils.Surround;
 import com.google.common.collect.Iterables;
@@ -29,6 +30,7 @@ import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
@@ -113,24 +115,28 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 		this.posZ = cutPos.getZ() + 0.5;
 
 		int numBlocks = destroyData.getNumBranches();
-		geomCenter = new Vec3d(0, 0, 0);
 		double totalMass = 0;
 
 		//Calculate center of geometry, center of mass and bounding box, remap to relative coordinates
-		for (int index = 0; index < destroyData.getNumBranches(); index++) {
-			BlockPos relPos = destroyData.getBranchRelPos(index);
-
-			int radius = destroyData.getBranchRadius(index);
+		double geomX = 0, geomY = 0, geomZ = 0;
+		double massX = 0, massY = 0, massZ = 0;
+		BranchCursor branch = destroyData.getBranchCursor();
+		while (branch.next()) {
+			int radius = branch.getRadius();
 			float mass = (radius * radius * 64) / 4096f;//Assume full height cuboids for simplicity
 			totalMass += mass;
 
-			Vec3d relVec = new Vec3d(relPos.getX(), relPos.getY(), relPos.getZ());
-			geomCenter = geomCenter.add(relVec);
-			massCenter = massCenter.add(relVec.scale(mass));
+			int relX = branch.getRelX(), relY = branch.getRelY(), relZ = branch.getRelZ();
+			geomX += relX;
+			geomY += relY;
+			geomZ += relZ;
+			massX += relX * mass;
+			massY += relY * mass;
+			massZ += relZ * mass;
 		}
 
-		geomCenter = geomCenter.scale(1.0 / numBlocks);
-		massCenter = massCenter.scale(1.0 / totalMass);
+		geomCenter = new Vec3d(geomX, geomY, geomZ).scale(1.0 / numBlocks);
+		massCenter = massCenter.add(massX, massY, massZ).scale(1.0 / totalMass);
 
 		setVoxelData(buildVoxelData(destroyData));
 
@@ -201,10 +207,10 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 	}
 
 	protected void cleanupShellBlocks(BranchDestructionData destroyData) {
-		BlockPos cutPos = destroyData.cutPos;
-		for (int i = 0; i < destroyData.getNumBranches(); i++) {
-			if (destroyData.getBranchRadius(i) > 8) {
-				BlockPos pos = destroyData.getBranchRelPos(i).add(cutPos);
+		BranchCursor branch = destroyData.getBranchCursor();
+		while (branch.next()) {
+			if (branch.getRadius() > 8) {
+				BlockPos pos = branch.getAbsPos(new MutableBlockPos());
 				for (Surround dir : Surround.values()) {
 					BlockPos dPos = pos.add(dir.getOffset());
 					if (world.getBlockState(dPos).getBlock() == ModBlocks.blockTrunkShell) {
@@ -2,6 +2,7 @@ package com.ferreusveritas.dynamictrees.entities;
 
 import com.ferreusveritas.dynamictrees.api.substances.ISubstanceEffect;
 import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import com.ferreusveritas.dynamictrees.systems.substances.LingeringEffectScheduler;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NBTTagCompound;
@@ -9,6 +10,10 @@ import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+/**
+ * @deprecated Lingering effects are now run by the {@link LingeringEffectScheduler} without an entity per tree
+ */
+@Deprecated
 public class EntityLingeringEffector extends Entity {
 
 	public BlockPos blockPos;
@@ -34,6 +39,9 @@ public class EntityLingeringEffector extends Entity {
 	}
 
 	public static boolean treeHasEffectorForEffect(World world, BlockPos pos, ISubstanceEffect effect) {
+		if (LingeringEffectScheduler.get(world).hasEffect(pos, effect.getName())) {
+			return true;
+		}
 		for (final EntityLingeringEffector effector : world.getEntitiesWithinAABB(EntityLingeringEffector.class, new AxisAlignedBB(pos))) {
 			if (effector.getEffect() != null && effector.getEffect().getName().equals(effect.getName())) {
 				return true;
@@ -2,7 +2,6 @@ package com.ferreusveritas.dynamictrees.entities.animation;
 
 import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
-import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
@@ -74,9 +73,8 @@ public class AnimationHandlerFallover implements IAnimationHandler {
 		{//Handle entire entity falling and collisions with it's base and the ground
 			World world = entity.world;
 			int radius = 8;
-			IBlockState state = entity.getDestroyData().getBranchBlockState(0);
-			if (TreeHelper.isBranch(state)) {
-				radius = ((BlockBranch) state.getBlock()).getRadius(state);
+			if (entity.getDestroyData().getBranchBlock(0) != null) {
+				radius = entity.getDestroyData().getBranchRadius(0);
 			}
 			AxisAlignedBB fallBox = new AxisAlignedBB(entity.posX - radius, entity.posY, entity.posZ - radius, entity.posX + radius, entity.posY + 1.0, entity.posZ + radius);
 			BlockPos pos = new BlockPos(entity.posX, entity.posY, entity.posZ);
@@ -2,7 +2,6 @@ package com.ferreusveritas.dynamictrees.entities.animation;
 
 import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
-import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockLiquid;
@@ -90,9 +89,8 @@ public class AnimationHandlerPhysics implements IAnimationHandler {
 		if (entity.getDestroyData().getNumBranches() <= 0) {
 			return;
 		}
-		IBlockState state = entity.getDestroyData().getBranchBlockState(0);
-		if (TreeHelper.isBranch(state)) {
-			radius = ((BlockBranch) state.getBlock()).getRadius(state);
+		if (entity.getDestroyData().getBranchBlock(0) != null) {
+			radius = entity.getDestroyData().getBranchRadius(0);
 		}
 		World world = entity.world;
 		AxisAlignedBB fallBox = new AxisAlignedBB(entity.posX - radius, entity.posY, entity.posZ - radius, entity.posX + radius, entity.posY + 1.0, entity.posZ + radius);
@@ -3,6 +3,10 @@ package com.ferreusveritas.dynamictrees.event;
 import com.ferreusveritas.dynamictrees.api.WorldGenRegistry;
 import com.ferreusveritas.dynamictrees.client.TooltipHandler;
 import com.ferreusveritas.dynamictrees.seasons.SeasonHelper;
+import com.ferreusveritas.dynamictrees.systems.StreamingFelling;
+import com.ferreusveritas.dynamictrees.systems.substances.LingeringEffectScheduler;
+import com.ferreusveritas.dynamictrees.worldgen.TreePregenerator;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -17,8 +21,12 @@ public class CommonEventHandler {
 	@SubscribeEvent
 	public void onWorldTick(WorldTickEvent event) {
 
-		if (event.side == Side.SERVER) {
+		if (event.side == Side.SERVER && event.phase == Phase.END) {
 			FutureBreak.process(event.world);
+			LingeringEffectScheduler.get(event.world).tick(event.world);
+			if (event.world instanceof WorldServer) {
+				TreePregenerator.get((WorldServer) event.world).tick((WorldServer) event.world);
+			}
 		}
 
 		if (event.type == Type.WORLD && event.phase == Phase.START) {
@@ -37,6 +45,18 @@ public class CommonEventHandler {
 		event.getWorld().addEventListener(new WorldListener(event.getWorld(), event.getWorld().getMinecraftServer()));
 	}
 
+	@SubscribeEvent
+	public void onWorldSave(WorldEvent.Save event) {
+		if (!event.getWorld().isRemote) {
+			StreamingFelling.finishAll(event.getWorld());//Never save a tree that's only partly destroyed
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		FutureBreak.unloadWorld(event.getWorld());
+	}
+
 	@SubscribeEvent
 	@SideOnly(Side.CLIENT)
 	public void onItemTooltipAdded(ItemTooltipEvent event) {
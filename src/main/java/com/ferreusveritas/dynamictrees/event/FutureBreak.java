@@ -1,18 +1,58 @@
 package com.ferreusveritas.dynamictrees.event;
 
+import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.api.IFutureBreakable;
+import com.ferreusveritas.dynamictrees.systems.StreamingFelling;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler.Subsystem;
+import com.google.common.collect.Iterables;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
+/**
+ * Breaks that are put off until the world ticks.  Each world has its own queue.
+ * <p>
+ * Breaks that are due are batched.  The batch is felled from the lowest cut upwards, so a later break on a tree that
+ * was already felled finds no branch and is dropped.  Only {@link ModConfigs#maxFellingsPerTick} trees are felled per
+ * tick and the rest wait for the following ticks.  Trees that are still being felled by a {@link StreamingFelling} are
+ * worked first and breaks on the branches they have yet to remove are dropped.
+ */
 public class FutureBreak {
 
-	public static List<FutureBreak> futureBreaks = new LinkedList<>();
+	private static final Map<World, Deque<FutureBreak>> worldBreaks = new HashMap<>();
+
+	/**
+	 * @deprecated Breaks are queued per world.  Use {@link #add(FutureBreak)}.  Adding to this list queues the break
+	 * with {@link #add(FutureBreak)} and reading it shows the breaks waiting in every world.  It can't be removed from.
+	 * This will be removed in the next release.
+	 */
+	@Deprecated
+	public static List<FutureBreak> futureBreaks = new AbstractList<FutureBreak>() {
+		@Override
+		public FutureBreak get(int index) {
+			for (Deque<FutureBreak> queue : worldBreaks.values()) {
+				if (index < queue.size()) {
+					return Iterables.get(queue, index);
+				}
+				index -= queue.size();
+			}
+			throw new IndexOutOfBoundsException();
+		}
+
+		@Override
+		public int size() {
+			return worldBreaks.values().stream().mapToInt(Deque::size).sum();
+		}
+
+		@Override
+		public void add(int index, FutureBreak fb) {
+			FutureBreak.add(fb);
+		}
+	};
 
 	public final IBlockState state;
 	public final World world;
@@ -30,30 +70,69 @@ public class FutureBreak {
 
 	public static void add(FutureBreak fb) {
 		if (!fb.world.isRemote) {
-			futureBreaks.add(fb);
+			worldBreaks.computeIfAbsent(fb.world, w -> new ArrayDeque<>()).add(fb);
 		}
 	}
 
 	public static void process(World world) {
-		if (!futureBreaks.isEmpty()) {
-			Iterator<FutureBreak> i = futureBreaks.iterator();
-
-			while (i.hasNext()) {
-				FutureBreak fb = i.next();
-				if (world == fb.world) { //Make sure we're working in the same world
-					if (fb.state.getBlock() instanceof IFutureBreakable) {
-						if (fb.ticks-- <= 0) {
-							IFutureBreakable branch = (IFutureBreakable) fb.state.getBlock();
-							branch.futureBreak(fb.state, world, fb.pos, fb.entity);
-							i.remove();
-						}
-					} else {
-						i.remove();
-					}
-				}
+		long profileStart = TreeProfiler.begin();
+
+		//Carry on with the trees that are still being felled
+		int streamed = StreamingFelling.process(world);
+
+		Deque<FutureBreak> queue = worldBreaks.get(world);
+		if (queue == null || queue.isEmpty()) {
+			if (streamed > 0) {
+				TreeProfiler.end(Subsystem.FUTURE_BREAK, null, profileStart, 0);
+			}
+			return;
+		}
+
+		//Gather the breaks that are due, one per position
+		Map<BlockPos, FutureBreak> due = new LinkedHashMap<>();
+		Iterator<FutureBreak> i = queue.iterator();
+		while (i.hasNext()) {
+			FutureBreak fb = i.next();
+			if (!(fb.state.getBlock() instanceof IFutureBreakable)) {
+				i.remove();
+			} else if (fb.ticks-- <= 0) {
+				i.remove();
+				due.putIfAbsent(fb.pos, fb);
+			}
+		}
+
+		//Lowest cuts first since they take the most of a tree with them
+		List<FutureBreak> batch = new ArrayList<>(due.values());
+		batch.sort(Comparator.comparingInt(fb -> fb.pos.getY()));
+
+		int processed = 0;
+		List<FutureBreak> deferred = new ArrayList<>();
+		for (FutureBreak fb : batch) {
+			if (processed >= ModConfigs.maxFellingsPerTick) {
+				deferred.add(fb);
+				continue;
+			}
+			if (world.getBlockState(fb.pos).getBlock() != fb.state.getBlock()) {
+				continue;//Already felled along with another break in the same tree
+			}
+			if (StreamingFelling.isClaimed(world, fb.pos)) {
+				continue;//Part of a tree that's already being felled
 			}
+			((IFutureBreakable) fb.state.getBlock()).futureBreak(fb.state, world, fb.pos, fb.entity);
+			processed++;
 		}
+
+		//Deferred breaks go back to the front of the queue so they are first in line next tick
+		for (int d = deferred.size() - 1; d >= 0; d--) {
+			queue.addFirst(deferred.get(d));
+		}
+
+		TreeProfiler.end(Subsystem.FUTURE_BREAK, null, profileStart, processed);
 	}
 
-}
+	public static void unloadWorld(World world) {
+		worldBreaks.remove(world);
+		StreamingFelling.unloadWorld(world);
+	}
 
+}
@@ -0,0 +1,27 @@
+package com.ferreusveritas.dynamictrees.event;
+
+import com.ferreusveritas.dynamictrees.systems.substances.LingeringEffectScheduler;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Ticks the client side lingering effects.  World ticks are only fired on the server.
+ */
+@SideOnly(Side.CLIENT)
+public class LingeringEffectClientHandler {
+
+	@SubscribeEvent
+	public void clientTick(TickEvent.ClientTickEvent event) {
+		Minecraft mc = Minecraft.getMinecraft();
+		World world = mc.world;
+		if (event.phase == Phase.END && world != null && !mc.isGamePaused()) {
+			LingeringEffectScheduler.get(world).tick(world);
+		}
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.ferreusveritas.dynamictrees.event;
+
+import com.ferreusveritas.dynamictrees.systems.rootindex.RootIndex;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+public class RootIndexEventHandler {
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			RootIndex.unloadWorld(world);
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkDataLoad(ChunkDataEvent.Load event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			RootIndex.loadChunk(world, event.getChunk(), event.getData());
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkDataSave(ChunkDataEvent.Save event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			RootIndex.saveChunk(world, event.getChunk(), event.getData());
+		}
+	}
+
+}
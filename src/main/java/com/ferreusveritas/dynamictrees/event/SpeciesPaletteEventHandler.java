@@ -0,0 +1,22 @@
+package com.ferreusveritas.dynamictrees.event;
+
+import com.ferreusveritas.dynamictrees.systems.speciespalette.ChunkSpeciesPaletteProvider;
+import com.ferreusveritas.dynamictrees.systems.speciespalette.SpeciesPalette;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+public class SpeciesPaletteEventHandler {
+
+	@SubscribeEvent
+	public void onAttachChunkCapabilities(AttachCapabilitiesEvent<Chunk> event) {
+		event.addCapability(SpeciesPalette.CAPABILITY_KEY, new ChunkSpeciesPaletteProvider());
+	}
+
+	@SubscribeEvent
+	public void onChunkWatch(ChunkWatchEvent.Watch event) {
+		SpeciesPalette.sendChunk(event.getPlayer().world, event.getChunk(), event.getPlayer());
+	}
+
+}
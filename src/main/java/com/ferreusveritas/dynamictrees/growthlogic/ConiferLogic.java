@@ -49,8 +49,20 @@ public class ConiferLogic implements IGrowthLogicKit {
 		return this;
 	}
 
+	@Override
+	public int[] directionManipulation(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
+		if (GrowthLogicKits.usesLegacyManipulation(this)) {//A subclass only overrides the original version
+			return directionManipulation(neighborhood.getWorld(), neighborhood.getPos(), species, neighborhood.getRadius(), signal, probMap);
+		}
+		return manipulate(neighborhood, species, signal, probMap);
+	}
+
 	@Override
 	public int[] directionManipulation(World world, BlockPos pos, Species species, int radius, GrowSignal signal, int[] probMap) {
+		return manipulate(GrowthNeighborhood.getShared(world, pos, signal), species, signal, probMap);
+	}
+
+	private int[] manipulate(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
 
 		EnumFacing originDir = signal.dir.getOpposite();
 
@@ -58,7 +70,7 @@ public class ConiferLogic implements IGrowthLogicKit {
 		probMap[0] = 0;//Down is always disallowed for spruce
 		probMap[1] = signal.isInTrunk() ? species.getUpProbability() : 0;
 		probMap[2] = probMap[3] = probMap[4] = probMap[5] = //Only allow turns when we aren't in the trunk(or the branch is not a twig and step is odd)
-			!signal.isInTrunk() || (signal.isInTrunk() && signal.numSteps % 2 == 1 && radius > 1) ? 2 : 0;
+			!signal.isInTrunk() || (signal.isInTrunk() && signal.numSteps % 2 == 1 && neighborhood.getRadius() > 1) ? 2 : 0;
 		probMap[originDir.ordinal()] = 0;//Disable the direction we came from
 		probMap[signal.dir.ordinal()] += signal.isInTrunk() ? 0 : signal.numTurns == 1 ? 2 : 1;//Favor current travel direction 
 
@@ -8,8 +8,20 @@ import net.minecraft.world.World;
 
 public class DarkOakLogic implements IGrowthLogicKit {
 
+	@Override
+	public int[] directionManipulation(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
+		if (GrowthLogicKits.usesLegacyManipulation(this)) {//A subclass only overrides the original version
+			return directionManipulation(neighborhood.getWorld(), neighborhood.getPos(), species, neighborhood.getRadius(), signal, probMap);
+		}
+		return manipulate(neighborhood, species, signal, probMap);
+	}
+
 	@Override
 	public int[] directionManipulation(World world, BlockPos pos, Species species, int radius, GrowSignal signal, int[] probMap) {
+		return manipulate(GrowthNeighborhood.getShared(world, pos, signal), species, signal, probMap);
+	}
+
+	private int[] manipulate(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
 		probMap[EnumFacing.UP.getIndex()] = 4;
 
 		//Disallow up/down turns after having turned out of the trunk once.
@@ -20,7 +32,7 @@ public class DarkOakLogic implements IGrowthLogicKit {
 		}
 
 		//Amplify cardinal directions to encourage spread the higher we get
-		float energyRatio = signal.delta.getY() / species.getEnergy(world, pos);
+		float energyRatio = signal.delta.getY() / species.getEnergy(neighborhood.getWorld(), neighborhood.getPos());
 		float spreadPush = energyRatio * 2;
 		spreadPush = spreadPush < 1.0f ? 1.0f : spreadPush;
 		for (EnumFacing dir : EnumFacing.HORIZONTALS) {
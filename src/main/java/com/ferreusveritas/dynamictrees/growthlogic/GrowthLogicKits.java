@@ -3,12 +3,38 @@ package com.ferreusveritas.dynamictrees.growthlogic;
 import com.ferreusveritas.dynamictrees.ModConstants;
 import com.ferreusveritas.dynamictrees.ModTrees;
 import com.ferreusveritas.dynamictrees.api.TreeRegistry;
+import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.trees.Species;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 
 public class GrowthLogicKits {
 
 	public final static NullLogic nullLogic = new NullLogic();
 
+	//Kits that override the original directionManipulation below the class that implements the neighborhood version
+	private static final ClassValue<Boolean> legacyManipulation = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				Class<?> legacy = type.getMethod("directionManipulation", World.class, BlockPos.class, Species.class, int.class, GrowSignal.class, int[].class).getDeclaringClass();
+				Class<?> neighborhood = type.getMethod("directionManipulation", GrowthNeighborhood.class, Species.class, GrowSignal.class, int[].class).getDeclaringClass();
+				return legacy != neighborhood && neighborhood.isAssignableFrom(legacy);
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
+	/**
+	 * @return True if the kit is a subclass of a kit that implements the neighborhood version of directionManipulation
+	 * and only overrides the original version.  Such kits must be called through the original version.
+	 */
+	public static boolean usesLegacyManipulation(IGrowthLogicKit kit) {
+		return legacyManipulation.get(kit.getClass());
+	}
+
 	public static void preInit() {
 		new GrowthLogicKits();
 	}
@@ -0,0 +1,148 @@
+package com.ferreusveritas.dynamictrees.growthlogic;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.TreePartTable;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * What surrounds a branch that a grow signal is passing through, read from the world in a single pass.  Each neighbor
+ * is read once for its {@link TreePartTable} entry and the probability it adds to a turn in its direction, so growth
+ * logic can look at the neighborhood as often as it likes without touching the world again.
+ * <p>
+ * A neighborhood is reused for every step of a grow signal along with the probability buffer it holds.  Neither may be
+ * kept once a direction has been selected.
+ */
+public class GrowthNeighborhood {
+
+	private World world;
+	private BlockPos pos;
+	private BlockBranch branch;
+	private int radius;
+	private EnumFacing originDir;
+
+	private final int[] entries = new int[6];//TreePartTable entries by EnumFacing index
+	private final int[] probabilities = new int[6];//What each neighbor adds to the chance of turning towards it
+	private final int[] probMap = new int[6];//Working buffer for the direction selection
+	private final MutableBlockPos deltaPos = new MutableBlockPos();
+
+	//Shared by every grow step on a thread since a step is done with it before the signal moves on
+	private static final ThreadLocal<GrowthNeighborhood> shared = ThreadLocal.withInitial(GrowthNeighborhood::new);
+
+	/**
+	 * Reads the neighborhood of a branch into the neighborhood shared by the grow steps on this thread.
+	 */
+	public static GrowthNeighborhood readShared(World world, BlockPos pos, BlockBranch branch, GrowSignal signal) {
+		return shared.get().read(world, pos, branch, signal);
+	}
+
+	/**
+	 * Gets the neighborhood of a branch for the original growth logic methods that only know its position.  While
+	 * growing that's the shared neighborhood the grow step just read, otherwise the branch is read again.
+	 */
+	public static GrowthNeighborhood getShared(World world, BlockPos pos, GrowSignal signal) {
+		GrowthNeighborhood neighborhood = shared.get();
+		if (neighborhood.world != world || !pos.equals(neighborhood.pos)) {
+			neighborhood.read(world, pos, TreeHelper.getBranch(world.getBlockState(pos)), signal);
+		}
+		return neighborhood;
+	}
+
+	/**
+	 * Reads the neighborhood of a branch.  The side the signal came from isn't read since the signal never turns back.
+	 *
+	 * @param world  The world
+	 * @param pos    The position of the branch
+	 * @param branch The branch block the grow signal is traveling in
+	 * @param signal The grow signal
+	 * @return This neighborhood for chaining
+	 */
+	public GrowthNeighborhood read(World world, BlockPos pos, BlockBranch branch, GrowSignal signal) {
+		this.world = world;
+		this.pos = pos;
+		this.branch = branch;
+		this.radius = TreePartTable.getRadius(world, pos);
+		this.originDir = signal.dir.getOpposite();
+
+		for (EnumFacing dir : EnumFacing.VALUES) {
+			int i = dir.getIndex();
+			if (dir == originDir) {
+				entries[i] = TreePartTable.NONE;
+				probabilities[i] = 0;
+				continue;
+			}
+
+			//Typically Air:1, Leaves:2, Branches: 2+r
+			deltaPos.setPos(pos.getX() + dir.getFrontOffsetX(), pos.getY() + dir.getFrontOffsetY(), pos.getZ() + dir.getFrontOffsetZ());
+			IBlockState deltaState = world.getBlockState(deltaPos);
+			entries[i] = TreePartTable.lookup(deltaState);
+			probabilities[i] = TreeHelper.getTreePart(deltaState).probabilityForBlock(deltaState, world, deltaPos, branch);
+		}
+
+		return this;
+	}
+
+	public World getWorld() {
+		return world;
+	}
+
+	public BlockPos getPos() {
+		return pos;
+	}
+
+	public BlockBranch getBranch() {
+		return branch;
+	}
+
+	/**
+	 * @return The radius of the branch the signal is in
+	 */
+	public int getRadius() {
+		return radius;
+	}
+
+	public EnumFacing getOriginDir() {
+		return originDir;
+	}
+
+	/**
+	 * @return The {@link TreePartTable} kind of the neighbor, {@link TreePartTable#NONE} for the side the signal came from
+	 */
+	public int getKind(EnumFacing dir) {
+		return TreePartTable.getKind(entries[dir.getIndex()]);
+	}
+
+	/**
+	 * @return The radius of the neighbor if it's a tree part
+	 */
+	public int getRadius(EnumFacing dir) {
+		return TreePartTable.getRadius(entries[dir.getIndex()]);
+	}
+
+	public boolean isBranch(EnumFacing dir) {
+		return getKind(dir) == TreePartTable.BRANCH;
+	}
+
+	/**
+	 * @return What the neighbor adds to the chance of turning towards it.  Zero for the side the signal came from.
+	 */
+	public int getProbability(EnumFacing dir) {
+		return probabilities[dir.getIndex()];
+	}
+
+	/**
+	 * @return The probability buffer, cleared to zeros
+	 */
+	public int[] getProbabilityBuffer() {
+		Arrays.fill(probMap, 0);
+		return probMap;
+	}
+
+}
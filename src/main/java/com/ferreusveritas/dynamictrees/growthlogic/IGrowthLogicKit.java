@@ -8,7 +8,28 @@ import net.minecraft.world.World;
 
 public interface IGrowthLogicKit {
 
-	int[] directionManipulation(World world, BlockPos pos, Species species, int radius, GrowSignal signal, int[] probMap);
+	/**
+	 * Alters the probability map of a grow signal's next direction.  Kits should implement one of the two versions.
+	 * The world can still be reached through the neighborhood but anything the neighborhood already knows should be
+	 * taken from it.
+	 *
+	 * @param neighborhood The already read surroundings of the branch the signal is in
+	 * @param species      The species of the tree
+	 * @param signal       The grow signal
+	 * @param probMap      The probability map by {@link EnumFacing#getIndex()}.  May be altered and returned.
+	 * @return The probability map to select the direction from
+	 */
+	default int[] directionManipulation(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
+		return directionManipulation(neighborhood.getWorld(), neighborhood.getPos(), species, neighborhood.getRadius(), signal, probMap);
+	}
+
+	/**
+	 * The original version of {@link #directionManipulation(GrowthNeighborhood, Species, GrowSignal, int[])}.  Kits
+	 * that only implement this one keep working.
+	 */
+	default int[] directionManipulation(World world, BlockPos pos, Species species, int radius, GrowSignal signal, int[] probMap) {
+		return probMap;
+	}
 
 	EnumFacing newDirectionSelected(Species species, EnumFacing newDir, GrowSignal signal);
 
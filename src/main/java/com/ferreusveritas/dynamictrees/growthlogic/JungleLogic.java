@@ -14,20 +14,32 @@ public class JungleLogic implements IGrowthLogicKit {
 	private static final int BRANCH_OUT_CHANCE = 5;
 	private static final int MEGA_BRANCH_OUT_CHANCE = 3;
 
+	@Override
+	public int[] directionManipulation(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
+		if (GrowthLogicKits.usesLegacyManipulation(this)) {//A subclass only overrides the original version
+			return directionManipulation(neighborhood.getWorld(), neighborhood.getPos(), species, neighborhood.getRadius(), signal, probMap);
+		}
+		return manipulate(neighborhood, species, signal, probMap);
+	}
+
 	@Override
 	public int[] directionManipulation(World world, BlockPos pos, Species species, int radius, GrowSignal signal, int[] probMap) {
+		return manipulate(GrowthNeighborhood.getShared(world, pos, signal), species, signal, probMap);
+	}
+
+	private int[] manipulate(GrowthNeighborhood neighborhood, Species species, GrowSignal signal, int[] probMap) {
 
 		EnumFacing originDir = signal.dir.getOpposite();
 
 		int treeHash = CoordUtils.coordHashCode(signal.rootPos, 2);
-		int posHash = CoordUtils.coordHashCode(pos, 2);
+		int posHash = CoordUtils.coordHashCode(neighborhood.getPos(), 2);
 
 		// Alter probability map for direction change.
 		probMap[0] = 0; // Down is always disallowed for jungle.
 		probMap[1] = signal.isInTrunk() ? species.getUpProbability() : 0;
 		probMap[2] = probMap[3] = probMap[4] = probMap[5] = 0;
 		boolean branchOut = (signal.numSteps + treeHash) % (species.isMega() ? MEGA_BRANCH_OUT_CHANCE : BRANCH_OUT_CHANCE) == 0;
-		int sideTurn = !signal.isInTrunk() || (signal.isInTrunk() && branchOut && (radius > 1)) ? 2 : 0; // Only allow turns when we aren't in the trunk (or the branch is not a twig).
+		int sideTurn = !signal.isInTrunk() || (signal.isInTrunk() && branchOut && (neighborhood.getRadius() > 1)) ? 2 : 0; // Only allow turns when we aren't in the trunk (or the branch is not a twig).
 
 		int height = (species.isMega() ? MEGA_CANOPY_HEIGHT : CANOPY_HEIGHT) + ((treeHash % 7829) % 8);
 
@@ -1,10 +1,12 @@
 package com.ferreusveritas.dynamictrees.models;
 
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.client.FoliageColorCache;
 import com.ferreusveritas.dynamictrees.client.QuadManipulator;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
+import com.ferreusveritas.dynamictrees.util.BranchDestructionData.BranchCursor;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
@@ -79,15 +81,16 @@ public class ModelEntityFallingTree {
 		treeQuads.addAll(toTreeQuadData(QuadManipulator.getQuads(branchModel, exState, new Vec3d(BlockPos.ORIGIN.offset(cutDir)).scale(offset), new EnumFacing[]{cutDir}), 0xFFFFFFFF, exState.getClean()));
 
 		// Draw the rest of the tree/branch
-		for (int index = 0; index < destructionData.getNumBranches(); index++) {
+		BranchCursor branch = destructionData.getBranchCursor();
+		while (branch.next()) {
 			Block previousBranch = exState.getBlock();
-			exState = destructionData.getBranchBlockState(index);
+			exState = destructionData.getBranchBlockState(branch.getIndex());
 			if (!previousBranch.equals(exState.getBlock())) // Update the branch model only if the block is different
 			{
 				branchModel = dispatcher.getModelForState(exState.getClean());
 			}
-			BlockPos relPos = destructionData.getBranchRelPos(index);
-			treeQuads.addAll(toTreeQuadData(QuadManipulator.getQuads(branchModel, exState, new Vec3d(relPos)), 0xFFFFFFFF, exState.getClean()));
+			Vec3d relVec = new Vec3d(branch.getRelX(), branch.getRelY(), branch.getRelZ());
+			treeQuads.addAll(toTreeQuadData(QuadManipulator.getQuads(branchModel, exState, relVec), 0xFFFFFFFF, exState.getClean()));
 		}
 
 		// Draw the leaves
@@ -99,7 +102,7 @@ public class ModelEntityFallingTree {
 					leafState = ((IExtendedBlockState) leafState).getClean();
 				}
 				treeQuads.addAll(toTreeQuadData(QuadManipulator.getQuads(dispatcher.getModelForState(leafState), leafLoc.getValue(), new Vec3d(leafLoc.getKey())),
-					species.getLeavesProperties().foliageColorMultiplier(leafState, world, cutPos), leafState));
+					FoliageColorCache.getColor(species.getLeavesProperties(), leafState, world, cutPos), leafState));
 			}
 		} else {
 			for (int index = 0; index < destructionData.getNumLeaves(); index++) {
@@ -107,7 +110,7 @@ public class ModelEntityFallingTree {
 				IBlockState state = destructionData.getLeavesBlockState(index);
 				IBakedModel leavesModel = dispatcher.getModelForState(state);
 				treeQuads.addAll(toTreeQuadData(QuadManipulator.getQuads(leavesModel, state, new Vec3d(relPos)),
-					destructionData.getLeavesProperties(index).foliageColorMultiplier(state, world, cutPos.add(relPos)), state));
+					FoliageColorCache.getColor(destructionData.getLeavesProperties(index), state, world, cutPos.add(relPos)), state));
 			}
 		}
 
@@ -2,6 +2,7 @@ package com.ferreusveritas.dynamictrees.models.bakedmodels;
 
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranchBasic;
+import com.ferreusveritas.dynamictrees.client.ModelBakingPool;
 import com.ferreusveritas.dynamictrees.client.ModelUtils;
 import com.google.common.collect.Maps;
 import net.minecraft.block.state.IBlockState;
@@ -21,6 +22,7 @@ import org.lwjgl.util.vector.Vector3f;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 
 @SideOnly(Side.CLIENT)
@@ -34,6 +36,7 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 	private final IBakedModel[][] sleeves = new IBakedModel[6][7];
 	private final IBakedModel[][] cores = new IBakedModel[3][8]; // 8 Cores for 3 axis with the bark texture and all 6 sides rotated appropriately.
 	private final IBakedModel[] rings = new IBakedModel[8]; // 8 Cores with the ring textures on all 6 sides
+	private final ForkJoinTask<Boolean> baking; // Fills in the arrays above in the background
 
 	public BakedModelBlockBranchBasic(ResourceLocation barkRes, ResourceLocation ringsRes, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
 		this.modelBlock = new ModelBlock(null, null, null, false, false, ItemCameraTransforms.DEFAULT, null);
@@ -42,19 +45,21 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 		TextureAtlasSprite ringIcon = bakedTextureGetter.apply(ringsRes);
 		barkParticles = barkIcon;
 
-		for (int i = 0; i < 8; i++) {
-			int radius = i + 1;
-			if (radius < 8) {
-				for (EnumFacing dir : EnumFacing.VALUES) {
-					sleeves[dir.getIndex()][i] = bakeSleeve(radius, dir, barkIcon);
+		baking = ModelBakingPool.submit(barkRes.toString(), () -> {
+			for (int i = 0; i < 8; i++) {
+				int radius = i + 1;
+				if (radius < 8) {
+					for (EnumFacing dir : EnumFacing.VALUES) {
+						sleeves[dir.getIndex()][i] = bakeSleeve(radius, dir, barkIcon);
+					}
 				}
-			}
-			cores[0][i] = bakeCore(radius, Axis.Y, barkIcon); //DOWN<->UP
-			cores[1][i] = bakeCore(radius, Axis.Z, barkIcon); //NORTH<->SOUTH
-			cores[2][i] = bakeCore(radius, Axis.X, barkIcon); //WEST<->EAST
+				cores[0][i] = bakeCore(radius, Axis.Y, barkIcon); //DOWN<->UP
+				cores[1][i] = bakeCore(radius, Axis.Z, barkIcon); //NORTH<->SOUTH
+				cores[2][i] = bakeCore(radius, Axis.X, barkIcon); //WEST<->EAST
 
-			rings[i] = bakeCore(radius, Axis.Y, ringIcon);
-		}
+				rings[i] = bakeCore(radius, Axis.Y, ringIcon);
+			}
+		});
 
 	}
 
@@ -160,8 +165,8 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 	public List<BakedQuad> getQuads(IBlockState state, EnumFacing side, long rand) {
 		final List<BakedQuad> quadsList = new ArrayList<>(24);
 
-		if (!(state instanceof IExtendedBlockState)) {
-			// Not extended block state
+		if (!(state instanceof IExtendedBlockState) || !ModelBakingPool.await(baking)) {
+			// Not extended block state or the model failed to bake
 			return quadsList;
 		}
 
@@ -300,7 +305,7 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 	@SuppressWarnings("deprecation")
 	@Override
 	public ItemCameraTransforms getItemCameraTransforms() {
-		return sleeves[0][0].getItemCameraTransforms();
+		return modelBlock.getAllTransforms();
 	}
 
 	@Override
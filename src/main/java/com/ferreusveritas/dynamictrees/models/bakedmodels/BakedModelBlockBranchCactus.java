@@ -2,6 +2,7 @@ package com.ferreusveritas.dynamictrees.models.bakedmodels;
 
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranchCactus;
+import com.ferreusveritas.dynamictrees.client.ModelBakingPool;
 import com.ferreusveritas.dynamictrees.client.ModelUtils;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Ints;
@@ -23,6 +24,7 @@ import org.lwjgl.util.vector.Vector3f;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 
 @SideOnly(Side.CLIENT)
@@ -38,6 +40,7 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 	private final IBakedModel[] rings = new IBakedModel[2]; // 2 Cores with the ring textures on all 6 sides
 	private final IBakedModel[] coreSpikes = new IBakedModel[2]; // 2 cores with only the spikey edges
 	private IBakedModel sleeveTopSpikes;
+	private final ForkJoinTask<Boolean> baking; // Fills in the models above in the background
 
 	public BakedModelBlockBranchCactus(ResourceLocation barkRes, ResourceLocation ringsRes, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
 		this.modelBlock = new ModelBlock(null, null, null, false, false, ItemCameraTransforms.DEFAULT, null);
@@ -46,22 +49,24 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 		TextureAtlasSprite ringIcon = bakedTextureGetter.apply(ringsRes);
 		barkParticles = barkIcon;
 
-		for (int i = 0; i < 2; i++) {
-			int radius = i + 4;
+		baking = ModelBakingPool.submit(barkRes.toString(), () -> {
+			for (int i = 0; i < 2; i++) {
+				int radius = i + 4;
 
-			for (EnumFacing dir : EnumFacing.VALUES) {
-				sleeves[dir.getIndex()][i] = bakeSleeve(radius, dir, barkIcon, ringIcon);
-			}
+				for (EnumFacing dir : EnumFacing.VALUES) {
+					sleeves[dir.getIndex()][i] = bakeSleeve(radius, dir, barkIcon, ringIcon);
+				}
 
-			cores[0][i] = bakeCore(radius, Axis.Y, barkIcon); //DOWN<->UP
-			cores[1][i] = bakeCore(radius, Axis.Z, barkIcon); //NORTH<->SOUTH
-			cores[2][i] = bakeCore(radius, Axis.X, barkIcon); //WEST<->EAST
+				cores[0][i] = bakeCore(radius, Axis.Y, barkIcon); //DOWN<->UP
+				cores[1][i] = bakeCore(radius, Axis.Z, barkIcon); //NORTH<->SOUTH
+				cores[2][i] = bakeCore(radius, Axis.X, barkIcon); //WEST<->EAST
 
-			rings[i] = bakeCore(radius, Axis.Y, ringIcon);
+				rings[i] = bakeCore(radius, Axis.Y, ringIcon);
 
-			coreSpikes[i] = bakeCoreSpikes(radius, barkIcon);
+				coreSpikes[i] = bakeCoreSpikes(radius, barkIcon);
+			}
 			sleeveTopSpikes = bakeTopSleeveSpikes(barkIcon);
-		}
+		});
 	}
 
 	public IBakedModel bakeSleeve(int radius, EnumFacing dir, TextureAtlasSprite bark, TextureAtlasSprite top) {
@@ -569,7 +574,7 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 		List<BakedQuad> quadsList = new ArrayList<>(12);
 
 		IExtendedBlockState extendedBlockState = (IExtendedBlockState) blockState;
-		if (blockState instanceof IExtendedBlockState) {
+		if (blockState instanceof IExtendedBlockState && ModelBakingPool.await(baking)) {
 			int coreRadius = getRadius(blockState);
 			int[] connections = pollConnections(coreRadius, extendedBlockState);
 
@@ -722,7 +727,7 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 	@SuppressWarnings("deprecation")
 	@Override
 	public ItemCameraTransforms getItemCameraTransforms() {
-		return sleeves[0][0].getItemCameraTransforms();
+		return modelBlock.getAllTransforms();
 	}
 
 	@Override
@@ -30,27 +30,60 @@ import java.util.function.Function;
 @SideOnly(Side.CLIENT)
 public class BakedModelBlockBranchThick extends BakedModelBlockBranchBasic implements ICustomDamageModel {
 
+	//Trunks thicker than a block are only found on a few trees so these are baked the first time they are drawn
 	private final IBakedModel[] trunksBark = new IBakedModel[16];//The trunk will always feature bark on it's sides
 	private final IBakedModel[] trunksTopBark = new IBakedModel[16];//The trunk will feature bark on it's top when there's more tree on it's surface 
 	private final IBakedModel[] trunksTopRings = new IBakedModel[16];//The trunk will feature rings on it's top when there's not any tree on it's surface(cut)
 	private final IBakedModel[] trunksBotRings = new IBakedModel[16];//The trunk will always feature rings on it's bottom surface(or nothing)
 
+	private final TextureAtlasSprite barkIcon;
+	private final TextureAtlasSprite trunkRingIcon;
+	private final boolean fancyRings;
+
 	public BakedModelBlockBranchThick(ResourceLocation barkRes, ResourceLocation ringsRes, ResourceLocation thickRingsRes, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
 		super(barkRes, ringsRes, bakedTextureGetter);
 
-		TextureAtlasSprite barkIcon = bakedTextureGetter.apply(barkRes);
-		TextureAtlasSprite ringIcon = bakedTextureGetter.apply(ringsRes);
-		TextureAtlasSprite thickRingIcon = bakedTextureGetter.apply(thickRingsRes);
+		barkIcon = bakedTextureGetter.apply(barkRes);
+		fancyRings = ModConfigs.fancyThickRings;
+		trunkRingIcon = bakedTextureGetter.apply(fancyRings ? thickRingsRes : ringsRes);
 		barkParticles = barkIcon;
+	}
+
+	/*
+	 * The lazy getters may race on the chunk render threads.  Both threads bake an identical model and either one may
+	 * be kept.  Baked models only have final fields so a model read by another thread is always complete.
+	 */
 
-		for (int i = 0; i < 16; i++) {
-			int radius = i + 9;
-			trunksBark[i] = bakeTrunkBark(radius, barkIcon, true);
-			trunksTopBark[i] = bakeTrunkBark(radius, barkIcon, false);
-			trunksTopRings[i] = bakeTrunkRings(radius, ModConfigs.fancyThickRings ? thickRingIcon : ringIcon, EnumFacing.UP);
-			trunksBotRings[i] = bakeTrunkRings(radius, ModConfigs.fancyThickRings ? thickRingIcon : ringIcon, EnumFacing.DOWN);
+	private IBakedModel getTrunkBark(int index) {
+		IBakedModel model = trunksBark[index];
+		if (model == null) {
+			model = trunksBark[index] = bakeTrunkBark(index + 9, barkIcon, true);
 		}
+		return model;
+	}
 
+	private IBakedModel getTrunkTopBark(int index) {
+		IBakedModel model = trunksTopBark[index];
+		if (model == null) {
+			model = trunksTopBark[index] = bakeTrunkBark(index + 9, barkIcon, false);
+		}
+		return model;
+	}
+
+	private IBakedModel getTrunkTopRings(int index) {
+		IBakedModel model = trunksTopRings[index];
+		if (model == null) {
+			model = trunksTopRings[index] = bakeTrunkRings(index + 9, trunkRingIcon, EnumFacing.UP, fancyRings);
+		}
+		return model;
+	}
+
+	private IBakedModel getTrunkBotRings(int index) {
+		IBakedModel model = trunksBotRings[index];
+		if (model == null) {
+			model = trunksBotRings[index] = bakeTrunkRings(index + 9, trunkRingIcon, EnumFacing.DOWN, fancyRings);
+		}
+		return model;
 	}
 
 	public IBakedModel bakeTrunkBark(int radius, TextureAtlasSprite bark, boolean side) {
@@ -149,19 +182,19 @@ public class BakedModelBlockBranchThick extends BakedModelBlockBranchBasic imple
 		coreRadius = MathHelper.clamp(coreRadius, 9, 24);
 
 		List<BakedQuad> quadsList = new ArrayList<>(30);
-		quadsList.addAll(trunksBark[coreRadius - 9].getQuads(state, side, rand));
+		quadsList.addAll(getTrunkBark(coreRadius - 9).getQuads(state, side, rand));
 
 		if (state instanceof IExtendedBlockState) {
 			IExtendedBlockState extendedBlockState = (IExtendedBlockState) state;
 			int[] connections = pollConnections(coreRadius, extendedBlockState);
 
 			if (connections[0] < 1) {
-				quadsList.addAll(trunksBotRings[coreRadius - 9].getQuads(state, side, rand));
+				quadsList.addAll(getTrunkBotRings(coreRadius - 9).getQuads(state, side, rand));
 			}
 			if (connections[1] < 1) {
-				quadsList.addAll(trunksTopRings[coreRadius - 9].getQuads(state, side, rand));
+				quadsList.addAll(getTrunkTopRings(coreRadius - 9).getQuads(state, side, rand));
 			} else if (connections[1] == 1 && side == EnumFacing.UP) {
-				quadsList.addAll(trunksTopBark[coreRadius - 9].getQuads(state, side, rand));
+				quadsList.addAll(getTrunkTopBark(coreRadius - 9).getQuads(state, side, rand));
 			}
 
 		}
@@ -181,8 +214,8 @@ public class BakedModelBlockBranchThick extends BakedModelBlockBranchBasic imple
 
 		List<BakedQuad> quadsList = new LinkedList<BakedQuad>();
 
-		quadsList.addAll(trunksBark[coreRadius - 9].getQuads(blockState, side, rand));
-		quadsList.addAll(trunksTopBark[coreRadius - 9].getQuads(blockState, side, rand));
+		quadsList.addAll(getTrunkBark(coreRadius - 9).getQuads(blockState, side, rand));
+		quadsList.addAll(getTrunkTopBark(coreRadius - 9).getQuads(blockState, side, rand));
 
 		return quadsList;
 	}
@@ -1,6 +1,7 @@
 package com.ferreusveritas.dynamictrees.models.bakedmodels;
 
 import com.ferreusveritas.dynamictrees.blocks.BlockSurfaceRoot;
+import com.ferreusveritas.dynamictrees.client.ModelBakingPool;
 import com.ferreusveritas.dynamictrees.client.ModelUtils;
 import com.google.common.collect.Maps;
 import net.minecraft.block.state.IBlockState;
@@ -21,6 +22,7 @@ import org.lwjgl.util.vector.Vector3f;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 
 @SideOnly(Side.CLIENT)
@@ -33,6 +35,7 @@ public class BakedModelBlockSurfaceRoot implements IBakedModel {
 	private final IBakedModel[][] sleeves = new IBakedModel[4][7];
 	private final IBakedModel[][] cores = new IBakedModel[2][8]; //8 Cores for 2 axis(X, Z) with the bark texture on all 6 sides rotated appropriately.
 	private final IBakedModel[][] verts = new IBakedModel[4][8];
+	private final ForkJoinTask<Boolean> baking;//Fills in the arrays above in the background
 
 	public BakedModelBlockSurfaceRoot(ResourceLocation barkRes, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
 		this.modelBlock = new ModelBlock(null, null, null, false, false, ItemCameraTransforms.DEFAULT, null);
@@ -40,18 +43,20 @@ public class BakedModelBlockSurfaceRoot implements IBakedModel {
 		TextureAtlasSprite barkIcon = bakedTextureGetter.apply(barkRes);
 		barkParticles = barkIcon;
 
-		for (int r = 0; r < 8; r++) {
-			int radius = r + 1;
-			if (radius < 8) {
-				for (EnumFacing dir : EnumFacing.HORIZONTALS) {
-					int horIndex = dir.getHorizontalIndex();
-					sleeves[horIndex][r] = bakeSleeve(radius, dir, barkIcon);
-					verts[horIndex][r] = bakeVert(radius, dir, barkIcon);
+		baking = ModelBakingPool.submit(barkRes.toString(), () -> {
+			for (int r = 0; r < 8; r++) {
+				int radius = r + 1;
+				if (radius < 8) {
+					for (EnumFacing dir : EnumFacing.HORIZONTALS) {
+						int horIndex = dir.getHorizontalIndex();
+						sleeves[horIndex][r] = bakeSleeve(radius, dir, barkIcon);
+						verts[horIndex][r] = bakeVert(radius, dir, barkIcon);
+					}
 				}
+				cores[0][r] = bakeCore(radius, Axis.Z, barkIcon); //NORTH<->SOUTH
+				cores[1][r] = bakeCore(radius, Axis.X, barkIcon); //WEST<->EAST
 			}
-			cores[0][r] = bakeCore(radius, Axis.Z, barkIcon); //NORTH<->SOUTH
-			cores[1][r] = bakeCore(radius, Axis.X, barkIcon); //WEST<->EAST
-		}
+		});
 
 	}
 
@@ -170,7 +175,7 @@ public class BakedModelBlockSurfaceRoot implements IBakedModel {
 	public List<BakedQuad> getQuads(IBlockState blockState, EnumFacing side, long rand) {
 		List<BakedQuad> quadsList = new ArrayList<>(24);
 		IExtendedBlockState extendedBlockState = (IExtendedBlockState) blockState;
-		if (blockState instanceof IExtendedBlockState) {
+		if (blockState instanceof IExtendedBlockState && ModelBakingPool.await(baking)) {
 			int coreRadius = getRadius(blockState);
 			int[] connections = pollConnections(coreRadius, extendedBlockState);
 
@@ -303,7 +308,7 @@ public class BakedModelBlockSurfaceRoot implements IBakedModel {
 	@SuppressWarnings("deprecation")
 	@Override
 	public ItemCameraTransforms getItemCameraTransforms() {
-		return sleeves[0][0].getItemCameraTransforms();
+		return modelBlock.getAllTransforms();
 	}
 
 	@Override
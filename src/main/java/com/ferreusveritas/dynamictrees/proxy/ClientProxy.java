@@ -11,10 +11,12 @@ import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.blocks.*;
 import com.ferreusveritas.dynamictrees.blocks.MimicProperty.IMimic;
 import com.ferreusveritas.dynamictrees.client.BlockColorMultipliers;
+import com.ferreusveritas.dynamictrees.client.FoliageColorCache;
 import com.ferreusveritas.dynamictrees.client.QuadManipulator;
 import com.ferreusveritas.dynamictrees.client.TextureUtils.PixelBuffer;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.event.BlockBreakAnimationClientHandler;
+import com.ferreusveritas.dynamictrees.event.LingeringEffectClientHandler;
 import com.ferreusveritas.dynamictrees.event.ModelBakeEventListener;
 import com.ferreusveritas.dynamictrees.event.TextureGenerationHandler;
 import com.ferreusveritas.dynamictrees.items.DendroPotion;
@@ -223,7 +225,7 @@ public class ClientProxy extends CommonProxy {
 		//Register GrowingLeavesBlocks Colorizers
 		for (BlockDynamicLeaves leaves : LeavesPaging.getLeavesMapForModId(ModConstants.MODID).values()) {
 			ModelHelper.regColorHandler(leaves, (state, worldIn, pos, tintIndex) ->
-			TreeHelper.isLeaves(state.getBlock()) ? ((BlockDynamicLeaves) state.getBlock()).getProperties(state).foliageColorMultiplier(state, worldIn, pos) : magenta
+			TreeHelper.isLeaves(state.getBlock()) ? FoliageColorCache.getColor(((BlockDynamicLeaves) state.getBlock()).getProperties(state), state, worldIn, pos) : magenta
 					);
 		}
 		
@@ -237,6 +239,8 @@ public class ClientProxy extends CommonProxy {
 	
 	public void registerClientEventHandlers() {
 		MinecraftForge.EVENT_BUS.register(new ModelBakeEventListener());
+		MinecraftForge.EVENT_BUS.register(new LingeringEffectClientHandler());
+		MinecraftForge.EVENT_BUS.register(new FoliageColorCache());
 		MinecraftForge.EVENT_BUS.register(TextureGenerationHandler.class);
 	}
 	
@@ -246,7 +250,12 @@ public class ClientProxy extends CommonProxy {
 	
 	@Override
 	public int getFoliageColor(ILeavesProperties leavesProperties, World world, IBlockState blockState, BlockPos pos) {
-		return leavesProperties.foliageColorMultiplier(blockState, world, pos);
+		return FoliageColorCache.getColor(leavesProperties, blockState, world, pos);
+	}
+	
+	@Override
+	public World getClientWorld() {
+		return Minecraft.getMinecraft().world;
 	}
 	
 	///////////////////////////////////////////
@@ -11,6 +11,9 @@ import com.ferreusveritas.dynamictrees.blocks.MimicProperty;
 import com.ferreusveritas.dynamictrees.cells.CellKits;
 import com.ferreusveritas.dynamictrees.event.*;
 import com.ferreusveritas.dynamictrees.growthlogic.GrowthLogicKits;
+import com.ferreusveritas.dynamictrees.systems.speciespalette.SpeciesPalette;
+import com.ferreusveritas.dynamictrees.systems.substances.LingeringEffectScheduler;
+import com.ferreusveritas.dynamictrees.systems.substances.SubstanceGrowth;
 import com.ferreusveritas.dynamictrees.worldgen.TreeGenCancelEventHandler;
 import com.ferreusveritas.dynamictrees.worldgen.TreeGenerator;
 import com.ferreusveritas.dynamictrees.worldgen.WorldGeneratorTrees;
@@ -37,11 +40,15 @@ public class CommonProxy {
 		TreeGenerator.preInit();//Create the generator
 
 		ModTileEntities.preInit();
+		SpeciesPalette.registerNetwork();
+		SpeciesPalette.registerCapability();
 
 		ModBlocks.preInit();
 		ModItems.preInit();
 		ModTrees.preInit();
 
+		LingeringEffectScheduler.registerPersistentEffect("growth", SubstanceGrowth::new);
+
 		registerCommonEventHandlers();
 	}
 
@@ -71,6 +78,8 @@ public class CommonProxy {
 	public void registerCommonEventHandlers() {
 		//Common Events.. unused at the moment
 		MinecraftForge.EVENT_BUS.register(new CommonEventHandler());
+		MinecraftForge.EVENT_BUS.register(new RootIndexEventHandler());
+		MinecraftForge.EVENT_BUS.register(new SpeciesPaletteEventHandler());
 		if (ModConfigs.worldGen) {
 			MinecraftForge.EVENT_BUS.register(new DropEventHandler());
 		}
@@ -98,6 +107,13 @@ public class CommonProxy {
 		return 0x00FF00FF;//Magenta shading as error indicator
 	}
 
+	/**
+	 * @return The world the client is in or null on a dedicated server
+	 */
+	public World getClientWorld() {
+		return null;
+	}
+
 	///////////////////////////////////////////
 	// PARTICLES
 	///////////////////////////////////////////
@@ -0,0 +1,473 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch.BlockItemStack;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch.EnumDestroyMode;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeSpecies;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.trees.TreeFamily;
+import com.ferreusveritas.dynamictrees.util.BlockBounds;
+import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
+import com.ferreusveritas.dynamictrees.util.IVoxmap;
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Destroys a tree, or the part of it beyond a cut, over as many ticks as it takes.  Felling a huge tree in one go
+ * stalls the server tick so the destruction is split into bounded amounts of work.
+ * <p>
+ * The tree is analysed up front while it is intact, which encodes every branch with its connections, its volume and
+ * its endpoints straight into a {@link BranchDestructionData.Builder}.  The branches are then removed outward from the
+ * cut, the volume around the endpoints is searched for the endpoints of neighboring trees whose leaves must be spared
+ * and finally the leaves are removed.  Destroyed leaves and their drops are added to the builder as they go so the
+ * {@link BranchDestructionData} that's built at the end is the same as if the tree had been destroyed all at once.
+ * <p>
+ * Blocks are removed without notifying clients, exactly as before, so players see the whole tree until it falls once
+ * it's done.  The branches that a felling still has to remove are claimed so that other breaks leave them alone.  The
+ * leaves around the endpoints and the root are claimed as well so the half felled tree neither ages, decays nor grows
+ * while it's being felled.  Fellings still in progress are finished when the world saves so a half destroyed tree is
+ * never written to disk.
+ */
+public class StreamingFelling {
+
+	private enum Phase {
+		BRANCHES,
+		FIND_ENDS,
+		LEAVES,
+		DONE
+	}
+
+	private static final Map<World, List<StreamingFelling>> worldFellings = new HashMap<>();
+	private static final Map<World, Integer> worldBudgets = new HashMap<>();
+
+	private final World world;
+	private final BlockPos cutPos;
+	private final Species species;
+	private final EnumFacing cutDir;
+	private final EnumFacing toolDir;
+	private final BranchDestructionData.Builder destructionBuilder;
+	private final List<BlockPos> branches;//Absolute positions of the branches to remove in order from the cut outward
+	private final Set<BlockPos> claimed;
+	private final List<BlockPos> endPoints;
+	private final BlockBounds leavesArea;//Where the leaves of the felled part can be, null if there are none
+	private final BlockPos rootPos;
+	private final Map<BlockPos, IBlockState> destroyedLeaves;//Relative positions of the destroyed leaves, only for destroyLeaves
+
+	private final List<BlockItemStack> leavesDrops = new ArrayList<>();
+	private final ArrayList<ItemStack> dropList = new ArrayList<>();
+
+	private Phase phase = Phase.BRANCHES;
+	private int branchIndex = 0;
+	private IVoxmap leavesMap;
+	private Iterator<MutableBlockPos> findIterator;
+	private Iterator<Cell> leavesIterator;
+	private long workNanos = 0;
+	private Consumer<BranchDestructionData> onFelled;
+	private BranchDestructionData destructionData;
+
+	/**
+	 * Analyses the tree.  Nothing is destroyed until the felling is worked.
+	 *
+	 * @param world     The world
+	 * @param cutPos    The position of the branch being lobbed
+	 * @param toolDir   The face that was pounded on when breaking the block at cutPos
+	 * @param wholeTree Indicates if the whole tree should be destroyed or just the branch
+	 */
+	public StreamingFelling(World world, BlockPos cutPos, EnumFacing toolDir, boolean wholeTree) {
+		long start = System.nanoTime();
+
+		this.world = world;
+		this.cutPos = cutPos;
+		this.toolDir = toolDir;
+
+		IBlockState blockState = world.getBlockState(cutPos);
+		BlockBranch branch = TreeHelper.getBranch(blockState);
+
+		NodeSpecies nodeSpecies = new NodeSpecies();
+		MapSignal signal = branch.analyse(blockState, world, cutPos, null, new MapSignal(nodeSpecies));// Analyze entire tree network to find root node and species
+		this.species = nodeSpecies.getSpecies();//Get the species from the root node
+		this.cutDir = signal.localRootDir != null ? signal.localRootDir : EnumFacing.DOWN;
+
+		// Analyze only part of the tree beyond the break point.  Everything is encoded before anything is destroyed since
+		// the connections of each branch are read from its neighbors.
+		this.destructionBuilder = new BranchDestructionData.Builder(species, cutPos).setCutDir(cutDir).setToolDir(toolDir);
+		NodeNetVolume volumeSum = new NodeNetVolume();
+		NodeBranchCollector collector = new NodeBranchCollector(species, destructionBuilder);
+		branch.analyse(blockState, world, cutPos, wholeTree ? null : signal.localRootDir, new MapSignal(volumeSum, collector));
+
+		destructionBuilder.setWoodVolume(volumeSum.getVolume());
+		this.branches = collector.branches;
+		this.claimed = new HashSet<>(branches);
+		this.endPoints = collector.endPoints;
+		this.leavesArea = endPoints.isEmpty() ? null : new BlockBounds(endPoints).expand(3);
+		this.rootPos = signal.root;
+		this.destroyedLeaves = null;
+
+		workNanos += System.nanoTime() - start;
+	}
+
+	/**
+	 * Only removes the leaves around endpoints whose branches are already gone.
+	 */
+	private StreamingFelling(World world, BlockPos cutPos, Species species, List<BlockPos> endPoints, Map<BlockPos, IBlockState> destroyedLeaves) {
+		this.world = world;
+		this.cutPos = cutPos;
+		this.species = species;
+		this.cutDir = EnumFacing.DOWN;
+		this.toolDir = EnumFacing.DOWN;
+		this.destructionBuilder = new BranchDestructionData.Builder(species, cutPos);
+		this.branches = Collections.emptyList();
+		this.claimed = Collections.emptySet();
+		this.endPoints = endPoints;
+		this.leavesArea = null;
+		this.rootPos = null;
+		this.destroyedLeaves = destroyedLeaves;
+	}
+
+	/**
+	 * Destroys all of the leaves around the endpoints at once while leaving the leaves of other trees unharmed.  This is
+	 * the same leaf pass a felling does.
+	 *
+	 * @param world           The world
+	 * @param cutPos          The position of the block that was initially destroyed
+	 * @param species         The species of the tree that is being modified
+	 * @param endPoints       The absolute positions of the branch endpoints
+	 * @param destroyedLeaves A map for collecting the relative positions and blockstates of the destroyed leaves
+	 * @param drops           A list for collecting the ItemStacks and their positions relative to the cut position
+	 */
+	public static void destroyLeaves(World world, BlockPos cutPos, Species species, List<BlockPos> endPoints, Map<BlockPos, IBlockState> destroyedLeaves, List<BlockItemStack> drops) {
+		StreamingFelling felling = new StreamingFelling(world, cutPos, species, endPoints, destroyedLeaves);
+		felling.finish();
+		drops.addAll(felling.leavesDrops);
+	}
+
+	/**
+	 * Encodes every branch into the builder and gathers the branches of the species' family in the order the network
+	 * was walked, which is outward from the cut, and the endpoints among them.
+	 */
+	private static class NodeBranchCollector implements INodeInspector {
+
+		private final TreeFamily family;
+		private final BranchDestructionData.Builder builder;
+		private final List<BlockPos> branches = new ArrayList<>();
+		private final List<BlockPos> endPoints = new ArrayList<>(32);
+
+		private NodeBranchCollector(Species species, BranchDestructionData.Builder builder) {
+			this.family = species.getFamily();
+			this.builder = builder;
+		}
+
+		@Override
+		public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			BlockBranch branch = TreeHelper.getBranch(blockState);
+
+			if (branch != null) {
+				builder.addBranch(pos, branch, blockState, world);
+				if (family == branch.getFamily()) {
+					if (branch.getRadius(blockState) == family.getPrimaryThickness()) {
+						endPoints.add(pos);
+						builder.addEndPoint(pos);
+					}
+					branches.add(pos);
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			return false;
+		}
+
+	}
+
+	///////////////////////////////////////////
+	// WORK
+	///////////////////////////////////////////
+
+	/**
+	 * Does up to a budget of work.  Every block read or written costs one.
+	 *
+	 * @param budget The most work to do
+	 * @return The budget left over
+	 */
+	public int work(int budget) {
+		long start = System.nanoTime();
+
+		while (budget > 0 && phase != Phase.DONE) {
+			switch (phase) {
+				case BRANCHES:
+					budget = removeBranches(budget);
+					break;
+				case FIND_ENDS:
+					budget = findOtherEnds(budget);
+					break;
+				case LEAVES:
+					budget = removeLeaves(budget);
+					break;
+				default:
+					break;
+			}
+		}
+
+		workNanos += System.nanoTime() - start;
+
+		if (phase == Phase.DONE && destructionData == null) {
+			destructionData = buildDestructionData();
+			if (onFelled != null) {
+				onFelled.accept(destructionData);
+			}
+		}
+
+		return budget;
+	}
+
+	private int removeBranches(int budget) {
+		TreeFamily family = species.getFamily();
+		BlockBranch.destroyMode = EnumDestroyMode.HARVEST;
+		while (budget > 0 && branchIndex < branches.size()) {
+			BlockPos pos = branches.get(branchIndex++);
+			claimed.remove(pos);
+			BlockBranch branch = TreeHelper.getBranch(world.getBlockState(pos));
+			if (branch != null && branch.getFamily() == family) {
+				world.setBlockState(pos, ModBlocks.blockStates.air, 0);//Destroy the branch without notifying the client
+			}
+			budget -= 2;
+		}
+		BlockBranch.destroyMode = EnumDestroyMode.SLOPPY;
+
+		if (branchIndex >= branches.size()) {
+			phase = !world.isRemote && !endPoints.isEmpty() ? Phase.FIND_ENDS : Phase.DONE;
+		}
+		return budget;
+	}
+
+	private int findOtherEnds(int budget) {
+		if (findIterator == null) {
+			//Make a bounding volume that holds all of the endpoints and expand the volume by 3 blocks for the leaves radius
+			BlockBounds bounds = new BlockBounds(endPoints).expand(3);
+
+			//Create a voxmap to store the leaf destruction map.  Only needs a single bit per voxel.
+			leavesMap = IVoxmap.createMask(bounds);
+
+			//For each of the endpoints add a 7x7 destruction volume around it
+			for (BlockPos endPos : endPoints) {
+				for (BlockPos leafPos : BlockPos.getAllInBoxMutable(endPos.add(-3, -3, -3), endPos.add(3, 3, 3))) {
+					leavesMap.setVoxel(leafPos, (byte) 1);//Flag this position for destruction
+				}
+				leavesMap.setVoxel(endPos, (byte) 0);//We know that the endpoint does not have a leaves block in it because it was a branch
+			}
+
+			//Expand the volume yet again by 3 blocks in all directions and search for other non-destroyed endpoints
+			findIterator = bounds.expand(3).iterate().iterator();
+			budget -= endPoints.size();
+		}
+
+		TreeFamily family = species.getFamily();
+		BlockBranch familyBranch = family.getDynamicBranch();
+		int primaryThickness = (int) family.getPrimaryThickness();
+
+		while (budget > 0 && findIterator.hasNext()) {
+			MutableBlockPos findPos = findIterator.next();
+			IBlockState findState = world.getBlockState(findPos);
+			if (familyBranch.getRadius(findState) == primaryThickness) { //Search for endpoints of the same tree family
+				Iterable<MutableBlockPos> leaves = species.getLeavesProperties().getCellKit().getLeafCluster().getAllNonZero();
+				for (MutableBlockPos leafpos : leaves) {
+					leavesMap.setVoxel(findPos.getX() + leafpos.getX(), findPos.getY() + leafpos.getY(), findPos.getZ() + leafpos.getZ(), (byte) 0);
+				}
+			}
+			budget--;
+		}
+
+		if (!findIterator.hasNext()) {
+			leavesIterator = leavesMap.getAllNonZeroCells().iterator();
+			phase = Phase.LEAVES;
+		}
+		return budget;
+	}
+
+	private int removeLeaves(int budget) {
+		//Destroy all family compatible leaves
+		while (budget > 0 && leavesIterator.hasNext()) {
+			MutableBlockPos pos = leavesIterator.next().getPos();
+			IBlockState state = world.getBlockState(pos);
+			if (species.isCompatibleLeaves(world, pos, state)) {
+				dropList.clear();
+				species.getTreeHarvestDrops(world, pos, dropList, world.rand);
+				world.setBlockState(pos, ModBlocks.blockStates.air, 0);//Covertly destroy the leaves on the server side
+				destructionBuilder.addLeaves(pos, state);
+				if (destroyedLeaves != null) {
+					destroyedLeaves.put(pos.subtract(cutPos), state);
+				}
+				if (!dropList.isEmpty()) {
+					BlockPos relPos = pos.subtract(cutPos);
+					dropList.forEach(i -> leavesDrops.add(new BlockItemStack(i, relPos)));
+				}
+				budget--;
+			}
+			budget--;
+		}
+
+		if (!leavesIterator.hasNext()) {
+			phase = Phase.DONE;
+		}
+		return budget;
+	}
+
+	/**
+	 * Does all of the remaining work at once.
+	 *
+	 * @return The record of everything that was destroyed
+	 */
+	public BranchDestructionData finish() {
+		work(Integer.MAX_VALUE);
+		return destructionData;
+	}
+
+	public boolean isDone() {
+		return phase == Phase.DONE;
+	}
+
+	/**
+	 * @return The nanoseconds spent analysing and destroying the tree so far
+	 */
+	public long getWorkNanos() {
+		return workNanos;
+	}
+
+	public Species getSpecies() {
+		return species;
+	}
+
+	/**
+	 * @return True if the position is a branch this felling has yet to remove
+	 */
+	public boolean isClaimed(BlockPos pos) {
+		return claimed.contains(pos);
+	}
+
+	/**
+	 * @return True if the position is the root of the tree or where the leaves being removed can be
+	 */
+	public boolean isFelling(BlockPos pos) {
+		return pos.equals(rootPos) || (leavesArea != null && leavesArea.inBounds(pos));
+	}
+
+	private BranchDestructionData buildDestructionData() {
+		return destructionBuilder.setLeavesDrops(leavesDrops).build();
+	}
+
+	///////////////////////////////////////////
+	// SCHEDULING
+	///////////////////////////////////////////
+
+	/**
+	 * Fells a tree, streaming the destruction over the following ticks if it's too big for what's left of this tick's
+	 * budget.
+	 *
+	 * @param felling  The analysed felling
+	 * @param onFelled Called with the destruction record once the tree is gone
+	 */
+	public static void start(StreamingFelling felling, Consumer<BranchDestructionData> onFelled) {
+		felling.onFelled = onFelled;
+		World world = felling.world;
+
+		if (ModConfigs.fellingBlocksPerTick <= 0 || world.isRemote) {
+			felling.finish();
+			return;
+		}
+
+		int budget = worldBudgets.getOrDefault(world, ModConfigs.fellingBlocksPerTick);
+		worldBudgets.put(world, felling.work(budget));
+
+		if (!felling.isDone()) {
+			worldFellings.computeIfAbsent(world, w -> new ArrayList<>()).add(felling);
+		}
+	}
+
+	/**
+	 * Works the fellings in progress with a fresh budget.  Called once per tick before any new breaks are processed.
+	 *
+	 * @return The number of blocks' worth of work done
+	 */
+	public static int process(World world) {
+		int budget = Math.max(ModConfigs.fellingBlocksPerTick, 0);
+		List<StreamingFelling> fellings = worldFellings.get(world);
+
+		if (fellings != null) {
+			Iterator<StreamingFelling> i = fellings.iterator();
+			while (i.hasNext() && budget > 0) {
+				StreamingFelling felling = i.next();
+				budget = felling.work(budget);
+				if (felling.isDone()) {
+					i.remove();
+				}
+			}
+		}
+
+		worldBudgets.put(world, budget);
+		return Math.max(ModConfigs.fellingBlocksPerTick, 0) - budget;
+	}
+
+	/**
+	 * @return True if a felling in progress has yet to remove the branch at the position
+	 */
+	public static boolean isClaimed(World world, BlockPos pos) {
+		List<StreamingFelling> fellings = worldFellings.get(world);
+		if (fellings != null) {
+			for (StreamingFelling felling : fellings) {
+				if (felling.isClaimed(pos)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if the position is the root or in the leaves of a tree that's being felled.  Leaves and roots there
+	 * must not age or grow until the felling is done.
+	 */
+	public static boolean isFelling(World world, BlockPos pos) {
+		List<StreamingFelling> fellings = worldFellings.get(world);
+		if (fellings != null) {
+			for (StreamingFelling felling : fellings) {
+				if (felling.isFelling(pos)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finishes every felling in progress.  Called when the world saves so no tree is written half destroyed.
+	 */
+	public static void finishAll(World world) {
+		List<StreamingFelling> fellings = worldFellings.remove(world);
+		if (fellings != null) {
+			fellings.forEach(StreamingFelling::finish);
+		}
+	}
+
+	public static void unloadWorld(World world) {
+		worldFellings.remove(world);
+		worldBudgets.remove(world);
+	}
+
+}
@@ -0,0 +1,200 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.blocks.BlockDynamicLeaves;
+import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import com.ferreusveritas.dynamictrees.trees.TreeFamily;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IBlockAccess;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dense table of what every block state is to a tree, indexed by block state id.  Each entry packs the kind of tree
+ * part, its radius and the index of a branch's family into a single int so the growth loops don't need to cast the
+ * block and read the state properties for every neighbor.
+ * <p>
+ * Layout from the low bits: kind(3), radius(5), analyse flag(1), family(10).  Index zero of the family table means
+ * none.
+ * <p>
+ * The table is built lazily from the block registry and must be invalidated whenever block ids are remapped or a
+ * branch is given a family.  States that aren't in the table are resolved directly so a stale or missing entry is only
+ * slower, never wrong for blocks that aren't tree parts.
+ */
+public class TreePartTable {
+
+	public static final int NONE = 0;
+	public static final int BRANCH = 1;
+	public static final int LEAVES = 2;
+	public static final int ROOTY = 3;
+	public static final int OTHER = 4;//Any other tree part like trunk shells, fruit and pods
+
+	private static final int RADIUS_SHIFT = 3;
+	private static final int ANALYSE_FLAG = 1 << 8;
+	private static final int FAMILY_SHIFT = 9;
+	private static final int MAX_INDEX = 1023;
+
+	private static class Table {
+
+		private final int[] entries;
+		private final TreeFamily[] families;
+
+		private Table(int[] entries, TreeFamily[] families) {
+			this.entries = entries;
+			this.families = families;
+		}
+
+	}
+
+	private static volatile Table table;
+
+	/**
+	 * Drops the table so that it's rebuilt on the next lookup.  Called when block ids are remapped and when a branch's
+	 * family changes.
+	 */
+	public static void invalidate() {
+		table = null;
+	}
+
+	private static Table getTable() {
+		Table current = table;
+		if (current == null) {
+			current = table = build();//Racing threads build identical tables so either one can be kept
+		}
+		return current;
+	}
+
+	private static Table build() {
+		int size = 0;
+		for (Block block : ForgeRegistries.BLOCKS) {
+			if (TreeHelper.isTreePart(block)) {
+				for (IBlockState state : block.getBlockState().getValidStates()) {
+					size = Math.max(size, Block.BLOCK_STATE_IDS.get(state) + 1);
+				}
+			}
+		}
+
+		int[] entries = new int[size];
+		List<TreeFamily> families = new ArrayList<>();
+		Map<TreeFamily, Integer> familyIndices = new IdentityHashMap<>();
+		families.add(null);
+
+		for (Block block : ForgeRegistries.BLOCKS) {
+			if (!TreeHelper.isTreePart(block)) {
+				continue;
+			}
+			ITreePart treePart = (ITreePart) block;
+			for (IBlockState state : block.getBlockState().getValidStates()) {
+				int id = Block.BLOCK_STATE_IDS.get(state);
+				if (id < 0) {
+					continue;
+				}
+
+				int kind = OTHER;
+				TreeFamily family = null;
+
+				if (block instanceof BlockBranch) {
+					kind = BRANCH;
+					family = ((BlockBranch) block).getFamily();
+				} else if (block instanceof BlockDynamicLeaves) {
+					kind = LEAVES;
+				} else if (block instanceof BlockRooty) {
+					kind = ROOTY;
+				}
+
+				int familyIndex = family != null ? familyIndices.computeIfAbsent(family, f -> {
+					families.add(f);
+					return families.size() - 1;
+				}) : 0;
+
+				//Anything that doesn't fit is left out of the table and resolved the slow way
+				if (familyIndex > MAX_INDEX) {
+					continue;
+				}
+
+				int radius = MathHelper.clamp(treePart.getRadius(state), 0, 31);
+				int analyse = treePart.shouldAnalyse() ? ANALYSE_FLAG : 0;
+				entries[id] = kind | radius << RADIUS_SHIFT | analyse | familyIndex << FAMILY_SHIFT;
+			}
+		}
+
+		return new Table(entries, families.toArray(new TreeFamily[0]));
+	}
+
+	/**
+	 * @return The packed entry for the state or zero if it's not a tree part
+	 */
+	public static int lookup(IBlockState state) {
+		int[] entries = getTable().entries;
+		int id = Block.BLOCK_STATE_IDS.get(state);
+		if (id >= 0 && id < entries.length) {
+			int entry = entries[id];
+			if (entry != NONE || !TreeHelper.isTreePart(state)) {
+				return entry;
+			}
+		}
+		return lookupDirect(state);
+	}
+
+	/**
+	 * Resolves an entry without the table for states that were registered after it was built.
+	 */
+	private static int lookupDirect(IBlockState state) {
+		Block block = state.getBlock();
+		if (!TreeHelper.isTreePart(block)) {
+			return NONE;
+		}
+		int kind = block instanceof BlockBranch ? BRANCH : block instanceof BlockDynamicLeaves ? LEAVES : block instanceof BlockRooty ? ROOTY : OTHER;
+		ITreePart treePart = (ITreePart) block;
+		int radius = MathHelper.clamp(treePart.getRadius(state), 0, 31);
+		int analyse = treePart.shouldAnalyse() ? ANALYSE_FLAG : 0;
+		return kind | radius << RADIUS_SHIFT | analyse;
+	}
+
+	public static int getKind(int entry) {
+		return entry & 7;
+	}
+
+	public static int getRadius(int entry) {
+		return (entry >>> RADIUS_SHIFT) & 31;
+	}
+
+	public static boolean shouldAnalyse(int entry) {
+		return (entry & ANALYSE_FLAG) != 0;
+	}
+
+	/**
+	 * @param entry The entry looked up for the state
+	 * @param state The state itself, used when the entry was resolved without the table
+	 * @return The family of a branch entry or null if it's not a branch
+	 */
+	public static TreeFamily getFamily(int entry, IBlockState state) {
+		if (getKind(entry) != BRANCH) {
+			return null;
+		}
+		int index = (entry >>> FAMILY_SHIFT) & MAX_INDEX;
+		return index != 0 ? getTable().families[index] : ((BlockBranch) state.getBlock()).getFamily();
+	}
+
+	public static int getKind(IBlockState state) {
+		return getKind(lookup(state));
+	}
+
+	public static int getRadius(IBlockState state) {
+		return getRadius(lookup(state));
+	}
+
+	public static int getRadius(IBlockAccess access, BlockPos pos) {
+		return getRadius(lookup(access.getBlockState(pos)));
+	}
+
+}
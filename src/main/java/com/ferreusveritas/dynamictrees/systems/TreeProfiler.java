@@ -0,0 +1,229 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.blocks.LeavesCollision;
+import com.ferreusveritas.dynamictrees.trees.Species;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lightweight always-on counters for the expensive parts of the mod.  Each subsystem, and each species within it,
+ * records how many times it ran, the total and worst time taken and how much work it did.  The work is counted in a
+ * unit picked per subsystem, see {@link Subsystem#getUnit()}, so it only compares within a subsystem.
+ * <p>
+ * Sessions are controlled by the /dt profile command.  Starting a session resets the counters, stopping it freezes
+ * a snapshot of them and dumping writes a report.  Only meant to be called from the server thread.
+ */
+public class TreeProfiler {
+
+	public enum Subsystem {
+		ROOTY_UPDATE("BlockRooty.updateTree", "growth pulses"),
+		LEAVES_AGE("BlockDynamicLeaves.age", "leaves aged"),
+		GENERATE("Species.generate", "trees generated"),
+		FELLING("BlockBranch.futureBreak", "blocks destroyed"),
+		FUTURE_BREAK("FutureBreak.process", "trees felled");
+
+		private final String label;
+		private final String unit;
+
+		Subsystem(String label, String unit) {
+			this.label = label;
+			this.unit = unit;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		/**
+		 * @return What the work recorded for this subsystem counts
+		 */
+		public String getUnit() {
+			return unit;
+		}
+	}
+
+	public static class Counter {
+
+		private long calls;
+		private long totalNanos;
+		private long maxNanos;
+		private long work;
+
+		public void record(long nanos, int work) {
+			this.calls++;
+			this.totalNanos += nanos;
+			this.maxNanos = Math.max(maxNanos, nanos);
+			this.work += work;
+		}
+
+		public long getCalls() {
+			return calls;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		public long getWork() {
+			return work;
+		}
+
+		public Counter copy() {
+			Counter copy = new Counter();
+			copy.calls = calls;
+			copy.totalNanos = totalNanos;
+			copy.maxNanos = maxNanos;
+			copy.work = work;
+			return copy;
+		}
+
+	}
+
+	private static final Subsystem[] SUBSYSTEMS = Subsystem.values();
+
+	private static Counter[] subsystemCounters = newCounters();
+	private static Map<Species, Counter[]> speciesCounters = new IdentityHashMap<>();
+	private static long sessionStart = System.nanoTime();
+	private static long sessionEnd = -1;//Set while the session is stopped
+
+	//Snapshot taken when the session was stopped
+	private static Counter[] frozenSubsystemCounters;
+	private static Map<Species, Counter[]> frozenSpeciesCounters;
+	private static Map<String, Long> frozenLeavesCollisionCounters;
+
+	private static Counter[] newCounters() {
+		Counter[] counters = new Counter[SUBSYSTEMS.length];
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = new Counter();
+		}
+		return counters;
+	}
+
+	/**
+	 * @return A timestamp to hand back to {@link #end} once the work is done
+	 */
+	public static long begin() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records a completed unit of work.
+	 *
+	 * @param subsystem The subsystem that did the work
+	 * @param species   The species the work was done for or null if it's not known
+	 * @param begin     The timestamp returned from {@link #begin()}
+	 * @param work      The amount of work done, counted in the subsystem's {@link Subsystem#getUnit() unit}
+	 */
+	public static void end(Subsystem subsystem, Species species, long begin, int work) {
+		long nanos = System.nanoTime() - begin;
+		subsystemCounters[subsystem.ordinal()].record(nanos, work);
+		if (species != null && species.isValid()) {
+			speciesCounters.computeIfAbsent(species, s -> newCounters())[subsystem.ordinal()].record(nanos, work);
+		}
+	}
+
+	public static void start() {
+		subsystemCounters = newCounters();
+		speciesCounters = new IdentityHashMap<>();
+		frozenSubsystemCounters = null;
+		frozenSpeciesCounters = null;
+		frozenLeavesCollisionCounters = null;
+		LeavesCollision.resetCounters();
+		sessionStart = System.nanoTime();
+		sessionEnd = -1;
+	}
+
+	public static void stop() {
+		frozenSubsystemCounters = copy(subsystemCounters);
+		frozenSpeciesCounters = new IdentityHashMap<>();
+		speciesCounters.forEach((species, counters) -> frozenSpeciesCounters.put(species, copy(counters)));
+		frozenLeavesCollisionCounters = LeavesCollision.getCounters();
+		sessionEnd = System.nanoTime();
+	}
+
+	public static boolean isStopped() {
+		return sessionEnd != -1;
+	}
+
+	private static Counter[] copy(Counter[] counters) {
+		Counter[] copy = new Counter[counters.length];
+		for (int i = 0; i < counters.length; i++) {
+			copy[i] = counters[i].copy();
+		}
+		return copy;
+	}
+
+	/**
+	 * Writes a report of the stopped session, or of the running session so far.
+	 *
+	 * @param file The report file to write
+	 */
+	public static void dump(File file) throws IOException {
+		boolean stopped = isStopped();
+		Counter[] subsystems = stopped ? frozenSubsystemCounters : subsystemCounters;
+		Map<Species, Counter[]> species = stopped ? frozenSpeciesCounters : speciesCounters;
+		Map<String, Long> leavesCollision = stopped ? frozenLeavesCollisionCounters : LeavesCollision.getCounters();
+		long duration = (stopped ? sessionEnd : System.nanoTime()) - sessionStart;
+
+		File parent = file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Couldn't create directory " + parent);
+		}
+
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			out.printf("Dynamic Trees profile over %.1f seconds%s%n", duration / 1.0e9, stopped ? "" : " (still running)");
+			out.println("Subsystems overlap: FutureBreak.process includes the felling it triggers.");
+			out.println("Work is counted per subsystem in:");
+			for (Subsystem subsystem : SUBSYSTEMS) {
+				out.printf("  %-38s %s%n", subsystem.getLabel(), subsystem.getUnit());
+			}
+			out.println();
+
+			out.println("== Subsystems ==");
+			printHeader(out);
+			for (Subsystem subsystem : SUBSYSTEMS) {
+				printRow(out, subsystem.getLabel(), subsystems[subsystem.ordinal()], duration);
+			}
+
+			//Species are listed from most to least expensive for each subsystem
+			for (Subsystem subsystem : SUBSYSTEMS) {
+				List<Map.Entry<Species, Counter[]>> rows = new ArrayList<>(species.entrySet());
+				rows.removeIf(e -> e.getValue()[subsystem.ordinal()].getCalls() == 0);
+				if (!rows.isEmpty()) {
+					rows.sort(Comparator.comparingLong((Map.Entry<Species, Counter[]> e) -> e.getValue()[subsystem.ordinal()].getTotalNanos()).reversed());
+					out.println();
+					out.println("== " + subsystem.getLabel() + " by species (work in " + subsystem.getUnit() + ") ==");
+					printHeader(out);
+					for (Map.Entry<Species, Counter[]> entry : rows) {
+						printRow(out, entry.getKey().toString(), entry.getValue()[subsystem.ordinal()], duration);
+					}
+				}
+			}
+
+			//Leaves collision is too frequent to time so only the calls are counted
+			out.println();
+			out.println("== Leaves collision calls ==");
+			leavesCollision.forEach((name, calls) -> out.printf("%-40s %12d%n", name, calls));
+		}
+	}
+
+	private static void printHeader(PrintWriter out) {
+		out.printf("%-40s %12s %12s %10s %10s %12s %8s%n", "Name", "Calls", "Total ms", "Avg us", "Max us", "Work", "Time %");
+	}
+
+	private static void printRow(PrintWriter out, String name, Counter counter, long duration) {
+		long calls = counter.getCalls();
+		double avgMicros = calls > 0 ? counter.getTotalNanos() / 1.0e3 / calls : 0;
+		double share = duration > 0 ? counter.getTotalNanos() * 100.0 / duration : 0;
+		out.printf("%-40s %12d %12.2f %10.2f %10.2f %12d %8.3f%n", name, calls, counter.getTotalNanos() / 1.0e6, avgMicros, counter.getMaxNanos() / 1.0e3, counter.getWork(), share);
+	}
+
+}
@@ -8,6 +8,7 @@ import com.ferreusveritas.dynamictrees.api.network.MapSignal;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeFindEnds;
 import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.*;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
@@ -47,12 +48,12 @@ public class FeatureGenPodzol implements IPostGrowFeature {
 							continue;
 						} else if (block instanceof BlockFlower || block instanceof BlockTallGrass || block instanceof BlockDoublePlant) {//Kill Plants
 							if (world.getLightFor(EnumSkyBlock.SKY, offPos) <= darkThreshold) {
-								world.setBlockToAir(pos);
+								WorldGenBlockWriter.setBlockToAir(world, pos);
 							}
 							continue;
 						} else if (block == Blocks.DIRT || block == Blocks.GRASS) {//Convert grass or dirt to podzol
 							if (world.getLightFor(EnumSkyBlock.SKY, offPos.up()) <= darkThreshold) {
-								world.setBlockState(offPos, ModBlocks.blockStates.podzol);
+								WorldGenBlockWriter.setBlockState(world, offPos, ModBlocks.blockStates.podzol, 3);
 							} else {
 								spreadPodzol(world, pos);
 							}
@@ -75,7 +76,7 @@ public class FeatureGenPodzol implements IPostGrowFeature {
 			Podzolish += (testBlock == Blocks.DIRT) && (world.getBlockState(deltaPos).getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.PODZOL) ? 1 : 0;
 			Podzolish += testBlock == ModBlocks.blockRootyDirt ? 1 : 0;
 			if (Podzolish >= 3) {
-				world.setBlockState(pos, ModBlocks.blockStates.podzol);
+				WorldGenBlockWriter.setBlockState(world, pos, ModBlocks.blockStates.podzol, 3);
 				break;
 			}
 		}
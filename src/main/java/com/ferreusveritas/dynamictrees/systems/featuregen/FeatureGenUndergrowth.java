@@ -5,6 +5,7 @@ import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.util.CoordUtils;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.BlockOldLeaf;
 import net.minecraft.block.BlockOldLog;
 import net.minecraft.block.BlockPlanks;
@@ -41,7 +42,7 @@ public class FeatureGenUndergrowth implements IPostGenFeature {
 
 				if (species.isAcceptableSoil(world, pos, soilBlockState)) {
 					int type = world.rand.nextInt(2);
-					world.setBlockState(pos, Blocks.LOG.getDefaultState().withProperty(BlockOldLog.VARIANT, type == 0 ? BlockPlanks.EnumType.OAK : BlockPlanks.EnumType.JUNGLE));
+					WorldGenBlockWriter.setBlockState(world, pos, Blocks.LOG.getDefaultState().withProperty(BlockOldLog.VARIANT, type == 0 ? BlockPlanks.EnumType.OAK : BlockPlanks.EnumType.JUNGLE), 3);
 					pos = pos.up(world.rand.nextInt(3));
 
 					IBlockState leavesState = Blocks.LEAVES.getDefaultState()
@@ -53,7 +54,7 @@ public class FeatureGenUndergrowth implements IPostGenFeature {
 					for (MutableBlockPos dPos : leafMap.getAllNonZero()) {
 						leafPos.setPos(pos.getX() + dPos.getX(), pos.getY() + dPos.getY(), pos.getZ() + dPos.getZ());
 						if (safeBounds.inBounds(leafPos, true) && (CoordUtils.coordHashCode(leafPos, 0) % 5) != 0 && world.getBlockState(leafPos).getBlock().isReplaceable(world, leafPos)) {
-							world.setBlockState(leafPos, leavesState);
+							WorldGenBlockWriter.setBlockState(world, leafPos, leavesState, 3);
 						}
 					}
 				}
@@ -5,6 +5,7 @@ import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.util.CoordUtils;
 import com.ferreusveritas.dynamictrees.util.LazyValue;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockVine;
 import net.minecraft.block.properties.PropertyBool;
@@ -87,7 +88,7 @@ public class FeatureGenVine implements IPostGenFeature {
 					MutableBlockPos mPos = new MutableBlockPos(vinePos);
 					for (int i = 0; i < len; i++) {
 						if (world.isAirBlock(mPos)) {
-							world.setBlockState(mPos, vineState);
+							WorldGenBlockWriter.setBlockState(world, mPos, vineState, 3);
 							mPos.setY(mPos.getY() - 1);
 						} else {
 							break;
@@ -0,0 +1,176 @@
+package com.ferreusveritas.dynamictrees.systems.rootindex;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.TreeRegistry;
+import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.*;
+
+/**
+ * The rooty blocks in a single chunk along with the species and trunk radius last seen for each one.
+ */
+public class ChunkRootIndex {
+
+	public static class Root {
+
+		private final BlockPos pos;
+		private Species species;//Null until known
+		private int size;//Trunk radius when the tree last updated or 0 if it hasn't yet
+
+		public Root(BlockPos pos, Species species, int size) {
+			this.pos = pos;
+			this.species = species;
+			this.size = size;
+		}
+
+		public BlockPos getPos() {
+			return pos;
+		}
+
+		/**
+		 * @return The species last recorded for this root.  Asks the rooty block if it hasn't been recorded yet.
+		 */
+		public Species getSpecies(World world) {
+			if (species == null) {
+				IBlockState state = world.getBlockState(pos);
+				BlockRooty rooty = TreeHelper.getRooty(state);
+				if (rooty == null) {
+					return Species.NULLSPECIES;
+				}
+				species = rooty.getSpecies(state, world, pos);
+			}
+			return species;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+	}
+
+	private final Map<BlockPos, Root> roots = new LinkedHashMap<>();
+	private boolean complete;//False for chunks saved before the index existed until they are rebuilt
+
+	public ChunkRootIndex(boolean complete) {
+		this.complete = complete;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	public boolean isEmpty() {
+		return roots.isEmpty();
+	}
+
+	public Collection<Root> getRoots() {
+		return Collections.unmodifiableCollection(roots.values());
+	}
+
+	public void add(BlockPos pos, Species species) {
+		roots.put(pos.toImmutable(), new Root(pos.toImmutable(), species, 0));
+	}
+
+	public void remove(BlockPos pos) {
+		roots.remove(pos);
+	}
+
+	public void update(BlockPos pos, Species species, int size) {
+		Root root = roots.get(pos);
+		if (root != null) {
+			root.species = species;
+			root.size = size;
+		} else {
+			roots.put(pos.toImmutable(), new Root(pos.toImmutable(), species, size));
+		}
+	}
+
+	/**
+	 * Finds the rooty blocks by scanning the whole chunk.  Only needed once for chunks saved without an index.
+	 */
+	public void rebuild(Chunk chunk) {
+		roots.clear();
+		int baseX = chunk.x << 4;
+		int baseZ = chunk.z << 4;
+		for (ExtendedBlockStorage storage : chunk.getBlockStorageArray()) {
+			if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+				continue;
+			}
+			for (int y = 0; y < 16; y++) {
+				for (int z = 0; z < 16; z++) {
+					for (int x = 0; x < 16; x++) {
+						if (TreeHelper.isRooty(storage.get(x, y, z))) {
+							BlockPos pos = new BlockPos(baseX + x, storage.getYLocation() + y, baseZ + z);
+							roots.put(pos, new Root(pos, null, 0));
+						}
+					}
+				}
+			}
+		}
+		complete = true;
+	}
+
+	///////////////////////////////////////////
+	// NBT
+	///////////////////////////////////////////
+
+	/**
+	 * Each root is stored as three ints.  The position within the chunk, an index into the species names and the size.
+	 */
+	public NBTTagCompound writeToNBT() {
+		NBTTagCompound tag = new NBTTagCompound();
+		NBTTagList names = new NBTTagList();
+		Map<Species, Integer> palette = new HashMap<>();
+		int[] data = new int[roots.size() * 3];
+		int i = 0;
+
+		for (Root root : roots.values()) {
+			int speciesIndex = -1;
+			if (root.species != null) {
+				speciesIndex = palette.computeIfAbsent(root.species, species -> {
+					names.appendTag(new NBTTagString(species.getRegistryName().toString()));
+					return names.tagCount() - 1;
+				});
+			}
+			BlockPos pos = root.pos;
+			data[i++] = (pos.getY() << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+			data[i++] = speciesIndex;
+			data[i++] = root.size;
+		}
+
+		tag.setIntArray("roots", data);
+		tag.setTag("species", names);
+		return tag;
+	}
+
+	public static ChunkRootIndex readFromNBT(NBTTagCompound tag, int chunkX, int chunkZ) {
+		ChunkRootIndex index = new ChunkRootIndex(true);
+		NBTTagList names = tag.getTagList("species", 8);
+		Species[] palette = new Species[names.tagCount()];
+		for (int n = 0; n < palette.length; n++) {
+			Species species = TreeRegistry.findSpecies(names.getStringTagAt(n));
+			palette[n] = species.isValid() ? species : null;//Species from removed mods are looked up again from the block
+		}
+
+		int[] data = tag.getIntArray("roots");
+		for (int i = 0; i + 2 < data.length; i += 3) {
+			int packed = data[i];
+			BlockPos pos = new BlockPos((chunkX << 4) | (packed & 15), packed >>> 8, (chunkZ << 4) | ((packed >> 4) & 15));
+			int speciesIndex = data[i + 1];
+			Species species = speciesIndex >= 0 && speciesIndex < palette.length ? palette[speciesIndex] : null;
+			index.roots.put(pos, new Root(pos, species, data[i + 2]));
+		}
+
+		return index;
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.ferreusveritas.dynamictrees.systems.rootindex;
+
+import com.ferreusveritas.dynamictrees.systems.rootindex.ChunkRootIndex.Root;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of where the rooty blocks are in every loaded chunk so that trees can be listed without scanning blocks.
+ * The index for each chunk is saved in the chunk data next to the Poisson disc data.
+ * <p>
+ * Rooty blocks add and remove themselves as they are placed and broken.  Species and size are filled in when a tree
+ * is planted, generated or updated.  Server side only.
+ */
+public class RootIndex {
+
+	public static final String NBT_KEY = "DTRI";//Dynamic Trees Root Index
+
+	private static final Map<Integer, Map<ChunkPos, ChunkRootIndex>> worlds = new HashMap<>();
+
+	private static Map<ChunkPos, ChunkRootIndex> getWorldIndex(World world) {
+		return worlds.computeIfAbsent(world.provider.getDimension(), d -> new HashMap<>());
+	}
+
+	/**
+	 * Chunks that weren't loaded from disk are new so their index starts out complete
+	 */
+	private static ChunkRootIndex getChunkIndex(World world, BlockPos pos) {
+		return getWorldIndex(world).computeIfAbsent(new ChunkPos(pos), c -> new ChunkRootIndex(true));
+	}
+
+	/**
+	 * @param species The species of the tree or null if it isn't known yet
+	 */
+	public static void addRoot(World world, BlockPos rootPos, Species species) {
+		if (!world.isRemote) {
+			getChunkIndex(world, rootPos).add(rootPos, species);
+		}
+	}
+
+	public static void removeRoot(World world, BlockPos rootPos) {
+		if (!world.isRemote) {
+			ChunkRootIndex index = getWorldIndex(world).get(new ChunkPos(rootPos));
+			if (index != null) {
+				index.remove(rootPos);
+			}
+		}
+	}
+
+	/**
+	 * @param size The radius of the trunk
+	 */
+	public static void updateRoot(World world, BlockPos rootPos, Species species, int size) {
+		if (!world.isRemote) {
+			getChunkIndex(world, rootPos).update(rootPos, species, size);
+		}
+	}
+
+	/**
+	 * Lists the rooty blocks in a loaded chunk.  Chunks saved before the index existed are scanned the first time.
+	 *
+	 * @return The roots in the chunk or an empty collection if the chunk isn't loaded
+	 */
+	public static Collection<Root> getRoots(World world, int chunkX, int chunkZ) {
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+		if (chunk == null || world.isRemote) {
+			return Collections.emptyList();
+		}
+		ChunkRootIndex index = getWorldIndex(world).computeIfAbsent(chunk.getPos(), c -> new ChunkRootIndex(true));
+		if (!index.isComplete()) {
+			index.rebuild(chunk);
+		}
+		return index.getRoots();
+	}
+
+	///////////////////////////////////////////
+	// PERSISTENCE
+	///////////////////////////////////////////
+
+	public static void loadChunk(World world, Chunk chunk, NBTTagCompound chunkData) {
+		ChunkRootIndex index = chunkData.hasKey(NBT_KEY, 10) ? ChunkRootIndex.readFromNBT(chunkData.getCompoundTag(NBT_KEY), chunk.x, chunk.z) : new ChunkRootIndex(false);
+		getWorldIndex(world).put(chunk.getPos(), index);
+	}
+
+	public static void saveChunk(World world, Chunk chunk, NBTTagCompound chunkData) {
+		Map<ChunkPos, ChunkRootIndex> worldIndex = getWorldIndex(world);
+		ChunkRootIndex index = worldIndex.get(chunk.getPos());
+		if (index != null && index.isComplete()) {//Incomplete indexes are left out so they're rebuilt next time
+			chunkData.setTag(NBT_KEY, index.writeToNBT());
+		}
+
+		//Chunks are saved after they unload so this is the last chance to drop them
+		if (!chunk.isLoaded()) {
+			worldIndex.remove(chunk.getPos());
+		}
+	}
+
+	public static void unloadWorld(World world) {
+		worlds.remove(world.provider.getDimension());
+	}
+
+}
@@ -0,0 +1,660 @@
+package com.ferreusveritas.dynamictrees.systems.scanner;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import com.ferreusveritas.dynamictrees.systems.scanner.TreeIndexEntry.Status;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Finds dynamic trees by reading Anvil region files directly instead of loading chunks.  Region files are processed in
+ * parallel and each one is memory-mapped while it's scanned.
+ * <p>
+ * Every branch network in a region is traced from the raw block ids using a {@link TreeScanTable} and reported as a
+ * {@link TreeIndexEntry}.  Networks are only traced within a region so a rootless network touching the region edge is
+ * reported as {@link Status#PARTIAL} rather than as an orphan.
+ * <p>
+ * Purging rewrites the region files and must only be done while the world is not loaded.  Purged branches are simply
+ * replaced with air.  The leaves and rooty blocks left behind decay by themselves once the chunk ticks.
+ */
+public class RegionTreeScanner {
+
+	private static final int SECTOR = 4096;
+	private static final int CHUNKS = 1024;
+	private static final Pattern REGION_NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+	//Blocks in a region are keyed by their local coordinates.  9 bits for x and z and 8 bits for y.
+	private static final int X_MASK = 0x1FF;
+	private static final int Z_SHIFT = 9;
+	private static final int Y_SHIFT = 18;
+	private static final int VISITED = 1 << 31;
+
+	private final File regionDir;
+	private final TreeScanTable table;
+
+	public RegionTreeScanner(File regionDir, TreeScanTable table) {
+		this.regionDir = regionDir;
+		this.table = table;
+	}
+
+	public File[] getRegionFiles() {
+		File[] files = regionDir.listFiles((dir, name) -> REGION_NAME.matcher(name).matches());
+		return files != null ? files : new File[0];
+	}
+
+	/**
+	 * Indexes every tree in the region folder.  The region files are only read.
+	 *
+	 * @param threads The number of regions to scan at once
+	 */
+	public List<TreeIndexEntry> scan(int threads) throws IOException {
+		List<TreeIndexEntry> entries = new ArrayList<>();
+		for (List<TreeIndexEntry> regionEntries : forEachRegion(threads, file -> process(file, null))) {
+			entries.addAll(regionEntries);
+		}
+		return entries;
+	}
+
+	/**
+	 * Removes the branches of every tree accepted by the filter.  Only run this while the world is not loaded.
+	 *
+	 * @param filter  Selects the trees to purge
+	 * @param threads The number of regions to process at once
+	 * @return The trees that were purged
+	 */
+	public List<TreeIndexEntry> purge(Predicate<TreeIndexEntry> filter, int threads) throws IOException {
+		List<TreeIndexEntry> entries = new ArrayList<>();
+		for (List<TreeIndexEntry> regionEntries : forEachRegion(threads, file -> process(file, filter))) {
+			regionEntries.stream().filter(filter).forEach(entries::add);
+		}
+		return entries;
+	}
+
+	private interface RegionTask<T> {
+		T process(File regionFile) throws IOException;
+	}
+
+	private <T> List<T> forEachRegion(int threads, RegionTask<T> task) throws IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (File file : getRegionFiles()) {
+				futures.add(pool.submit(() -> task.process(file)));
+			}
+			List<T> results = new ArrayList<>(futures.size());
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Tree scan interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Tree scan failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	///////////////////////////////////////////
+	// REGION PROCESSING
+	///////////////////////////////////////////
+
+	private static class Region {
+
+		final File file;
+		final int baseX;
+		final int baseZ;
+		final IntIntMap blocks = new IntIntMap();//Local key -> kind | family << 2
+		final Map<Integer, String> rootSpecies = new HashMap<>();//Species stored in rooty tile entities
+		final NBTTagCompound[] chunks;//Chunks holding tree blocks.  Only kept when purging.
+
+		Region(File file, int regionX, int regionZ, boolean keepChunks) {
+			this.file = file;
+			this.baseX = regionX << 9;
+			this.baseZ = regionZ << 9;
+			this.chunks = keepChunks ? new NBTTagCompound[CHUNKS] : null;
+		}
+
+	}
+
+	private List<TreeIndexEntry> process(File file, Predicate<TreeIndexEntry> purgeFilter) {
+		try {
+			Region region = load(file, purgeFilter != null);
+			IntList removals = purgeFilter != null ? new IntList() : null;
+			List<TreeIndexEntry> entries = analyse(region, purgeFilter, removals);
+			if (removals != null && removals.size > 0) {
+				save(region, removals);
+			}
+			return entries;
+		} catch (IOException e) {
+			warn("Skipping region " + file.getName() + ": " + e.getMessage());
+			return Collections.emptyList();
+		}
+	}
+
+	private Region load(File file, boolean keepChunks) throws IOException {
+		Matcher matcher = REGION_NAME.matcher(file.getName());
+		if (!matcher.matches()) {
+			throw new IOException("Not a region file");
+		}
+		Region region = new Region(file, Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), keepChunks);
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() < 2 * SECTOR) {
+				return region;//No chunks have been saved
+			}
+
+			//Files that are about to be rewritten are read into memory so that no mapping is left open on them
+			ByteBuffer buffer;
+			if (keepChunks) {
+				buffer = ByteBuffer.allocate((int) channel.size());
+				while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				}
+				buffer.flip();
+			} else {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+
+			for (int slot = 0; slot < CHUNKS; slot++) {
+				int location = buffer.getInt(slot * 4);
+				int offset = (location >>> 8) * SECTOR;
+				if (location == 0 || offset + 5 > buffer.limit()) {
+					continue;
+				}
+				int length = buffer.getInt(offset);
+				if (length <= 1 || offset + 4 + length > buffer.limit()) {
+					continue;
+				}
+				try {
+					NBTTagCompound chunk = readChunk(buffer, offset + 5, length - 1, buffer.get(offset + 4));
+					if (loadChunk(region, slot, chunk) && keepChunks) {
+						region.chunks[slot] = chunk;
+					}
+				} catch (IOException e) {
+					warn("Skipping corrupt chunk " + slot + " in " + file.getName() + ": " + e.getMessage());
+				}
+			}
+		}
+
+		return region;
+	}
+
+	private static NBTTagCompound readChunk(ByteBuffer buffer, int offset, int length, byte compression) throws IOException {
+		ByteBuffer data = buffer.duplicate();
+		data.position(offset);
+		data.limit(offset + length);
+		InputStream in = new ByteBufferInputStream(data);
+		switch (compression) {
+			case 1:
+				in = new GZIPInputStream(in);
+				break;
+			case 2:
+				in = new InflaterInputStream(in);
+				break;
+			default:
+				throw new IOException("Unknown compression " + compression);
+		}
+		try (DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in))) {
+			return CompressedStreamTools.read(dataIn);
+		}
+	}
+
+	/**
+	 * Records all of the tree blocks in a chunk
+	 *
+	 * @return true if the chunk has any tree blocks
+	 */
+	private boolean loadChunk(Region region, int slot, NBTTagCompound chunk) {
+		NBTTagCompound level = chunk.getCompoundTag("Level");
+		int chunkX = (slot & 31) << 4;
+		int chunkZ = (slot >> 5) << 4;
+		boolean found = false;
+
+		NBTTagList sections = level.getTagList("Sections", 10);
+		for (int s = 0; s < sections.tagCount(); s++) {
+			NBTTagCompound section = sections.getCompoundTagAt(s);
+			int sectionY = (section.getByte("Y") & 0xF) << 4;
+			byte[] blocks = section.getByteArray("Blocks");
+			byte[] add = section.hasKey("Add", 7) ? section.getByteArray("Add") : null;
+			byte[] data = section.getByteArray("Data");
+			if (blocks.length < 4096 || data.length < 2048) {
+				continue;
+			}
+
+			for (int i = 0; i < 4096; i++) {
+				int id = (blocks[i] & 0xFF) | (add != null ? getNibble(add, i) << 8 : 0);
+				if (id == 0) {
+					continue;
+				}
+				int meta = getNibble(data, i);
+				byte kind = table.getKind(id, meta);
+				if (kind != TreeScanTable.NONE) {
+					int key = makeKey(chunkX | (i & 15), sectionY | (i >> 8), chunkZ | ((i >> 4) & 15));
+					region.blocks.put(key, kind | (table.getFamily(id, meta) << 2));
+					found = true;
+				}
+			}
+		}
+
+		NBTTagList tileEntities = level.getTagList("TileEntities", 10);
+		for (int t = 0; t < tileEntities.tagCount(); t++) {
+			NBTTagCompound tile = tileEntities.getCompoundTagAt(t);
+			if (tile.hasKey("species", 8)) {
+				int key = makeKey(tile.getInteger("x") - region.baseX, tile.getInteger("y"), tile.getInteger("z") - region.baseZ);
+				if (getKind(region.blocks.get(key)) == TreeScanTable.ROOTY) {
+					region.rootSpecies.put(key, tile.getString("species"));
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Traces every branch network in the region.
+	 *
+	 * @param purgeFilter Selects networks to purge or null when just scanning
+	 * @param removals    Collects the keys of the blocks to remove for the purge
+	 */
+	private List<TreeIndexEntry> analyse(Region region, Predicate<TreeIndexEntry> purgeFilter, IntList removals) {
+		List<TreeIndexEntry> entries = new ArrayList<>();
+		IntIntMap blocks = region.blocks;
+		IntList network = new IntList();
+
+		for (int slot = 0; slot < blocks.keys.length; slot++) {
+			int start = blocks.keys[slot];
+			int value = blocks.values[slot];
+			if (start == IntIntMap.EMPTY || (value & VISITED) != 0) {
+				continue;
+			}
+
+			if (getKind(value) == TreeScanTable.ROOTY) {
+				if (getKind(blocks.get(start + (1 << Y_SHIFT))) != TreeScanTable.BRANCH) {
+					entries.add(makeEntry(region, start, region.rootSpecies.getOrDefault(start, ""), 0, Status.BARE));
+				}
+				continue;
+			}
+
+			if (getKind(value) != TreeScanTable.BRANCH) {
+				continue;
+			}
+
+			//Flood fill the branch network
+			network.size = 0;
+			network.add(start);
+			blocks.put(start, value | VISITED);
+			int roots = 0;
+			int rootKey = start;
+			boolean edge = false;
+
+			for (int n = 0; n < network.size; n++) {
+				int key = network.data[n];
+				int x = key & X_MASK;
+				int y = key >>> Y_SHIFT;
+				int z = (key >>> Z_SHIFT) & X_MASK;
+				edge |= x == 0 || x == X_MASK || z == 0 || z == X_MASK;
+
+				if (y > 0 && getKind(blocks.get(key - (1 << Y_SHIFT))) == TreeScanTable.ROOTY) {
+					roots++;
+					rootKey = key - (1 << Y_SHIFT);
+				}
+
+				if (y > 0) {
+					visit(blocks, network, key - (1 << Y_SHIFT));
+				}
+				if (y < 255) {
+					visit(blocks, network, key + (1 << Y_SHIFT));
+				}
+				if (x > 0) {
+					visit(blocks, network, key - 1);
+				}
+				if (x < X_MASK) {
+					visit(blocks, network, key + 1);
+				}
+				if (z > 0) {
+					visit(blocks, network, key - (1 << Z_SHIFT));
+				}
+				if (z < X_MASK) {
+					visit(blocks, network, key + (1 << Z_SHIFT));
+				}
+			}
+
+			Status status = roots == 1 ? Status.TREE : roots > 1 ? Status.MULTIROOT : edge ? Status.PARTIAL : Status.ORPHAN;
+			int trunkKey = roots == 1 ? rootKey + (1 << Y_SHIFT) : start;
+			String species = table.getFamilySpecies(getFamily(blocks.get(trunkKey)));
+			if (roots == 1) {
+				species = region.rootSpecies.getOrDefault(rootKey, species);
+			}
+
+			TreeIndexEntry entry = makeEntry(region, rootKey, species, network.size, status);
+			entries.add(entry);
+
+			if (purgeFilter != null && purgeFilter.test(entry)) {
+				for (int n = 0; n < network.size; n++) {
+					removals.add(network.data[n]);
+					addShells(blocks, network.data[n], removals);
+				}
+			}
+		}
+
+		return entries;
+	}
+
+	private static void visit(IntIntMap blocks, IntList network, int key) {
+		int value = blocks.get(key);
+		if (getKind(value) == TreeScanTable.BRANCH && (value & VISITED) == 0) {
+			blocks.put(key, value | VISITED);
+			network.add(key);
+		}
+	}
+
+	/**
+	 * Thick trunks are surrounded by shell blocks which need to go with them
+	 */
+	private static void addShells(IntIntMap blocks, int key, IntList removals) {
+		int x = key & X_MASK;
+		int z = (key >>> Z_SHIFT) & X_MASK;
+		for (int dz = -1; dz <= 1; dz++) {
+			for (int dx = -1; dx <= 1; dx++) {
+				if ((dx != 0 || dz != 0) && x + dx >= 0 && x + dx <= X_MASK && z + dz >= 0 && z + dz <= X_MASK) {
+					int shellKey = key + dx + (dz << Z_SHIFT);
+					int value = blocks.get(shellKey);
+					if (getKind(value) == TreeScanTable.SHELL && (value & VISITED) == 0) {
+						blocks.put(shellKey, value | VISITED);
+						removals.add(shellKey);
+					}
+				}
+			}
+		}
+	}
+
+	private static TreeIndexEntry makeEntry(Region region, int key, String species, int size, Status status) {
+		return new TreeIndexEntry(region.baseX + (key & X_MASK), key >>> Y_SHIFT, region.baseZ + ((key >>> Z_SHIFT) & X_MASK), species, size, status);
+	}
+
+	///////////////////////////////////////////
+	// PURGING
+	///////////////////////////////////////////
+
+	private void save(Region region, IntList removals) throws IOException {
+		boolean[] dirty = new boolean[CHUNKS];
+
+		for (int r = 0; r < removals.size; r++) {
+			int key = removals.data[r];
+			int x = key & X_MASK;
+			int y = key >>> Y_SHIFT;
+			int z = (key >>> Z_SHIFT) & X_MASK;
+			int slot = ((z >> 4) << 5) | (x >> 4);
+			NBTTagCompound chunk = region.chunks[slot];
+			NBTTagCompound section = chunk != null ? getSection(chunk, y >> 4) : null;
+			if (section != null) {
+				int i = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+				section.getByteArray("Blocks")[i] = 0;
+				setNibble(section.getByteArray("Data"), i, 0);
+				if (section.hasKey("Add", 7)) {
+					setNibble(section.getByteArray("Add"), i, 0);
+				}
+				dirty[slot] = true;
+			}
+		}
+
+		try (FileChannel channel = FileChannel.open(region.file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer header = ByteBuffer.allocate(2 * SECTOR);
+			while (header.hasRemaining() && channel.read(header, header.position()) != -1) {
+			}
+			header.flip();
+			int timestamp = (int) (System.currentTimeMillis() / 1000L);
+
+			for (int slot = 0; slot < CHUNKS; slot++) {
+				if (!dirty[slot]) {
+					continue;
+				}
+				NBTTagCompound level = region.chunks[slot].getCompoundTag("Level");
+				level.setBoolean("LightPopulated", false);//Have the game relight the chunk when it's next loaded
+
+				byte[] data = writeChunk(region.chunks[slot]);
+				int sectorsNeeded = (data.length + 5 + SECTOR - 1) / SECTOR;
+				if (sectorsNeeded >= 256) {
+					warn("Chunk " + slot + " in " + region.file.getName() + " is too large to save");
+					continue;
+				}
+
+				int location = header.getInt(slot * 4);
+				int sectorOffset = location >>> 8;
+				if (sectorsNeeded > (location & 0xFF)) {
+					sectorOffset = (int) ((channel.size() + SECTOR - 1) / SECTOR);//Append the chunk at the end of the file
+				}
+
+				ByteBuffer sectors = ByteBuffer.allocate(sectorsNeeded * SECTOR);
+				sectors.putInt(data.length + 1).put((byte) 2).put(data);
+				sectors.rewind();
+				long position = (long) sectorOffset * SECTOR;
+				while (sectors.hasRemaining()) {
+					position += channel.write(sectors, position);
+				}
+
+				header.putInt(slot * 4, (sectorOffset << 8) | sectorsNeeded);
+				header.putInt(SECTOR + slot * 4, timestamp);
+			}
+
+			header.rewind();
+			long position = 0;
+			while (header.hasRemaining()) {
+				position += channel.write(header, position);
+			}
+		}
+	}
+
+	private static NBTTagCompound getSection(NBTTagCompound chunk, int sectionY) {
+		NBTTagList sections = chunk.getCompoundTag("Level").getTagList("Sections", 10);
+		for (int s = 0; s < sections.tagCount(); s++) {
+			NBTTagCompound section = sections.getCompoundTagAt(s);
+			if ((section.getByte("Y") & 0xF) == sectionY) {
+				return section;
+			}
+		}
+		return null;
+	}
+
+	private static byte[] writeChunk(NBTTagCompound chunk) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+			CompressedStreamTools.write(chunk, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	///////////////////////////////////////////
+	// INDEX
+	///////////////////////////////////////////
+
+	public static void writeIndex(List<TreeIndexEntry> entries, File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Couldn't create directory " + parent);
+		}
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			out.println(TreeIndexEntry.getCsvHeader());
+			entries.forEach(entry -> out.println(entry.toCsv()));
+		}
+	}
+
+	/**
+	 * Runs the scanner without the game.  The block table is written by the scantrees command.
+	 * <p>
+	 * scan &lt;regionDir&gt; &lt;tableFile&gt; &lt;indexFile&gt; [threads]<br>
+	 * purge &lt;regionDir&gt; &lt;tableFile&gt; &lt;orphans|all&gt; [threads]
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 4 || !(args[0].equals("scan") || args[0].equals("purge"))) {
+			System.err.println("Usage: scan <regionDir> <tableFile> <indexFile> [threads]");
+			System.err.println("       purge <regionDir> <tableFile> <orphans|all> [threads]");
+			return;
+		}
+
+		RegionTreeScanner scanner = new RegionTreeScanner(new File(args[1]), TreeScanTable.read(new File(args[2])));
+		int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		long start = System.nanoTime();
+
+		if (args[0].equals("scan")) {
+			List<TreeIndexEntry> entries = scanner.scan(threads);
+			writeIndex(entries, new File(args[3]));
+			System.out.println("Indexed " + entries.size() + " trees in " + (System.nanoTime() - start) / 1000000 + "ms");
+		} else {
+			//Networks that may continue into the next region are never purged
+			Predicate<TreeIndexEntry> filter = args[3].equals("all") ? e -> e.size > 0 && e.status != Status.PARTIAL : TreeIndexEntry::isOrphaned;
+			List<TreeIndexEntry> purged = scanner.purge(filter, threads);
+			int blocks = purged.stream().mapToInt(e -> e.size).sum();
+			System.out.println("Purged " + blocks + " branches from " + purged.size() + " trees in " + (System.nanoTime() - start) / 1000000 + "ms");
+		}
+	}
+
+	///////////////////////////////////////////
+	// UTILITIES
+	///////////////////////////////////////////
+
+	private static int makeKey(int x, int y, int z) {
+		return (y << Y_SHIFT) | (z << Z_SHIFT) | x;
+	}
+
+	private static byte getKind(int value) {
+		return (byte) (value & 3);
+	}
+
+	private static int getFamily(int value) {
+		return (value & ~VISITED) >>> 2;
+	}
+
+	private static int getNibble(byte[] array, int index) {
+		int b = array[index >> 1];
+		return (index & 1) == 0 ? b & 0xF : (b >> 4) & 0xF;
+	}
+
+	private static void setNibble(byte[] array, int index, int value) {
+		int i = index >> 1;
+		array[i] = (byte) ((index & 1) == 0 ? (array[i] & 0xF0) | value : (array[i] & 0x0F) | (value << 4));
+	}
+
+	private static void warn(String message) {
+		if (DynamicTrees.log != null) {
+			DynamicTrees.log.warn(message);
+		} else {
+			System.err.println(message);
+		}
+	}
+
+	/**
+	 * A minimal open addressing map of non-negative int keys to int values.  Missing keys read as 0.
+	 */
+	private static class IntIntMap {
+
+		static final int EMPTY = -1;
+
+		int[] keys = newKeys(1024);
+		int[] values = new int[1024];
+		int size;
+
+		private static int[] newKeys(int capacity) {
+			int[] keys = new int[capacity];
+			Arrays.fill(keys, EMPTY);
+			return keys;
+		}
+
+		private int findSlot(int key) {
+			int mask = keys.length - 1;
+			int slot = (key * 0x9E3779B9) >>> 7 & mask;
+			while (keys[slot] != EMPTY && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		int get(int key) {
+			int slot = findSlot(key);
+			return keys[slot] != EMPTY ? values[slot] : 0;
+		}
+
+		void put(int key, int value) {
+			int slot = findSlot(key);
+			if (keys[slot] == EMPTY) {
+				keys[slot] = key;
+				if (++size * 2 > keys.length) {
+					values[slot] = value;
+					grow();
+					return;
+				}
+			}
+			values[slot] = value;
+		}
+
+		private void grow() {
+			int[] oldKeys = keys;
+			int[] oldValues = values;
+			keys = newKeys(oldKeys.length * 2);
+			values = new int[oldValues.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != EMPTY) {
+					int slot = findSlot(oldKeys[i]);
+					keys[slot] = oldKeys[i];
+					values[slot] = oldValues[i];
+				}
+			}
+		}
+
+	}
+
+	private static class IntList {
+
+		int[] data = new int[256];
+		int size;
+
+		void add(int value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+
+	}
+
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			len = Math.min(len, buffer.remaining());
+			buffer.get(bytes, off, len);
+			return len;
+		}
+
+	}
+
+}
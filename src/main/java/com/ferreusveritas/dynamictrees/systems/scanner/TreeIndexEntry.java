@@ -0,0 +1,47 @@
+package com.ferreusveritas.dynamictrees.systems.scanner;
+
+/**
+ * A single tree, or piece of one, found by the {@link RegionTreeScanner}.
+ */
+public class TreeIndexEntry {
+
+	public enum Status {
+		TREE,//A branch network with exactly one root
+		BARE,//A root with no branches on it
+		ORPHAN,//A branch network with no root
+		MULTIROOT,//A branch network with more than one root
+		PARTIAL//A rootless branch network that reaches the edge of the region so it may continue in the next one
+	}
+
+	public final int x;//The root position or the first branch found for rootless networks
+	public final int y;
+	public final int z;
+	public final String species;
+	public final int size;//Number of branch blocks in the network
+	public final Status status;
+
+	public TreeIndexEntry(int x, int y, int z, String species, int size, Status status) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.species = species;
+		this.size = size;
+		this.status = status;
+	}
+
+	/**
+	 * @return True for networks that the in-game orphan cleanup would also destroy
+	 */
+	public boolean isOrphaned() {
+		return status == Status.ORPHAN || status == Status.MULTIROOT;
+	}
+
+	public static String getCsvHeader() {
+		return "x,y,z,species,size,status";
+	}
+
+	public String toCsv() {
+		return x + "," + y + "," + z + "," + species + "," + size + "," + status;
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.ferreusveritas.dynamictrees.systems.scanner;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.blocks.BlockTrunkShell;
+import com.ferreusveritas.dynamictrees.trees.TreeFamily;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps raw block id and metadata pairs, as they are stored in chunk sections, to the kind of tree part they are.  A
+ * table is built from the live block registry, which matches the ids of the loaded world, and can be saved next to the
+ * world so that {@link RegionTreeScanner} can be run without the game.
+ */
+public class TreeScanTable {
+
+	public static final byte NONE = 0;
+	public static final byte ROOTY = 1;
+	public static final byte BRANCH = 2;
+	public static final byte SHELL = 3;
+
+	public static final int MAX_BLOCK_IDS = 4096;
+
+	private final byte[] kinds;//Indexed by (id << 4) | meta
+	private final int[] families;//Family index for branch states
+	private final List<String> familySpecies;//Common species name for each family index
+
+	protected TreeScanTable(byte[] kinds, int[] families, List<String> familySpecies) {
+		this.kinds = kinds;
+		this.families = families;
+		this.familySpecies = familySpecies;
+	}
+
+	/**
+	 * Builds the table from the registered blocks.  Must be called from the server thread after a world is loaded so
+	 * that the block ids match the ones in the region files.
+	 */
+	public static TreeScanTable fromRegistry() {
+		byte[] kinds = new byte[MAX_BLOCK_IDS << 4];
+		int[] families = new int[MAX_BLOCK_IDS << 4];
+		List<String> familySpecies = new ArrayList<>();
+		Map<TreeFamily, Integer> familyIndices = new HashMap<>();
+
+		for (Block block : ForgeRegistries.BLOCKS) {
+			int id = Block.getIdFromBlock(block);
+			if (id < 0 || id >= MAX_BLOCK_IDS) {
+				continue;
+			}
+			for (IBlockState state : block.getBlockState().getValidStates()) {
+				int key = (id << 4) | block.getMetaFromState(state);
+				BlockBranch branch = TreeHelper.getBranch(state);
+				if (branch != null && branch.getRadius(state) > 0) {
+					kinds[key] = BRANCH;
+					families[key] = familyIndices.computeIfAbsent(branch.getFamily(), family -> {
+						familySpecies.add(family.getCommonSpecies().getRegistryName().toString());
+						return familySpecies.size() - 1;
+					});
+				} else if (TreeHelper.isRooty(state)) {
+					kinds[key] = ROOTY;
+				} else if (block instanceof BlockTrunkShell) {
+					kinds[key] = SHELL;
+				}
+			}
+		}
+
+		return new TreeScanTable(kinds, families, familySpecies);
+	}
+
+	public static TreeScanTable read(File file) throws IOException {
+		NBTTagCompound tag = CompressedStreamTools.read(file);
+		if (tag == null) {
+			throw new IOException("Missing tree scan table " + file);
+		}
+		List<String> familySpecies = new ArrayList<>();
+		NBTTagList names = tag.getTagList("families", 8);
+		for (int i = 0; i < names.tagCount(); i++) {
+			familySpecies.add(names.getStringTagAt(i));
+		}
+		return new TreeScanTable(tag.getByteArray("kinds"), tag.getIntArray("family"), familySpecies);
+	}
+
+	public void write(File file) throws IOException {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setByteArray("kinds", kinds);
+		tag.setIntArray("family", families);
+		NBTTagList names = new NBTTagList();
+		familySpecies.forEach(name -> names.appendTag(new NBTTagString(name)));
+		tag.setTag("families", names);
+
+		File parent = file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Couldn't create directory " + parent);
+		}
+		CompressedStreamTools.write(tag, file);
+	}
+
+	public byte getKind(int id, int meta) {
+		int key = (id << 4) | meta;
+		return key < kinds.length ? kinds[key] : NONE;
+	}
+
+	public int getFamily(int id, int meta) {
+		int key = (id << 4) | meta;
+		return key < families.length ? families[key] : 0;
+	}
+
+	/**
+	 * @return The registry name of the common species of the family
+	 */
+	public String getFamilySpecies(int family) {
+		return family < familySpecies.size() ? familySpecies.get(family) : "";
+	}
+
+}
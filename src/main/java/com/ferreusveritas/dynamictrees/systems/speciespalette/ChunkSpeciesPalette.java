@@ -0,0 +1,208 @@
+package com.ferreusveritas.dynamictrees.systems.speciespalette;
+
+import com.ferreusveritas.dynamictrees.api.TreeRegistry;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The species stored for the rooty blocks of a single chunk.  Species are kept once each in a palette and every stored
+ * position is a single int in a table sorted by position: the position within the chunk in the upper 16 bits and the
+ * palette index in the lower 16 bits.
+ */
+public class ChunkSpeciesPalette {
+
+	private final List<Species> palette = new ArrayList<>();
+	private int[] table = new int[0];
+	private int size = 0;
+
+	/**
+	 * @return The position within the chunk packed as y(8), z(4), x(4)
+	 */
+	public static int packPos(BlockPos pos) {
+		return (pos.getY() & 255) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+	}
+
+	private int find(int packedPos) {
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midPos = table[mid] >>> 16;
+			if (midPos < packedPos) {
+				low = mid + 1;
+			} else if (midPos > packedPos) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * @return The species stored for the position or null if there isn't one
+	 */
+	public Species get(BlockPos pos) {
+		int i = find(packPos(pos));
+		return i >= 0 ? palette.get(table[i] & 0xFFFF) : null;
+	}
+
+	public void set(BlockPos pos, Species species) {
+		int paletteIndex = palette.indexOf(species);
+		if (paletteIndex < 0) {
+			palette.add(species);
+			paletteIndex = palette.size() - 1;
+		}
+
+		int packedPos = packPos(pos);
+		int entry = packedPos << 16 | paletteIndex;
+		int i = find(packedPos);
+		if (i >= 0) {
+			table[i] = entry;
+			return;
+		}
+
+		i = -(i + 1);
+		if (size == table.length) {
+			table = Arrays.copyOf(table, Math.max(4, size * 2));
+		}
+		System.arraycopy(table, i, table, i + 1, size - i);
+		table[i] = entry;
+		size++;
+	}
+
+	/**
+	 * @return True if a species was stored for the position
+	 */
+	public boolean remove(BlockPos pos) {
+		int i = find(packPos(pos));
+		if (i < 0) {
+			return false;
+		}
+		System.arraycopy(table, i + 1, table, i, size - i - 1);
+		size--;
+		return true;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Drops palette entries that no position uses anymore.  Done before the palette is written out.
+	 */
+	private void compact() {
+		int[] remap = new int[palette.size()];
+		Arrays.fill(remap, -1);
+		List<Species> used = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			int index = table[i] & 0xFFFF;
+			if (remap[index] < 0) {
+				remap[index] = used.size();
+				used.add(palette.get(index));
+			}
+			table[i] = (table[i] & 0xFFFF0000) | remap[index];
+		}
+		palette.clear();
+		palette.addAll(used);
+	}
+
+	///////////////////////////////////////////
+	// NBT
+	///////////////////////////////////////////
+
+	public NBTTagCompound writeToNBT() {
+		compact();
+		NBTTagCompound tag = new NBTTagCompound();
+		NBTTagList names = new NBTTagList();
+		palette.forEach(species -> names.appendTag(new NBTTagString(species.getRegistryName().toString())));
+		tag.setTag("species", names);
+		tag.setIntArray("table", Arrays.copyOf(table, size));
+		return tag;
+	}
+
+	public void readFromNBT(NBTTagCompound tag) {
+		NBTTagList names = tag.getTagList("species", 8);
+		String[] paletteNames = new String[names.tagCount()];
+		for (int n = 0; n < paletteNames.length; n++) {
+			paletteNames[n] = names.getStringTagAt(n);
+		}
+		load(paletteNames, tag.getIntArray("table"));
+	}
+
+	/**
+	 * Replaces the contents of this palette.  Species from mods that were removed are left out so the rooty block falls
+	 * back to the species of its tree.
+	 */
+	private void load(String[] paletteNames, int[] table) {
+		Species[] species = new Species[paletteNames.length];
+		for (int n = 0; n < species.length; n++) {
+			species[n] = TreeRegistry.findSpecies(paletteNames[n]);
+		}
+
+		int[] valid = new int[table.length];
+		int count = 0;
+		int lastPos = -1;
+		for (int entry : table) {
+			int index = entry & 0xFFFF;
+			int packedPos = entry >>> 16;
+			if (index < species.length && species[index] != null && species[index].isValid() && packedPos > lastPos) {
+				valid[count++] = entry;
+				lastPos = packedPos;
+			}
+		}
+
+		this.palette.clear();
+		this.palette.addAll(Arrays.asList(species));
+		this.table = valid;
+		this.size = count;
+	}
+
+	/**
+	 * Replaces the contents of this palette with those of another, used when a synced palette arrives on the client.
+	 */
+	public void copyFrom(ChunkSpeciesPalette other) {
+		palette.clear();
+		palette.addAll(other.palette);
+		table = Arrays.copyOf(other.table, other.size);
+		size = other.size;
+	}
+
+	///////////////////////////////////////////
+	// NETWORK
+	///////////////////////////////////////////
+
+	public void writeToBuf(ByteBuf buf) {
+		compact();
+		buf.writeShort(palette.size());
+		palette.forEach(species -> ByteBufUtils.writeUTF8String(buf, species.getRegistryName().toString()));
+		buf.writeShort(size);
+		for (int i = 0; i < size; i++) {
+			buf.writeInt(table[i]);
+		}
+	}
+
+	public static ChunkSpeciesPalette readFromBuf(ByteBuf buf) {
+		String[] paletteNames = new String[buf.readUnsignedShort()];
+		for (int n = 0; n < paletteNames.length; n++) {
+			paletteNames[n] = ByteBufUtils.readUTF8String(buf);
+		}
+		int[] table = new int[buf.readUnsignedShort()];
+		for (int i = 0; i < table.length; i++) {
+			table[i] = buf.readInt();
+		}
+		ChunkSpeciesPalette chunkPalette = new ChunkSpeciesPalette();
+		chunkPalette.load(paletteNames, table);
+		return chunkPalette;
+	}
+
+}
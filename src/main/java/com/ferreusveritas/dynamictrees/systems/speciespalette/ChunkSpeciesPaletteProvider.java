@@ -0,0 +1,35 @@
+package com.ferreusveritas.dynamictrees.systems.speciespalette;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+
+/**
+ * Attaches a {@link ChunkSpeciesPalette} to a chunk.  Forge saves it with the chunk's capabilities.
+ */
+public class ChunkSpeciesPaletteProvider implements ICapabilitySerializable<NBTTagCompound> {
+
+	private final ChunkSpeciesPalette palette = new ChunkSpeciesPalette();
+
+	@Override
+	public boolean hasCapability(Capability<?> capability, EnumFacing facing) {
+		return capability == SpeciesPalette.CAPABILITY;
+	}
+
+	@Override
+	public <T> T getCapability(Capability<T> capability, EnumFacing facing) {
+		return capability == SpeciesPalette.CAPABILITY ? SpeciesPalette.CAPABILITY.cast(palette) : null;
+	}
+
+	@Override
+	public NBTTagCompound serializeNBT() {
+		return palette.isEmpty() ? new NBTTagCompound() : palette.writeToNBT();
+	}
+
+	@Override
+	public void deserializeNBT(NBTTagCompound tag) {
+		palette.readFromNBT(tag);
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.ferreusveritas.dynamictrees.systems.speciespalette;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Sends the species palette of a chunk to a client.  An empty palette clears the chunk on the client.
+ */
+public class PacketChunkSpecies implements IMessage {
+
+	private ChunkPos chunkPos;
+	private ChunkSpeciesPalette palette;
+
+	public PacketChunkSpecies() {
+	}
+
+	public PacketChunkSpecies(ChunkPos chunkPos, ChunkSpeciesPalette palette) {
+		this.chunkPos = chunkPos;
+		this.palette = palette;
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		chunkPos = new ChunkPos(buf.readInt(), buf.readInt());
+		palette = ChunkSpeciesPalette.readFromBuf(buf);
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		buf.writeInt(chunkPos.x);
+		buf.writeInt(chunkPos.z);
+		(palette != null ? palette : new ChunkSpeciesPalette()).writeToBuf(buf);
+	}
+
+	public static class Handler implements IMessageHandler<PacketChunkSpecies, IMessage> {
+
+		@Override
+		public IMessage onMessage(PacketChunkSpecies message, MessageContext ctx) {
+			//Messages arrive on the network thread so the palette is handed over on the main thread
+			FMLCommonHandler.instance().getWorldThread(ctx.netHandler).addScheduledTask(() -> SpeciesPalette.receiveChunk(DynamicTrees.proxy.getClientWorld(), message.chunkPos, message.palette));
+			return null;
+		}
+
+	}
+
+}
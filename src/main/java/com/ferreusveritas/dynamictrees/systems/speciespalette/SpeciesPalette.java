@@ -0,0 +1,139 @@
+package com.ferreusveritas.dynamictrees.systems.speciespalette;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.ModConstants;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Stores the species of rooty blocks in the chunk instead of in a {@link
+ * com.ferreusveritas.dynamictrees.tileentity.TileEntitySpecies} for each tree.  Each chunk carries a
+ * {@link ChunkSpeciesPalette} capability that's saved with the chunk and sent to the players watching the chunk
+ * whenever it changes.
+ * <p>
+ * Only used for new trees when {@link ModConfigs#chunkSpeciesStorage} is enabled.  Rooty blocks with a tile entity move
+ * their species here as they tick while it's enabled.  Stored species are always read so turning the option off again
+ * loses nothing.
+ */
+public class SpeciesPalette {
+
+	@CapabilityInject(ChunkSpeciesPalette.class)
+	public static Capability<ChunkSpeciesPalette> CAPABILITY = null;
+
+	public static final ResourceLocation CAPABILITY_KEY = new ResourceLocation(ModConstants.MODID, "species_palette");
+
+	public static SimpleNetworkWrapper network;
+
+	public static void registerNetwork() {
+		network = NetworkRegistry.INSTANCE.newSimpleChannel(ModConstants.MODID);
+		network.registerMessage(PacketChunkSpecies.Handler.class, PacketChunkSpecies.class, 0, Side.CLIENT);
+	}
+
+	public static void registerCapability() {
+		CapabilityManager.INSTANCE.register(ChunkSpeciesPalette.class, new Capability.IStorage<ChunkSpeciesPalette>() {
+			@Override
+			public NBTBase writeNBT(Capability<ChunkSpeciesPalette> capability, ChunkSpeciesPalette instance, EnumFacing side) {
+				return instance.writeToNBT();
+			}
+
+			@Override
+			public void readNBT(Capability<ChunkSpeciesPalette> capability, ChunkSpeciesPalette instance, EnumFacing side, NBTBase nbt) {
+				instance.readFromNBT((NBTTagCompound) nbt);
+			}
+		}, ChunkSpeciesPalette::new);
+	}
+
+	public static boolean isEnabled() {
+		return ModConfigs.chunkSpeciesStorage;
+	}
+
+	/**
+	 * @return The palette of a loaded chunk or null if the chunk isn't loaded
+	 */
+	private static ChunkSpeciesPalette getPalette(World world, int chunkX, int chunkZ) {
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);//Looked up by packed long so nothing is allocated
+		return chunk != null ? chunk.getCapability(CAPABILITY, null) : null;
+	}
+
+	/**
+	 * @return The species stored for the position or null if there isn't one
+	 */
+	public static Species getSpecies(World world, BlockPos pos) {
+		ChunkSpeciesPalette palette = getPalette(world, pos.getX() >> 4, pos.getZ() >> 4);
+		return palette != null ? palette.get(pos) : null;
+	}
+
+	public static void setSpecies(World world, BlockPos pos, Species species) {
+		if (!world.isRemote) {
+			Chunk chunk = world.getChunkFromBlockCoords(pos);
+			ChunkSpeciesPalette palette = chunk.getCapability(CAPABILITY, null);
+			if (palette != null) {
+				palette.set(pos, species);
+				markChanged(world, chunk, palette);
+			}
+		}
+	}
+
+	public static void removeSpecies(World world, BlockPos pos) {
+		if (!world.isRemote) {
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.getX() >> 4, pos.getZ() >> 4);
+			ChunkSpeciesPalette palette = chunk != null ? chunk.getCapability(CAPABILITY, null) : null;
+			if (palette != null && palette.remove(pos)) {
+				markChanged(world, chunk, palette);
+			}
+		}
+	}
+
+	private static void markChanged(World world, Chunk chunk, ChunkSpeciesPalette palette) {
+		chunk.markDirty();
+
+		if (world instanceof WorldServer && network != null) {
+			ChunkPos chunkPos = chunk.getPos();
+			PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
+			if (entry != null) {
+				entry.sendPacket(network.getPacketFrom(new PacketChunkSpecies(chunkPos, palette)));//Only reaches players that already have the chunk
+			}
+		}
+	}
+
+	///////////////////////////////////////////
+	// SYNCING
+	///////////////////////////////////////////
+
+	/**
+	 * Sends a chunk's palette to a player that has just been sent the chunk.
+	 */
+	public static void sendChunk(World world, ChunkPos chunkPos, EntityPlayerMP player) {
+		ChunkSpeciesPalette palette = getPalette(world, chunkPos.x, chunkPos.z);
+		if (palette != null && !palette.isEmpty() && network != null) {
+			network.sendTo(new PacketChunkSpecies(chunkPos, palette), player);
+		}
+	}
+
+	/**
+	 * Copies a synced palette into the client's chunk.  Palettes for chunks the client has already dropped are ignored.
+	 */
+	public static void receiveChunk(World world, ChunkPos chunkPos, ChunkSpeciesPalette received) {
+		ChunkSpeciesPalette palette = world != null ? getPalette(world, chunkPos.x, chunkPos.z) : null;
+		if (palette != null) {
+			palette.copyFrom(received);
+		}
+	}
+
+}
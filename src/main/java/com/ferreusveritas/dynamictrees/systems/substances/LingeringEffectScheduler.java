@@ -0,0 +1,221 @@
+package com.ferreusveritas.dynamictrees.systems.substances;
+
+import com.ferreusveritas.dynamictrees.ModConstants;
+import com.ferreusveritas.dynamictrees.api.substances.ISubstanceEffect;
+import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs lingering substance effects on rooty blocks.  Each world has one scheduler which replaces the entity that used to
+ * be spawned for every effect.
+ * <p>
+ * Effects are kept on a timer wheel so only those that are due are visited each tick.  Effects ask for their next
+ * update with {@link ISubstanceEffect#getTicksUntilUpdate}.  Effects registered with
+ * {@link #registerPersistentEffect} are saved with the world and carry on after a restart.  The client has its own
+ * unsaved scheduler for effects like particles.
+ */
+public class LingeringEffectScheduler extends WorldSavedData {
+
+	public static final String DATA_NAME = ModConstants.MODID + "_effects";
+
+	private static final int WHEEL_SIZE = 256;//Must be a power of 2
+	private static final int UNLOADED_DELAY = 20;//Effects on unloaded roots are paused and checked again after this many ticks
+
+	private static final Map<String, Supplier<ISubstanceEffect>> persistentEffects = new HashMap<>();
+	private static final Map<World, LingeringEffectScheduler> clientSchedulers = new WeakHashMap<>();
+
+	private static class Entry {
+
+		private final BlockPos rootPos;
+		private final ISubstanceEffect effect;
+		private int deltaTicks;//Passed to the effect on its next update
+		private long dueTick;
+		private boolean cancelled;
+
+		private Entry(BlockPos rootPos, ISubstanceEffect effect) {
+			this.rootPos = rootPos;
+			this.effect = effect;
+		}
+
+	}
+
+	@SuppressWarnings("unchecked")
+	private final List<Entry>[] wheel = new List[WHEEL_SIZE];
+	private final Map<BlockPos, Map<String, Entry>> rootEffects = new HashMap<>();
+	private long currentTick;
+
+	public LingeringEffectScheduler(String name) {
+		super(name);
+	}
+
+	/**
+	 * Allows an effect to be saved with the world.  The factory creates a blank effect which is then filled in by
+	 * {@link ISubstanceEffect#readFromNBT}.
+	 *
+	 * @param name    The name returned by {@link ISubstanceEffect#getName()}
+	 * @param factory Creates a blank effect
+	 */
+	public static void registerPersistentEffect(String name, Supplier<ISubstanceEffect> factory) {
+		persistentEffects.put(name, factory);
+	}
+
+	public static LingeringEffectScheduler get(World world) {
+		if (world.isRemote) {
+			return clientSchedulers.computeIfAbsent(world, w -> new LingeringEffectScheduler(DATA_NAME));
+		}
+
+		MapStorage storage = world.getPerWorldStorage();
+		LingeringEffectScheduler scheduler = (LingeringEffectScheduler) storage.getOrLoadData(LingeringEffectScheduler.class, DATA_NAME);
+		if (scheduler == null) {
+			scheduler = new LingeringEffectScheduler(DATA_NAME);
+			storage.setData(DATA_NAME, scheduler);
+		}
+		return scheduler;
+	}
+
+	public boolean hasEffect(BlockPos rootPos, String name) {
+		Map<String, Entry> effects = rootEffects.get(rootPos);
+		return effects != null && effects.containsKey(name);
+	}
+
+	/**
+	 * Starts a lingering effect on a tree.  Replaces an effect of the same name that is already running on it.
+	 */
+	public void addEffect(World world, BlockPos rootPos, ISubstanceEffect effect) {
+		Entry entry = new Entry(rootPos.toImmutable(), effect);
+		Entry old = rootEffects.computeIfAbsent(entry.rootPos, p -> new HashMap<>()).put(effect.getName(), entry);
+		if (old != null) {
+			old.cancelled = true;
+		}
+		schedule(entry, Math.max(1, effect.getTicksUntilUpdate(world, 0)));
+		markDirty();
+	}
+
+	public void removeEffect(BlockPos rootPos, String name) {
+		Map<String, Entry> effects = rootEffects.get(rootPos);
+		if (effects != null) {
+			Entry entry = effects.remove(name);
+			if (entry != null) {
+				entry.cancelled = true;
+				markDirty();
+			}
+			if (effects.isEmpty()) {
+				rootEffects.remove(rootPos);
+			}
+		}
+	}
+
+	private void schedule(Entry entry, int delay) {
+		entry.deltaTicks += delay;
+		scheduleAt(entry, currentTick + delay);
+	}
+
+	private void scheduleAt(Entry entry, long tick) {
+		entry.dueTick = tick;
+		int slot = (int) (tick & (WHEEL_SIZE - 1));
+		if (wheel[slot] == null) {
+			wheel[slot] = new ArrayList<>();
+		}
+		wheel[slot].add(entry);
+	}
+
+	/**
+	 * Runs the effects that are due.  Called once per world tick.
+	 */
+	public void tick(World world) {
+		currentTick++;
+
+		int slot = (int) (currentTick & (WHEEL_SIZE - 1));
+		List<Entry> entries = wheel[slot];
+		if (entries == null || entries.isEmpty()) {
+			return;
+		}
+		wheel[slot] = null;//Effects rescheduled below may land back in this slot
+
+		for (Entry entry : entries) {
+			if (entry.cancelled) {
+				continue;
+			}
+			if (entry.dueTick > currentTick) {
+				scheduleAt(entry, entry.dueTick);//Due on a later turn of the wheel
+				continue;
+			}
+			update(world, entry);
+		}
+
+		if (!world.isRemote) {
+			markDirty();
+		}
+	}
+
+	private void update(World world, Entry entry) {
+		if (!world.isBlockLoaded(entry.rootPos)) {
+			scheduleAt(entry, currentTick + UNLOADED_DELAY);
+			return;
+		}
+
+		IBlockState state = world.getBlockState(entry.rootPos);
+		if (state.getBlock() instanceof BlockRooty && entry.effect.update(world, entry.rootPos, entry.deltaTicks, state.getValue(BlockRooty.LIFE))) {
+			schedule(entry, Math.max(1, entry.effect.getTicksUntilUpdate(world, entry.deltaTicks)));
+		} else {
+			removeEffect(entry.rootPos, entry.effect.getName());
+		}
+	}
+
+	///////////////////////////////////////////
+	// NBT
+	///////////////////////////////////////////
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		currentTick = tag.getLong("tick");
+		NBTTagList list = tag.getTagList("effects", 10);
+		for (int i = 0; i < list.tagCount(); i++) {
+			NBTTagCompound effectTag = list.getCompoundTagAt(i);
+			Supplier<ISubstanceEffect> factory = persistentEffects.get(effectTag.getString("name"));
+			if (factory == null) {
+				continue;//The mod that added the effect is gone
+			}
+			ISubstanceEffect effect = factory.get();
+			effect.readFromNBT(effectTag.getCompoundTag("data"));
+			Entry entry = new Entry(BlockPos.fromLong(effectTag.getLong("pos")), effect);
+			entry.deltaTicks = effectTag.getInteger("delta");
+			rootEffects.computeIfAbsent(entry.rootPos, p -> new HashMap<>()).put(effect.getName(), entry);
+			scheduleAt(entry, currentTick + Math.max(1, effectTag.getInteger("delay")));
+		}
+	}
+
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		tag.setLong("tick", currentTick);
+		NBTTagList list = new NBTTagList();
+		for (Map<String, Entry> effects : rootEffects.values()) {
+			for (Entry entry : effects.values()) {
+				if (!persistentEffects.containsKey(entry.effect.getName())) {
+					continue;
+				}
+				NBTTagCompound effectTag = new NBTTagCompound();
+				effectTag.setString("name", entry.effect.getName());
+				effectTag.setLong("pos", entry.rootPos.toLong());
+				effectTag.setInteger("delta", entry.deltaTicks);
+				effectTag.setInteger("delay", (int) (entry.dueTick - currentTick));
+				NBTTagCompound data = new NBTTagCompound();
+				entry.effect.writeToNBT(data);
+				effectTag.setTag("data", data);
+				list.appendTag(effectTag);
+			}
+		}
+		tag.setTag("effects", list);
+		return tag;
+	}
+
+}
@@ -16,19 +16,26 @@ public class SubstanceFertilize implements ISubstanceEffect {
 	@Override
 	public Result apply(World world, BlockPos rootPos, BlockPos hitPos) {
 		BlockRooty dirt = TreeHelper.getRooty(world.getBlockState(rootPos));
-		if (dirt != null && dirt.fertilize(world, rootPos, amount) || grow) {
-			if (world.isRemote) {
-				TreeHelper.treeParticles(world, rootPos, EnumParticleTypes.VILLAGER_HAPPY, 8);
-			} else {
-				if (grow) {
-					for (int i = 0; i < pulses; i++) {
-						TreeHelper.growPulse(world, rootPos);
+		if (dirt != null) {
+			dirt.beginSoilLifeBatch(world, rootPos);//The fertilizing and every pulse make a single soil life change
+		}
+		try {
+			if (dirt != null && dirt.fertilize(world, rootPos, amount) || grow) {
+				if (world.isRemote) {
+					TreeHelper.treeParticles(world, rootPos, EnumParticleTypes.VILLAGER_HAPPY, 8);
+				} else {
+					if (grow) {
+						TreeHelper.growPulses(world, rootPos, pulses);
 					}
 				}
+				return Result.successful();
+			}
+			return Result.failure();
+		} finally {
+			if (dirt != null) {
+				dirt.commitSoilLifeBatch(world, rootPos);
 			}
-			return Result.successful();
 		}
-		return Result.failure();
 	}
 
 	@Override
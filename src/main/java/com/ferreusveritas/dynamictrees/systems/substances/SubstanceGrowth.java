@@ -2,17 +2,17 @@ package com.ferreusveritas.dynamictrees.systems.substances;
 
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
 import com.ferreusveritas.dynamictrees.api.substances.ISubstanceEffect;
-import com.ferreusveritas.dynamictrees.entities.EntityLingeringEffector;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 public class SubstanceGrowth implements ISubstanceEffect {
 
-	private final int pulses;
-	private final int ticksPerPulse;
-	private final int ticksPerParticlePulse;
-	private final boolean fillFertility;
+	private int pulses;
+	private int ticksPerPulse;
+	private int ticksPerParticlePulse;
+	private boolean fillFertility;
 
 	public SubstanceGrowth() {
 		this(-1, 24);
@@ -32,7 +32,7 @@ public class SubstanceGrowth implements ISubstanceEffect {
 	@Override
 	public Result apply(World world, BlockPos rootPos, BlockPos hitPos) {
 		// Don't apply if there is already a growth substance.
-		if (EntityLingeringEffector.treeHasEffectorForEffect(world, rootPos, this)) {
+		if (LingeringEffectScheduler.get(world).hasEffect(rootPos, getName())) {
 			return Result.failure("substance.dynamictrees.growth.error.already_has_effect");
 		}
 		if (this.fillFertility) {
@@ -68,6 +68,30 @@ public class SubstanceGrowth implements ISubstanceEffect {
 		return true;
 	}
 
+	@Override
+	public int getTicksUntilUpdate(World world, int deltaTicks) {
+		int interval = world.isRemote ? this.ticksPerParticlePulse : this.ticksPerPulse;
+		return interval - deltaTicks % interval;
+	}
+
+	@Override
+	public void writeToNBT(NBTTagCompound tag) {
+		tag.setInteger("pulses", this.pulses);
+		tag.setInteger("ticksPerPulse", this.ticksPerPulse);
+		tag.setInteger("ticksPerParticlePulse", this.ticksPerParticlePulse);
+		tag.setBoolean("fillFertility", this.fillFertility);
+		tag.setInteger("pulseCount", this.pulseCount);
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		this.pulses = tag.getInteger("pulses");
+		this.ticksPerPulse = Math.max(1, tag.getInteger("ticksPerPulse"));
+		this.ticksPerParticlePulse = Math.max(1, tag.getInteger("ticksPerParticlePulse"));
+		this.fillFertility = tag.getBoolean("fillFertility");
+		this.pulseCount = tag.getInteger("pulseCount");
+	}
+
 	@Override
 	public String getName() {
 		return "growth";
@@ -15,16 +15,18 @@ import com.ferreusveritas.dynamictrees.api.treedata.ILeavesProperties;
 import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.blocks.*;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
-import com.ferreusveritas.dynamictrees.entities.EntityLingeringEffector;
 import com.ferreusveritas.dynamictrees.entities.animation.IAnimationHandler;
 import com.ferreusveritas.dynamictrees.event.BiomeSuitabilityEvent;
 import com.ferreusveritas.dynamictrees.growthlogic.GrowthLogicKits;
+import com.ferreusveritas.dynamictrees.growthlogic.GrowthNeighborhood;
 import com.ferreusveritas.dynamictrees.growthlogic.IGrowthLogicKit;
 import com.ferreusveritas.dynamictrees.items.Seed;
 import com.ferreusveritas.dynamictrees.models.ModelEntityFallingTree;
 import com.ferreusveritas.dynamictrees.seasons.SeasonHelper;
 import com.ferreusveritas.dynamictrees.systems.DirtHelper;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler;
+import com.ferreusveritas.dynamictrees.systems.TreeProfiler.Subsystem;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreatorLogs;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreatorSeed;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreatorStorage;
@@ -32,11 +34,14 @@ import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeDisease;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeFindEnds;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeInflator;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeShrinker;
+import com.ferreusveritas.dynamictrees.systems.rootindex.RootIndex;
+import com.ferreusveritas.dynamictrees.systems.speciespalette.SpeciesPalette;
+import com.ferreusveritas.dynamictrees.systems.substances.LingeringEffectScheduler;
 import com.ferreusveritas.dynamictrees.systems.substances.SubstanceFertilize;
-import com.ferreusveritas.dynamictrees.tileentity.TileEntitySpecies;
 import com.ferreusveritas.dynamictrees.util.*;
 import com.ferreusveritas.dynamictrees.worldgen.JoCode;
 import com.ferreusveritas.dynamictrees.worldgen.JoCodeStore;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGenBlockWriter;
 import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.state.IBlockState;
@@ -48,7 +53,6 @@ import net.minecraft.init.Items;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemPotion;
 import net.minecraft.item.ItemStack;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
@@ -756,19 +760,19 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 	///////////////////////////////////////////
 
 	public BlockRooty getRootyBlock(World world, BlockPos rootPos) {
-		return getRequiresTileEntity(world, rootPos) ? ModBlocks.blockRootyDirtSpecies : ModBlocks.blockRootyDirt;
+		return getRequiresTileEntity(world, rootPos) && !SpeciesPalette.isEnabled() ? ModBlocks.blockRootyDirtSpecies : ModBlocks.blockRootyDirt;
 	}
 
 	public boolean placeRootyDirtBlock(World world, BlockPos rootPos, int life) {
-		world.setBlockState(rootPos,
-			getRootyBlock(world, rootPos).getDefaultState().withProperty(BlockRooty.LIFE, life));
+		BlockRooty rootyBlock = getRootyBlock(world, rootPos);
+		WorldGenBlockWriter.setBlockState(world, rootPos, rootyBlock.getDefaultState().withProperty(BlockRooty.LIFE, life), 3);
 
-		TileEntity tileEntity = world.getTileEntity(rootPos);
-		if (tileEntity instanceof TileEntitySpecies) {
-			TileEntitySpecies speciesTE = (TileEntitySpecies) tileEntity;
-			speciesTE.setSpecies(this);
+		if (getRequiresTileEntity(world, rootPos)) {
+			rootyBlock.setSpecies(world, rootPos, this);//Kept in the tile entity or the chunk's species palette
 		}
 
+		RootIndex.addRoot(world, rootPos, this);
+
 		return true;
 	}
 
@@ -904,6 +908,70 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 		return grow(world, rootyDirt, rootPos, soilLife, treeBase, treePos, random, natural);
 	}
 
+	//Species that override update or grow are grown a pulse at a time so their overrides still run
+	private static final ClassValue<Boolean> bulkUpdatable = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			Class<?>[] params = {World.class, BlockRooty.class, BlockPos.class, int.class, ITreePart.class, BlockPos.class, Random.class, boolean.class};
+			return !overrides(type, "update", params) && !overrides(type, "grow", params);
+		}
+	};
+
+	/**
+	 * @return True if the class or one of its superclasses below Species declares the method
+	 */
+	private static boolean overrides(Class<?> type, String name, Class<?>... params) {
+		for (; type != Species.class && type != null; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod(name, params);
+				return true;
+			} catch (NoSuchMethodException e) {
+				//Keep looking further up
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if {@link #bulkUpdate} grows this species the same way as updating once per pulse.  False if the
+	 * species overrides {@link #update} or {@link #grow}, which bulk updates would skip.
+	 */
+	public boolean canBulkUpdate() {
+		return bulkUpdatable.get(getClass());
+	}
+
+	/**
+	 * Grows the tree by several pulses at once for growth accelerants.  Makes the same kind of tree as calling {@link
+	 * #update} once per pulse with natural set to false, but the tree is only analysed and rotted once, before the
+	 * first pulse, and the post grow features run once after the last.  The grow signals of every pulse share the
+	 * same growth neighborhood buffers.  Only used when {@link #canBulkUpdate()} is true.
+	 *
+	 * @param world     The world
+	 * @param rootyDirt The {@link BlockRooty} that is supporting this tree
+	 * @param rootPos   The {@link BlockPos} of the {@link BlockRooty} type in the world
+	 * @param soilLife  The life of the soil. 0: Depleted -> 15: Full
+	 * @param treePos   The {@link BlockPos} of the {@link TreeFamily} trunk base.
+	 * @param random    A random number generator
+	 * @param pulses    The number of growth pulses
+	 * @return true if network is viable.  false if network is not viable(will destroy the {@link BlockRooty} this tree
+	 * is on)
+	 */
+	public boolean bulkUpdate(World world, BlockRooty rootyDirt, BlockPos rootPos, int soilLife, ITreePart treeBase,
+							  BlockPos treePos, Random random, int pulses) {
+
+		//This will prune rotted positions from the world.  Branches grown by the pulses are fresh so once is enough.
+		if (handleRot(world, getEnds(world, treePos, treeBase), rootPos, treePos, soilLife, SafeChunkBounds.ANY)) {
+			return false;//Last piece of tree rotted away.
+		}
+
+		for (int pulse = 0; pulse < pulses && soilLife > 0; pulse++) {
+			soilLife = growSignals(world, rootyDirt, rootPos, soilLife, treeBase, treePos, random);
+			soilLife = rootyDirt.getSoilLife(world.getBlockState(rootPos), world, rootPos);//Pick up what the pulse drew from the soil
+		}
+
+		return postGrow(world, rootPos, treePos, soilLife, false);
+	}
+
 	/**
 	 * A little internal convenience function for getting branch endpoints
 	 *
@@ -1024,6 +1092,17 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 	 */
 	public boolean grow(World world, BlockRooty rootyDirt, BlockPos rootPos, int soilLife, ITreePart treeBase,
 						BlockPos treePos, Random random, boolean natural) {
+		soilLife = growSignals(world, rootyDirt, rootPos, soilLife, treeBase, treePos, random);
+		return postGrow(world, rootPos, treePos, soilLife, natural);
+	}
+
+	/**
+	 * Sends the grow signals of a single growth pulse.
+	 *
+	 * @return The soil life as far as this pulse knows.  Zero if the tree choked.
+	 */
+	protected int growSignals(World world, BlockRooty rootyDirt, BlockPos rootPos, int soilLife, ITreePart treeBase,
+							  BlockPos treePos, Random random) {
 
 		float growthRate =
 			getGrowthRate(world, rootPos) * ModConfigs.treeGrowthMultiplier * ModConfigs.treeGrowthFolding;
@@ -1051,7 +1130,7 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 			}
 		} while (--growthRate > 0.0f);
 
-		return postGrow(world, rootPos, treePos, soilLife, natural);
+		return soilLife;
 	}
 
 	/**
@@ -1089,7 +1168,9 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 			return EnumFacing.UP;
 		}
 
-		int[] probMap = new int[6];//6 directions possible DUNSWE
+		//Every neighbor is read once up front and the probability map is a reused buffer
+		GrowthNeighborhood neighborhood = GrowthNeighborhood.readShared(world, pos, branch, signal);
+		int[] probMap = neighborhood.getProbabilityBuffer();//6 directions possible DUNSWE
 
 		//Probability taking direction into account
 		probMap[EnumFacing.UP.ordinal()] = signal.dir != EnumFacing.DOWN ? getUpProbability() : 0;//Favor up
@@ -1097,18 +1178,11 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 
 		//Create probability map for direction change
 		for (EnumFacing dir : EnumFacing.VALUES) {
-			if (!dir.equals(originDir)) {
-				BlockPos deltaPos = pos.offset(dir);
-				//Check probability for surrounding blocks
-				//Typically Air:1, Leaves:2, Branches: 2+r
-				IBlockState deltaBlockState = world.getBlockState(deltaPos);
-				probMap[dir.getIndex()] += TreeHelper.getTreePart(deltaBlockState)
-					.probabilityForBlock(deltaBlockState, world, deltaPos, branch);
-			}
+			probMap[dir.getIndex()] += neighborhood.getProbability(dir);//Zero for the direction we came from
 		}
 
 		//Do custom stuff or override probability map for various species
-		probMap = customDirectionManipulation(world, pos, branch.getRadius(world.getBlockState(pos)), signal, probMap);
+		probMap = customDirectionManipulation(neighborhood, signal, probMap);
 
 		//Select a direction from the probability map
 		int choice = com.ferreusveritas.dynamictrees.util.MathHelper.selectRandomFromDistribution(signal.rand,
@@ -1118,11 +1192,21 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 	}
 
 	/**
-	 * Species can override the probability map here
+	 * Species can override the probability map here.  Passes on to the original version by default so species that
+	 * only override that one keep their growth shape.
 	 **/
+	protected int[] customDirectionManipulation(GrowthNeighborhood neighborhood, GrowSignal signal, int[] probMap) {
+		return customDirectionManipulation(neighborhood.getWorld(), neighborhood.getPos(), neighborhood.getRadius(), signal, probMap);
+	}
+
+	/**
+	 * The original version of {@link #customDirectionManipulation(GrowthNeighborhood, GrowSignal, int[])}.  Species
+	 * that override it keep working but the neighborhood version saves reading the neighbors again.
+	 */
+	@Deprecated
 	protected int[] customDirectionManipulation(World world, BlockPos pos, int radius, GrowSignal signal,
 												int[] probMap) {
-		return getGrowthLogicKit().directionManipulation(world, pos, this, radius, signal, probMap);
+		return getGrowthLogicKit().directionManipulation(GrowthNeighborhood.getShared(world, pos, signal), this, signal, probMap);
 	}
 
 	/**
@@ -1372,7 +1456,7 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 				return false;
 			}
 			if (result.success() && effect.isLingering()) {
-				world.spawnEntity(new EntityLingeringEffector(world, rootPos, effect));
+				LingeringEffectScheduler.get(world).addEffect(world, rootPos, effect);
 				return true;
 			} else {
 				return result.success();
@@ -1534,8 +1618,12 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 	public boolean generate(World world, BlockPos rootPos, Biome biome, Random random, int radius,
 							SafeChunkBounds safeBounds) {
 
+		long profileStart = TreeProfiler.begin();
+
 		if (genFeatureOverride != null) {
-			return genFeatureOverride.generate(world, rootPos, this, biome, random, radius, safeBounds);
+			boolean generated = genFeatureOverride.generate(world, rootPos, this, biome, random, radius, safeBounds);
+			TreeProfiler.end(Subsystem.GENERATE, this, profileStart, generated ? 1 : 0);
+			return generated;
 		}
 
 		EnumFacing facing = CoordUtils.getRandomDir(random);
@@ -1543,6 +1631,7 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 			JoCode code = getJoCodeStore().getRandomCode(radius, random);
 			if (code != null) {
 				code.generate(world, this, rootPos, biome, facing, radius, safeBounds);
+				TreeProfiler.end(Subsystem.GENERATE, this, profileStart, 1);
 				return true;
 			}
 		}
@@ -1558,6 +1647,31 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 		return new JoCode(joCodeString);
 	}
 
+	/**
+	 * Creates a {@link JoCode} from instructions that have already been decoded. Species that override
+	 * {@link #getJoCode(String)} to provide a custom {@link JoCode} should override this as well.
+	 */
+	public JoCode getJoCode(byte[] instructions) {
+		return new JoCode(instructions);
+	}
+
+	//Species that only override getJoCode(String) would get plain codes out of a bundle
+	private static final ClassValue<Boolean> joCodesBundleable = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return !overrides(type, "getJoCode", String.class) || overrides(type, "getJoCode", byte[].class);
+		}
+	};
+
+	/**
+	 * @return True if codes can be loaded from a {@link com.ferreusveritas.dynamictrees.worldgen.JoCodeBundle}, which
+	 * builds them with {@link #getJoCode(byte[])}.  False if the species only overrides {@link #getJoCode(String)} so
+	 * its codes must be read from the text file.
+	 */
+	public boolean canBundleJoCodes() {
+		return joCodesBundleable.get(getClass());
+	}
+
 	public JoCode getJoCode(World world, BlockPos rootPos, EnumFacing facing) {
 		return new JoCode(world, rootPos, facing);
 	}
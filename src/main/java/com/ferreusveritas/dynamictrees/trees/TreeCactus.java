@@ -9,6 +9,7 @@ import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranchCactus;
 import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
 import com.ferreusveritas.dynamictrees.event.SpeciesPostGenerationEvent;
+import com.ferreusveritas.dynamictrees.growthlogic.GrowthNeighborhood;
 import com.ferreusveritas.dynamictrees.systems.DirtHelper;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreator;
@@ -78,6 +79,11 @@ public class TreeCactus extends TreeFamily {
 			return new JoCodeCactus(joCodeString);
 		}
 
+		@Override
+		public JoCode getJoCode(byte[] instructions) {
+			return new JoCodeCactus(instructions);
+		}
+
 		@Override
 		public float getEnergy(World world, BlockPos pos) {
 			long day = world.getTotalWorldTime() / 24000L;
@@ -102,7 +108,7 @@ public class TreeCactus extends TreeFamily {
 		}
 
 		@Override
-		protected int[] customDirectionManipulation(World world, BlockPos pos, int radius, GrowSignal signal, int[] probMap) {
+		protected int[] customDirectionManipulation(GrowthNeighborhood neighborhood, GrowSignal signal, int[] probMap) {
 			EnumFacing originDir = signal.dir.getOpposite();
 
 			//Alter probability map for direction change
@@ -198,6 +204,10 @@ public class TreeCactus extends TreeFamily {
 			super(code);
 		}
 
+		public JoCodeCactus(byte[] instructions) {
+			super(instructions);
+		}
+
 		@Override
 		public void generate(World world, Species species, BlockPos rootPos, Biome biome, EnumFacing facing, int radius, SafeChunkBounds safeBounds) {
 			IBlockState initialDirtState = world.getBlockState(rootPos); // Save the initial state of the dirt in case this fails
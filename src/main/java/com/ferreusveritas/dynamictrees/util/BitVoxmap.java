@@ -0,0 +1,158 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import com.google.common.collect.AbstractIterator;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+
+import java.util.Iterator;
+
+/**
+ * A voxel map that stores a single bit per voxel for use as a boolean mask.  Any non-zero value written is stored as
+ * 1.  Works in world coordinates.
+ */
+public class BitVoxmap implements IVoxmap {
+
+	private final long[] bits;
+
+	private final int minX;
+	private final int minY;
+	private final int minZ;
+	private final int lenX;
+	private final int lenY;
+	private final int lenZ;
+
+	public BitVoxmap(BlockBounds bounds) {
+		BlockPos min = bounds.getMin();
+		this.minX = min.getX();
+		this.minY = min.getY();
+		this.minZ = min.getZ();
+		this.lenX = bounds.getXSize();
+		this.lenY = bounds.getYSize();
+		this.lenZ = bounds.getZSize();
+		this.bits = new long[(lenX * lenY * lenZ + 63) >>> 6];
+	}
+
+	private BitVoxmap(BitVoxmap other) {
+		this.minX = other.minX;
+		this.minY = other.minY;
+		this.minZ = other.minZ;
+		this.lenX = other.lenX;
+		this.lenY = other.lenY;
+		this.lenZ = other.lenZ;
+		this.bits = other.bits.clone();
+	}
+
+	@Override
+	public BitVoxmap copy() {
+		return new BitVoxmap(this);
+	}
+
+	private int calcPos(int x, int y, int z) {
+		x -= minX;
+		y -= minY;
+		z -= minZ;
+		if (x >= 0 && x < lenX && y >= 0 && y < lenY && z >= 0 && z < lenZ) {
+			return (y * lenZ + z) * lenX + x;
+		}
+		return -1;
+	}
+
+	@Override
+	public void setVoxel(int x, int y, int z, byte value) {
+		int pos = calcPos(x, y, z);
+		if (pos != -1) {
+			if (value != 0) {
+				bits[pos >>> 6] |= 1L << pos;
+			} else {
+				bits[pos >>> 6] &= ~(1L << pos);
+			}
+		}
+	}
+
+	@Override
+	public void setVoxelOr(int x, int y, int z, byte value) {
+		if (value != 0) {
+			setVoxel(x, y, z, value);
+		}
+	}
+
+	@Override
+	public byte getVoxel(int x, int y, int z) {
+		int pos = calcPos(x, y, z);
+		return (byte) (pos != -1 ? (bits[pos >>> 6] >>> pos) & 1 : 0);
+	}
+
+	private void decodePos(int pos, MutableBlockPos dPos) {
+		int x = pos % lenX;
+		pos /= lenX;
+		dPos.setPos(x + minX, pos / lenZ + minY, pos % lenZ + minZ);
+	}
+
+	/**
+	 * Finds the next set bit at or after the position
+	 *
+	 * @return The position of the set bit or -1 if there are none left
+	 */
+	private int nextSetBit(int pos) {
+		int word = pos >>> 6;
+		if (word >= bits.length) {
+			return -1;
+		}
+		long remaining = bits[word] & (-1L << pos);
+		while (remaining == 0) {//Skip over empty words 64 voxels at a time
+			if (++word >= bits.length) {
+				return -1;
+			}
+			remaining = bits[word];
+		}
+		return (word << 6) + Long.numberOfTrailingZeros(remaining);
+	}
+
+	@Override
+	public Iterable<Cell> getAllNonZeroCells(final byte mask) {
+		return new Iterable<Cell>() {
+			@Override
+			public Iterator<Cell> iterator() {
+				return new AbstractIterator<Cell>() {
+					private int pos = (mask & 1) != 0 ? 0 : -1;//Set voxels only have the first bit
+					private final Cell workingCell = new Cell().setValue((byte) 1);
+
+					@Override
+					protected Cell computeNext() {
+						pos = pos != -1 ? nextSetBit(pos) : -1;
+						if (pos == -1) {
+							return this.endOfData();
+						}
+						decodePos(pos++, workingCell.getPos());
+						return workingCell;
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public Iterable<MutableBlockPos> getAllNonZero(final byte mask) {
+		return new Iterable<MutableBlockPos>() {
+			@Override
+			public Iterator<MutableBlockPos> iterator() {
+				return new AbstractIterator<MutableBlockPos>() {
+					private int pos = (mask & 1) != 0 ? 0 : -1;//Set voxels only have the first bit
+					private final MutableBlockPos dPos = new MutableBlockPos();
+
+					@Override
+					protected MutableBlockPos computeNext() {
+						pos = pos != -1 ? nextSetBit(pos) : -1;
+						if (pos == -1) {
+							return this.endOfData();
+						}
+						decodePos(pos++, dPos);
+						return dPos;
+					}
+				};
+			}
+		};
+	}
+
+}
@@ -13,12 +13,13 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.common.property.IExtendedBlockState;
 
 import java.util.*;
-import java.util.Map.Entry;
-import java.util.function.Function;
+import java.util.function.IntFunction;
 
 public class BranchDestructionData {
 
@@ -55,21 +56,24 @@ public class BranchDestructionData {
 	}
 
 	public BranchDestructionData(Species species, Map<BlockPos, IExtendedBlockState> branches, Map<BlockPos, IBlockState> leaves, List<BlockItemStack> leavesDrops, List<BlockPos> ends, float volume, BlockPos cutPos, EnumFacing cutDir, EnumFacing toolDir, int trunkHeight) {
-		this.species = species;
-		int[][] encodedBranchData = convertBranchesToIntArrays(branches);
-		this.destroyedBranchesRadiusPosition = encodedBranchData[0];
-		this.destroyedBranchesConnections = encodedBranchData[1];
-		this.destroyedBranchesBlockIndex = encodedBranchData[2];
-		int[][] encodedLeavesData = convertLeavesToIntArray(leaves);
-		this.destroyedLeaves = encodedLeavesData[0];
-		this.destroyedLeavesBlockIndex = encodedLeavesData[1];
-		this.leavesDrops = leavesDrops;
-		this.endPoints = convertEndPointsToIntArray(ends);
-		this.woodVolume = volume;
+		this(new Builder(species, BlockPos.ORIGIN).addBranches(branches).addLeaves(leaves).addEndPoints(ends)
+			.setLeavesDrops(leavesDrops).setWoodVolume(volume).setCutDir(cutDir).setToolDir(toolDir).setTrunkHeight(trunkHeight), cutPos);
+	}
+
+	private BranchDestructionData(Builder builder, BlockPos cutPos) {
+		this.species = builder.species;
+		this.destroyedBranchesRadiusPosition = Arrays.copyOf(builder.branchRadPos, builder.numBranches);
+		this.destroyedBranchesConnections = Arrays.copyOf(builder.branchConnections, builder.numBranches);
+		this.destroyedBranchesBlockIndex = Arrays.copyOf(builder.branchBlockIndex, builder.numBranches);
+		this.destroyedLeaves = Arrays.copyOf(builder.leaves, builder.numLeaves);
+		this.destroyedLeavesBlockIndex = Arrays.copyOf(builder.leavesBlockIndex, builder.numLeaves);
+		this.leavesDrops = builder.leavesDrops;
+		this.endPoints = Arrays.copyOf(builder.endPoints, builder.numEndPoints);
+		this.woodVolume = builder.woodVolume;
 		this.cutPos = cutPos;
-		this.cutDir = cutDir;
-		this.toolDir = toolDir;
-		this.trunkHeight = trunkHeight;
+		this.cutDir = builder.cutDir;
+		this.toolDir = builder.toolDir;
+		this.trunkHeight = builder.trunkHeight >= 0 ? builder.trunkHeight : builder.getTrunkHeight();
 	}
 
 	public BranchDestructionData(NBTTagCompound nbt) {
@@ -110,48 +114,12 @@ public class BranchDestructionData {
 	// Branches
 	///////////////////////////////////////////////////////////
 
-	private int[][] convertBranchesToIntArrays(Map<BlockPos, IExtendedBlockState> branchList) {
-		int[] relPosData = new int[branchList.size()];
-		int[] connectionData = new int[branchList.size()];
-		int[] blockIndexData = new int[branchList.size()];
-		int index = 0;
-
-		//Ensure the origin block is at the first index
-		IExtendedBlockState origExState = branchList.get(BlockPos.ORIGIN);
-		if (origExState != null) {
-			relPosData[index] = encodeBranchesRadiusPos(BlockPos.ORIGIN, (BlockBranch) origExState.getBlock(), origExState);
-			connectionData[index] = encodeBranchesConnections(origExState);
-			blockIndexData[index++] = encodeBranchBlocks((BlockBranch) origExState.getBlock());
-			branchList.remove(BlockPos.ORIGIN);
-		}
-
-		//Encode the remaining blocks
-		for (Entry<BlockPos, IExtendedBlockState> set : branchList.entrySet()) {
-			BlockPos relPos = set.getKey();
-			IExtendedBlockState exState = set.getValue();
-			Block block = exState.getBlock();
-
-			if (block instanceof BlockBranch && bounds.inBounds(relPos)) { //Place comfortable limits on the system
-				relPosData[index] = encodeBranchesRadiusPos(relPos, (BlockBranch) block, exState);
-				connectionData[index] = encodeBranchesConnections(exState);
-				blockIndexData[index++] = encodeBranchBlocks((BlockBranch) block);
-			}
-		}
-
-		//Shrink down the arrays
-		relPosData = Arrays.copyOf(relPosData, index);
-		connectionData = Arrays.copyOf(connectionData, index);
-		blockIndexData = Arrays.copyOf(blockIndexData, index);
-
-		return new int[][]{relPosData, connectionData, blockIndexData};
-	}
-
-	private int encodeBranchesRadiusPos(BlockPos relPos, BlockBranch branchBlock, IBlockState state) {
-		return ((branchBlock.getRadius(state) & 0x1F) << 24) | //Radius 0 - 31
-			encodeRelBlockPos(relPos);
+	private static int encodeBranchesRadiusPos(int relX, int relY, int relZ, int radius) {
+		return ((radius & 0x1F) << 24) | //Radius 0 - 31
+			encodeRelBlockPos(relX, relY, relZ);
 	}
 
-	private int encodeBranchesConnections(IExtendedBlockState exState) {
+	private static int encodeBranchesConnections(IExtendedBlockState exState) {
 		int result = 0;
 		for (EnumFacing face : EnumFacing.values()) {
 			int rad = (int) exState.getValue(BlockBranch.CONNECTIONS[face.getIndex()]);
@@ -160,7 +128,20 @@ public class BranchDestructionData {
 		return result;
 	}
 
-	private int encodeBranchBlocks(BlockBranch branch) {
+	/**
+	 * Encodes the connections of a branch in the world the same way as {@link #encodeBranchesConnections} but without
+	 * building its extended state.
+	 */
+	private static int encodeBranchesConnections(BlockBranch branch, IBlockState state, IBlockAccess world, BlockPos pos) {
+		int result = 0;
+		for (EnumFacing face : EnumFacing.values()) {
+			int rad = branch.getConnectionRadius(world, pos, state, face);
+			result |= (rad & 0x1F) << (face.getIndex() * 5);
+		}
+		return result;
+	}
+
+	private static int encodeBranchBlocks(BlockBranch branch) {
 		return branch.getFamily().getBranchBlockIndex(branch);
 	}
 
@@ -176,10 +157,29 @@ public class BranchDestructionData {
 		return decodeBranchRadius(destroyedBranchesRadiusPosition[index]);
 	}
 
-	private int decodeBranchRadius(int encoded) {
+	private static int decodeBranchRadius(int encoded) {
 		return (encoded >> 24) & 0x1F;
 	}
 
+	/**
+	 * @return The branch block of the family that the branch was made of, or null if the family no longer has it
+	 */
+	public BlockBranch getBranchBlock(int index) {
+		return species.getFamily().getValidBranchBlock(destroyedBranchesBlockIndex[index]);
+	}
+
+	public int getBranchConnectionRadius(int index, EnumFacing face) {
+		return decodeConnectionRadius(destroyedBranchesConnections[index], face);
+	}
+
+	private static int decodeConnectionRadius(int encodedConnections, EnumFacing face) {
+		return MathHelper.clamp(encodedConnections >> (face.getIndex() * 5) & 0x1F, 0, 8);
+	}
+
+	/**
+	 * Builds the full extended state of a branch.  Only needed for rendering, use {@link #getBranchCursor()} to read
+	 * the branches otherwise.
+	 */
 	public IExtendedBlockState getBranchBlockState(int index) {
 		return decodeBranchBlockState(destroyedBranchesRadiusPosition[index], destroyedBranchesConnections[index], destroyedBranchesBlockIndex[index]);
 	}
@@ -192,8 +192,7 @@ public class BranchDestructionData {
 			if (state instanceof IExtendedBlockState) {
 				IExtendedBlockState exState = (IExtendedBlockState) state;
 				for (EnumFacing face : EnumFacing.values()) {
-					int rad = (encodedConnections >> (face.getIndex() * 5) & 0x1F);
-					exState = exState.withProperty(BlockBranch.CONNECTIONS[face.getIndex()], MathHelper.clamp(rad, 0, 8));
+					exState = exState.withProperty(BlockBranch.CONNECTIONS[face.getIndex()], decodeConnectionRadius(encodedConnections, face));
 				}
 				return exState;
 			}
@@ -206,35 +205,8 @@ public class BranchDestructionData {
 	// Leaves
 	///////////////////////////////////////////////////////////
 
-	private int[][] convertLeavesToIntArray(Map<BlockPos, IBlockState> leavesList) {
-		int[] posData = new int[leavesList.size()];
-		int[] blockIndexData = new int[leavesList.size()];
-		int index = 0;
-
-		//Encode the remaining blocks
-		for (Entry<BlockPos, IBlockState> set : leavesList.entrySet()) {
-			BlockPos relPos = set.getKey();
-			IBlockState state = set.getValue();
-			Block block = state.getBlock();
-
-			if (block instanceof BlockDynamicLeaves && bounds.inBounds(relPos)) { // Place comfortable limits on the system
-				posData[index] = encodeLeaves(relPos, (BlockDynamicLeaves) block, state);
-				blockIndexData[index++] = encodeLeavesBlocks(state, this.species);
-			}
-		}
-
-		posData = Arrays.copyOf(posData, index); // Shrink down the array
-		blockIndexData = Arrays.copyOf(blockIndexData, index);
-
-		return new int[][]{posData, blockIndexData};
-	}
-
-	private int encodeLeaves(BlockPos relPos, BlockDynamicLeaves block, IBlockState state) {
-		return (state.getValue(BlockDynamicLeaves.HYDRO) << 24) | encodeRelBlockPos(relPos);
-	}
-
-	private int encodeLeavesBlocks(IBlockState state, Species species) {
-		return species.getLeavesBlockIndex(state);
+	private static int encodeLeaves(int relX, int relY, int relZ, IBlockState state) {
+		return (state.getValue(BlockDynamicLeaves.HYDRO) << 24) | encodeRelBlockPos(relX, relY, relZ);
 	}
 
 	public int getNumLeaves() {
@@ -253,7 +225,7 @@ public class BranchDestructionData {
 		return decodeLeavesHydro(destroyedLeaves[index]);
 	}
 
-	private int decodeLeavesHydro(int encoded) {
+	private static int decodeLeavesHydro(int encoded) {
 		return (encoded >> 24) & 0x0F;
 	}
 
@@ -269,19 +241,6 @@ public class BranchDestructionData {
 	// End Points
 	///////////////////////////////////////////////////////////
 
-	private int[] convertEndPointsToIntArray(List<BlockPos> endPoints) {
-		int[] data = new int[endPoints.size()];
-		int index = 0;
-
-		for (BlockPos relPos : endPoints) {
-			if (bounds.inBounds(relPos)) { //Place comfortable limits on the system
-				data[index++] = encodeRelBlockPos(relPos);
-			}
-		}
-
-		return Arrays.copyOf(data, index);//Shrink down the array
-	}
-
 	public int getNumEndpoints() {
 		return endPoints.length;
 	}
@@ -320,21 +279,21 @@ public class BranchDestructionData {
 	 */
 	public Iterable<BlockPos> getPositions(PosType posType, boolean absolute) {
 
-		final Function<Integer, BlockPos> getter;
+		final IntFunction<BlockPos> getter;
 		final int limit;
 
 		switch (posType) {
 			default:
 			case BRANCHES:
-				getter = absolute ? i -> getBranchRelPos(i).add(cutPos) : i -> getBranchRelPos(i);
+				getter = absolute ? i -> decodeAbsPos(destroyedBranchesRadiusPosition[i]) : i -> getBranchRelPos(i);
 				limit = getNumBranches();
 				break;
 			case ENDPOINTS:
-				getter = absolute ? i -> getEndPointRelPos(i).add(cutPos) : i -> getEndPointRelPos(i);
+				getter = absolute ? i -> decodeAbsPos(endPoints[i]) : i -> getEndPointRelPos(i);
 				limit = getNumEndpoints();
 				break;
 			case LEAVES:
-				getter = absolute ? i -> getLeavesRelPos(i).add(cutPos) : i -> getLeavesRelPos(i);
+				getter = absolute ? i -> decodeAbsPos(destroyedLeaves[i]) : i -> getLeavesRelPos(i);
 				limit = getNumLeaves();
 				break;
 		}
@@ -359,18 +318,331 @@ public class BranchDestructionData {
 	// Generic
 	///////////////////////////////////////////////////////////	
 
-	private int encodeRelBlockPos(BlockPos relPos) {
-		return (((relPos.getX() + 64) & 0xFF) << 16) |
-			(((relPos.getY() + 64) & 0xFF) << 8) |
-			(((relPos.getZ() + 64) & 0xFF) << 0);
+	private static int encodeRelBlockPos(int relX, int relY, int relZ) {
+		return (((relX + 64) & 0xFF) << 16) |
+			(((relY + 64) & 0xFF) << 8) |
+			(((relZ + 64) & 0xFF) << 0);
+	}
+
+	private static boolean inRelBounds(int relX, int relY, int relZ) {//Same as bounds.inBounds() without a position
+		return relX >= -64 && relX <= 64 && relY >= -64 && relY <= 64 && relZ >= -64 && relZ <= 64;
+	}
+
+	private static int decodeRelX(int encoded) {
+		return ((encoded >> 16) & 0xFF) - 64;
+	}
+
+	private static int decodeRelY(int encoded) {
+		return ((encoded >> 8) & 0xFF) - 64;
+	}
+
+	private static int decodeRelZ(int encoded) {
+		return (encoded & 0xFF) - 64;
+	}
+
+	private static BlockPos decodeRelPos(int encoded) {
+		return new BlockPos(decodeRelX(encoded), decodeRelY(encoded), decodeRelZ(encoded));
+	}
+
+	private BlockPos decodeAbsPos(int encoded) {
+		return new BlockPos(cutPos.getX() + decodeRelX(encoded), cutPos.getY() + decodeRelY(encoded), cutPos.getZ() + decodeRelZ(encoded));
+	}
+
+
+	///////////////////////////////////////////////////////////
+	// Branch Cursor
+	///////////////////////////////////////////////////////////
+
+	/**
+	 * @return A cursor for reading the branches one at a time without creating positions or block states
+	 */
+	public BranchCursor getBranchCursor() {
+		return new BranchCursor();
+	}
+
+	/**
+	 * A reusable view of a single branch that decodes its fields from the packed arrays as they are asked for.
+	 * <pre>
+	 * BranchCursor branch = destroyData.getBranchCursor();
+	 * while (branch.next()) {
+	 *     mass += branch.getRadius() * branch.getRadius();
+	 * }
+	 * </pre>
+	 */
+	public class BranchCursor {
+
+		private int index = -1;
+
+		private BranchCursor() {
+		}
+
+		/**
+		 * Moves on to the next branch.
+		 *
+		 * @return False once there are no more branches
+		 */
+		public boolean next() {
+			return ++index < getNumBranches();
+		}
+
+		public BranchCursor select(int index) {
+			this.index = index;
+			return this;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public int getRelX() {
+			return decodeRelX(destroyedBranchesRadiusPosition[index]);
+		}
+
+		public int getRelY() {
+			return decodeRelY(destroyedBranchesRadiusPosition[index]);
+		}
+
+		public int getRelZ() {
+			return decodeRelZ(destroyedBranchesRadiusPosition[index]);
+		}
+
+		/**
+		 * @return The given mutable position set to the position of the branch relative to the cut
+		 */
+		public MutableBlockPos getRelPos(MutableBlockPos pos) {
+			int encoded = destroyedBranchesRadiusPosition[index];
+			return pos.setPos(decodeRelX(encoded), decodeRelY(encoded), decodeRelZ(encoded));
+		}
+
+		/**
+		 * @return The given mutable position set to the position of the branch in the world
+		 */
+		public MutableBlockPos getAbsPos(MutableBlockPos pos) {
+			int encoded = destroyedBranchesRadiusPosition[index];
+			return pos.setPos(cutPos.getX() + decodeRelX(encoded), cutPos.getY() + decodeRelY(encoded), cutPos.getZ() + decodeRelZ(encoded));
+		}
+
+		public int getRadius() {
+			return decodeBranchRadius(destroyedBranchesRadiusPosition[index]);
+		}
+
+		public int getConnectionRadius(EnumFacing face) {
+			return decodeConnectionRadius(destroyedBranchesConnections[index], face);
+		}
+
+		public BlockBranch getBranchBlock() {
+			return BranchDestructionData.this.getBranchBlock(index);
+		}
+
+	}
+
+
+	///////////////////////////////////////////////////////////
+	// Builder
+	///////////////////////////////////////////////////////////
+
+	private static final int POOLED_ARRAY_SIZE = 256;
+	private static final int POOL_LIMIT = 24;//Enough for four builders at once per thread
+
+	//The client and server threads both fell trees so each gets its own pool of working arrays
+	private static final ThreadLocal<ArrayDeque<int[]>> arrayPool = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private static int[] borrowArray() {
+		int[] array = arrayPool.get().poll();
+		return array != null ? array : new int[POOLED_ARRAY_SIZE];
+	}
+
+	private static void returnArray(int[] array) {
+		ArrayDeque<int[]> pool = arrayPool.get();
+		if (pool.size() < POOL_LIMIT) {
+			pool.push(array);
+		}
 	}
 
-	private BlockPos decodeRelPos(int encoded) {
-		return new BlockPos(
-			(((encoded >> 16) & 0xFF) - 64),
-			(((encoded >> 8) & 0xFF) - 64),
-			(((encoded >> 0) & 0xFF) - 64)
-		);
+	/**
+	 * Encodes branches, leaves and endpoints straight into working arrays as a tree is walked, so no maps of positions
+	 * and states are needed.  The working arrays are pooled and handed back once the data is built.  Branches and
+	 * leaves outside of the {@link #bounds} are left out and the cut branch is always kept first.
+	 */
+	public static class Builder {
+
+		private final Species species;
+		private final BlockPos cutPos;
+
+		private int[] branchRadPos = borrowArray();
+		private int[] branchConnections = borrowArray();
+		private int[] branchBlockIndex = borrowArray();
+		private int numBranches = 0;
+		private int[] leaves = borrowArray();
+		private int[] leavesBlockIndex = borrowArray();
+		private int numLeaves = 0;
+		private int[] endPoints = borrowArray();
+		private int numEndPoints = 0;
+
+		private final BitSet trunk = new BitSet(65);//Branches directly above the cut
+		private List<BlockItemStack> leavesDrops = new ArrayList<>();
+		private float woodVolume = 0;
+		private EnumFacing cutDir = EnumFacing.DOWN;
+		private EnumFacing toolDir = EnumFacing.DOWN;
+		private int trunkHeight = -1;
+
+		/**
+		 * @param species The species of the tree being destroyed
+		 * @param cutPos  The absolute position of the block that was cut.  All positions are made relative to it.
+		 */
+		public Builder(Species species, BlockPos cutPos) {
+			this.species = species;
+			this.cutPos = cutPos;
+		}
+
+		/**
+		 * Adds a branch in the world.  Its connections are read from the world so it must be added before anything
+		 * around it is destroyed.
+		 */
+		public Builder addBranch(BlockPos pos, BlockBranch branch, IBlockState state, IBlockAccess world) {
+			return addBranch(pos.getX() - cutPos.getX(), pos.getY() - cutPos.getY(), pos.getZ() - cutPos.getZ(),
+				branch, branch.getRadius(state), encodeBranchesConnections(branch, state, world, pos));
+		}
+
+		private Builder addBranch(int relX, int relY, int relZ, BlockBranch branch, int radius, int connections) {
+			if (!inRelBounds(relX, relY, relZ)) { //Place comfortable limits on the system
+				return this;
+			}
+
+			if (numBranches == branchRadPos.length) {
+				branchRadPos = Arrays.copyOf(branchRadPos, numBranches * 2);
+				branchConnections = Arrays.copyOf(branchConnections, numBranches * 2);
+				branchBlockIndex = Arrays.copyOf(branchBlockIndex, numBranches * 2);
+			}
+
+			int index = numBranches++;
+			if ((relX | relY | relZ) == 0 && index > 0) {//Ensure the origin block is at the first index
+				branchRadPos[index] = branchRadPos[0];
+				branchConnections[index] = branchConnections[0];
+				branchBlockIndex[index] = branchBlockIndex[0];
+				index = 0;
+			}
+
+			branchRadPos[index] = encodeBranchesRadiusPos(relX, relY, relZ, radius);
+			branchConnections[index] = connections;
+			branchBlockIndex[index] = encodeBranchBlocks(branch);
+
+			if (relX == 0 && relZ == 0 && relY > 0) {
+				trunk.set(relY);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds branches from a map of positions relative to the cut and their extended states.
+		 */
+		public Builder addBranches(Map<BlockPos, IExtendedBlockState> branches) {
+			branches.forEach((relPos, exState) -> {
+				Block block = exState.getBlock();
+				if (block instanceof BlockBranch) {
+					BlockBranch branch = (BlockBranch) block;
+					addBranch(relPos.getX(), relPos.getY(), relPos.getZ(), branch, branch.getRadius(exState), encodeBranchesConnections(exState));
+				}
+			});
+			return this;
+		}
+
+		/**
+		 * Adds leaves in the world.  Anything that isn't dynamic leaves is ignored.
+		 */
+		public Builder addLeaves(BlockPos pos, IBlockState state) {
+			return addLeaves(pos.getX() - cutPos.getX(), pos.getY() - cutPos.getY(), pos.getZ() - cutPos.getZ(), state);
+		}
+
+		private Builder addLeaves(int relX, int relY, int relZ, IBlockState state) {
+			if (state.getBlock() instanceof BlockDynamicLeaves && inRelBounds(relX, relY, relZ)) {
+				if (numLeaves == leaves.length) {
+					leaves = Arrays.copyOf(leaves, numLeaves * 2);
+					leavesBlockIndex = Arrays.copyOf(leavesBlockIndex, numLeaves * 2);
+				}
+				leaves[numLeaves] = encodeLeaves(relX, relY, relZ, state);
+				leavesBlockIndex[numLeaves++] = species.getLeavesBlockIndex(state);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds leaves from a map of positions relative to the cut and their states.
+		 */
+		public Builder addLeaves(Map<BlockPos, IBlockState> leavesMap) {
+			leavesMap.forEach((relPos, state) -> addLeaves(relPos.getX(), relPos.getY(), relPos.getZ(), state));
+			return this;
+		}
+
+		public Builder addEndPoint(BlockPos pos) {
+			return addEndPoint(pos.getX() - cutPos.getX(), pos.getY() - cutPos.getY(), pos.getZ() - cutPos.getZ());
+		}
+
+		private Builder addEndPoint(int relX, int relY, int relZ) {
+			if (inRelBounds(relX, relY, relZ)) {
+				if (numEndPoints == endPoints.length) {
+					endPoints = Arrays.copyOf(endPoints, numEndPoints * 2);
+				}
+				endPoints[numEndPoints++] = encodeRelBlockPos(relX, relY, relZ);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds endpoints from a list of positions relative to the cut.
+		 */
+		public Builder addEndPoints(List<BlockPos> relEndPoints) {
+			relEndPoints.forEach(relPos -> addEndPoint(relPos.getX(), relPos.getY(), relPos.getZ()));
+			return this;
+		}
+
+		public Builder setLeavesDrops(List<BlockItemStack> leavesDrops) {
+			this.leavesDrops = leavesDrops;
+			return this;
+		}
+
+		public Builder setWoodVolume(float woodVolume) {
+			this.woodVolume = woodVolume;
+			return this;
+		}
+
+		public Builder setCutDir(EnumFacing cutDir) {
+			this.cutDir = cutDir;
+			return this;
+		}
+
+		public Builder setToolDir(EnumFacing toolDir) {
+			this.toolDir = toolDir;
+			return this;
+		}
+
+		/**
+		 * Overrides the trunk height that's otherwise counted from the branches above the cut.
+		 */
+		public Builder setTrunkHeight(int trunkHeight) {
+			this.trunkHeight = trunkHeight;
+			return this;
+		}
+
+		private int getTrunkHeight() {
+			return trunk.nextClearBit(1);//The cut block and each unbroken branch above it
+		}
+
+		/**
+		 * Copies the data out of the working arrays, which go back to the pool.  The builder can't be used after this.
+		 */
+		public BranchDestructionData build() {
+			BranchDestructionData data = new BranchDestructionData(this, cutPos);
+			returnArray(branchRadPos);
+			returnArray(branchConnections);
+			returnArray(branchBlockIndex);
+			returnArray(leaves);
+			returnArray(leavesBlockIndex);
+			returnArray(endPoints);
+			branchRadPos = branchConnections = branchBlockIndex = leaves = leavesBlockIndex = endPoints = null;
+			return data;
+		}
+
 	}
 
 }
@@ -164,24 +164,24 @@ public class ChunkTreeHelper {
 		destroyData.getPositions(PosType.BRANCHES, true).forEach(pos -> treeBounds.union(pos));
 		treeBounds.expand(1); // Expand by one to contain the 3d "outline" of the voxels
 		
-		// Mark voxels for leaves or branch blocks
-		SimpleVoxmap treeVoxmap = new SimpleVoxmap(treeBounds);
+		// Mark voxels for leaves or branch blocks.  Both maps are boolean masks so a single bit per voxel will do.
+		IVoxmap treeVoxmap = IVoxmap.createMask(treeBounds);
 		destroyData.getPositions(PosType.LEAVES, true).forEach(pos -> treeVoxmap.setVoxel(pos, TREE));
 		destroyData.getPositions(PosType.BRANCHES, true).forEach(pos -> treeVoxmap.setVoxel(pos, TREE));
 		
 		// Set voxels in the outline map for any adjacent voxels from the source tree map
-		SimpleVoxmap outlineVoxmap = new SimpleVoxmap(treeVoxmap);
-		treeVoxmap.getAllNonZero(TREE).forEach(pos -> {
+		IVoxmap outlineVoxmap = IVoxmap.createMask(treeBounds);
+		treeVoxmap.getAllNonZero().forEach(pos -> {
 			for(EnumFacing dir : EnumFacing.VALUES) {
-				outlineVoxmap.setVoxel(pos.add(dir.getDirectionVec()), SURR);
+				outlineVoxmap.setVoxel(pos.getX() + dir.getFrontOffsetX(), pos.getY() + dir.getFrontOffsetY(), pos.getZ() + dir.getFrontOffsetZ(), SURR);
 			}
 		});
 		
 		// Clear out the original positions of the leaves and branch blocks since they've already been deleted
-		treeVoxmap.getAllNonZero(TREE).forEach(pos -> outlineVoxmap.setVoxel(pos, NONE));
+		treeVoxmap.getAllNonZero().forEach(pos -> outlineVoxmap.setVoxel(pos, NONE));
 		
 		// Finally use this map for cleaning up marked block positions
-		outlineVoxmap.getAllNonZero(SURR).forEach(pos -> cleanupBlock(world, pos));
+		outlineVoxmap.getAllNonZero().forEach(pos -> cleanupBlock(world, pos));
 	}
 	
 	/**
@@ -0,0 +1,91 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+
+/**
+ * Common interface for voxel maps.  {@link SimpleVoxmap} is a dense byte per voxel map, {@link SparseVoxmap} only
+ * stores the voxels that have been set and {@link BitVoxmap} stores a single bit per voxel for boolean masks.
+ */
+public interface IVoxmap {
+
+	/**
+	 * Bounds with more voxels than this are given a {@link SparseVoxmap} by {@link #create(BlockBounds)}
+	 */
+	int DENSE_VOLUME_LIMIT = 32 * 32 * 32;
+
+	void setVoxel(int x, int y, int z, byte value);
+
+	void setVoxelOr(int x, int y, int z, byte value);
+
+	byte getVoxel(int x, int y, int z);
+
+	default void setVoxel(BlockPos pos, byte value) {
+		setVoxel(pos.getX(), pos.getY(), pos.getZ(), value);
+	}
+
+	default void setVoxelOr(BlockPos pos, byte value) {
+		setVoxelOr(pos.getX(), pos.getY(), pos.getZ(), value);
+	}
+
+	default byte getVoxel(BlockPos pos) {
+		return getVoxel(pos.getX(), pos.getY(), pos.getZ());
+	}
+
+	/**
+	 * Create an Iterable that returns all cells(value and position) in the map whose masked value is non-zero
+	 */
+	Iterable<Cell> getAllNonZeroCells(byte mask);
+
+	/**
+	 * Create an Iterable that returns all positions in the map whose masked value is non-zero
+	 */
+	Iterable<MutableBlockPos> getAllNonZero(byte mask);
+
+	default Iterable<Cell> getAllNonZeroCells() {
+		return getAllNonZeroCells((byte) 0xFF);
+	}
+
+	default Iterable<MutableBlockPos> getAllNonZero() {
+		return getAllNonZero((byte) 0xFF);
+	}
+
+	/**
+	 * @return A separate map with the same bounds and voxels
+	 */
+	IVoxmap copy();
+
+	/**
+	 * Writes the source map's non-zero voxels centered on the position wherever they're greater than what's there.
+	 */
+	default IVoxmap blitMax(BlockPos pos, SimpleVoxmap src) {
+		for (Cell cell : src.getAllNonZeroCells()) {
+			MutableBlockPos srcPos = cell.getPos();
+			int x = pos.getX() + srcPos.getX();
+			int y = pos.getY() + srcPos.getY();
+			int z = pos.getZ() + srcPos.getZ();
+			if (cell.getValue() > getVoxel(x, y, z)) {
+				setVoxel(x, y, z, cell.getValue());
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Creates a voxmap in world coordinates for the bounds.  Small volumes get a dense map and large volumes get a
+	 * sparse map since those are usually mostly empty.
+	 */
+	static IVoxmap create(BlockBounds bounds) {
+		long volume = (long) bounds.getXSize() * bounds.getYSize() * bounds.getZSize();
+		return volume <= DENSE_VOLUME_LIMIT ? new SimpleVoxmap(bounds) : new SparseVoxmap(bounds);
+	}
+
+	/**
+	 * Creates a boolean voxmap in world coordinates for the bounds.  Any non-zero value written is stored as 1.
+	 */
+	static IVoxmap createMask(BlockBounds bounds) {
+		return new BitVoxmap(bounds);
+	}
+
+}
@@ -12,7 +12,7 @@ import java.util.Iterator;
  *
  * @author ferreusveritas
  */
-public class SimpleVoxmap {
+public class SimpleVoxmap implements IVoxmap {
 
 	private final byte[] data;
 	private final boolean[] touched;
@@ -55,6 +55,11 @@ public class SimpleVoxmap {
 		setMapAndCenter(bounds.getMin(), new BlockPos(0, 0, 0));
 	}
 
+	@Override
+	public SimpleVoxmap copy() {
+		return new SimpleVoxmap(this);
+	}
+
 	
 	/**
 	 * Convenience function to take the guessing and remembering out of how to convert local to world coordinates.
@@ -148,6 +153,7 @@ public class SimpleVoxmap {
 		});
 	}
 
+	@Override
 	public SimpleVoxmap blitMax(BlockPos pos, SimpleVoxmap src) {
 		return blitOp(pos, src, (s, d) -> {
 			return (s >= d) ? s : d;
@@ -211,14 +217,17 @@ public class SimpleVoxmap {
 		return y * lenX * lenZ + z * lenX + x;
 	}
 
+	@Override
 	public void setVoxel(BlockPos pos, byte value) {
 		setVoxel(pos.getX(), pos.getY(), pos.getZ(), value);
 	}
 	
+	@Override
 	public void setVoxelOr(BlockPos pos, byte value) {
 		setVoxelOr(pos.getX(), pos.getY(), pos.getZ(), value);
 	}
 	
+	@Override
 	public void setVoxel(int x, int y, int z, byte value) {
 		x += center.getX();
 		y += center.getY();
@@ -231,6 +240,7 @@ public class SimpleVoxmap {
 		}
 	}
 	
+	@Override
 	public void setVoxelOr(int x, int y, int z, byte value) {
 		x += center.getX();
 		y += center.getY();
@@ -257,10 +267,12 @@ public class SimpleVoxmap {
 			pos.getZ() - relPos.getZ());
 	}
 
+	@Override
 	public byte getVoxel(BlockPos pos) {
 		return getVoxel(pos.getX(), pos.getY(), pos.getZ());
 	}
 
+	@Override
 	public byte getVoxel(int x, int y, int z) {
 		if (isYTouched(y)) {
 			x += center.getX();
@@ -289,7 +301,7 @@ public class SimpleVoxmap {
 	}
 
 
-	public class Cell {
+	public static class Cell {
 
 		private byte value;
 		private final MutableBlockPos pos;
@@ -314,6 +326,7 @@ public class SimpleVoxmap {
 	}
 
 
+	@Override
 	public Iterable<Cell> getAllNonZeroCells() {
 		return getAllNonZeroCells((byte) 0xFF);
 	}
@@ -321,6 +334,7 @@ public class SimpleVoxmap {
 	/**
 	 * Create an Iterable that returns all cells(value and position) in the map whose value is non-zero
 	 */
+	@Override
 	public Iterable<Cell> getAllNonZeroCells(final byte mask) {
 
 		return new Iterable<Cell>() {
@@ -377,6 +391,7 @@ public class SimpleVoxmap {
 	/**
 	 * Create an Iterable that returns all positions in the map whose value is non-zero
 	 */
+	@Override
 	public Iterable<MutableBlockPos> getAllNonZero() {
 		return getAllNonZero((byte) 0xFF);
 	}
@@ -384,6 +399,7 @@ public class SimpleVoxmap {
 	/**
 	 * Create an Iterable that returns all positions in the map whose value is non-zero
 	 */
+	@Override
 	public Iterable<MutableBlockPos> getAllNonZero(final byte mask) {
 
 		return new Iterable<MutableBlockPos>() {
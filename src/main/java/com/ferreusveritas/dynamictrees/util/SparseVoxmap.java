@@ -0,0 +1,210 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import com.google.common.collect.AbstractIterator;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A voxel map that only stores the voxels that have been written.  Voxels are kept in an open addressing hash table
+ * keyed by their index in the bounds so memory use follows the number of set voxels rather than the volume.  Works in
+ * world coordinates.
+ * <p>
+ * Clearing a voxel while iterating is safe.  Setting new voxels while iterating is not.
+ */
+public class SparseVoxmap implements IVoxmap {
+
+	private static final long EMPTY = -1L;
+
+	private final int minX;
+	private final int minY;
+	private final int minZ;
+	private final int lenX;
+	private final int lenY;
+	private final int lenZ;
+
+	private long[] keys;
+	private byte[] values;
+	private int size;//Number of occupied slots.  Cleared voxels keep their slot with a zero value.
+
+	public SparseVoxmap(BlockBounds bounds) {
+		this(bounds, 64);
+	}
+
+	public SparseVoxmap(BlockBounds bounds, int expectedVoxels) {
+		BlockPos min = bounds.getMin();
+		this.minX = min.getX();
+		this.minY = min.getY();
+		this.minZ = min.getZ();
+		this.lenX = bounds.getXSize();
+		this.lenY = bounds.getYSize();
+		this.lenZ = bounds.getZSize();
+
+		int capacity = Integer.highestOneBit(Math.max(16, expectedVoxels * 2) - 1) << 1;
+		keys = new long[capacity];
+		values = new byte[capacity];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	private SparseVoxmap(SparseVoxmap other) {
+		this.minX = other.minX;
+		this.minY = other.minY;
+		this.minZ = other.minZ;
+		this.lenX = other.lenX;
+		this.lenY = other.lenY;
+		this.lenZ = other.lenZ;
+		this.keys = other.keys.clone();
+		this.values = other.values.clone();
+		this.size = other.size;
+	}
+
+	/**
+	 * Copies every stored voxel, including cleared ones, so voxels that are stored in this map can be set in the copy
+	 * while iterating over it.
+	 */
+	@Override
+	public SparseVoxmap copy() {
+		return new SparseVoxmap(this);
+	}
+
+	/**
+	 * @return The number of voxels stored, including ones that have been cleared
+	 */
+	public int size() {
+		return size;
+	}
+
+	private long calcKey(int x, int y, int z) {
+		x -= minX;
+		y -= minY;
+		z -= minZ;
+		if (x >= 0 && x < lenX && y >= 0 && y < lenY && z >= 0 && z < lenZ) {
+			return ((long) y * lenZ + z) * lenX + x;
+		}
+		return EMPTY;
+	}
+
+	private static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	private int findSlot(long key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		byte[] oldValues = values;
+		keys = new long[oldKeys.length * 2];
+		values = new byte[oldValues.length * 2];
+		Arrays.fill(keys, EMPTY);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = findSlot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	@Override
+	public void setVoxel(int x, int y, int z, byte value) {
+		long key = calcKey(x, y, z);
+		if (key != EMPTY) {
+			int slot = findSlot(key);
+			if (keys[slot] != EMPTY) {
+				values[slot] = value;
+			} else if (value != 0) {//No need to store a new zero voxel
+				keys[slot] = key;
+				values[slot] = value;
+				if (++size * 2 > keys.length) {//Keep the load factor under 0.5
+					grow();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void setVoxelOr(int x, int y, int z, byte value) {
+		setVoxel(x, y, z, (byte) (getVoxel(x, y, z) | value));
+	}
+
+	@Override
+	public byte getVoxel(int x, int y, int z) {
+		long key = calcKey(x, y, z);
+		if (key != EMPTY) {
+			int slot = findSlot(key);
+			return keys[slot] != EMPTY ? values[slot] : 0;
+		}
+		return 0;
+	}
+
+	private void decodeKey(long key, MutableBlockPos pos) {
+		int x = (int) (key % lenX);
+		key /= lenX;
+		int z = (int) (key % lenZ);
+		int y = (int) (key / lenZ);
+		pos.setPos(x + minX, y + minY, z + minZ);
+	}
+
+	@Override
+	public Iterable<Cell> getAllNonZeroCells(final byte mask) {
+		return new Iterable<Cell>() {
+			@Override
+			public Iterator<Cell> iterator() {
+				return new AbstractIterator<Cell>() {
+					private int slot = -1;
+					private final Cell workingCell = new Cell();
+
+					@Override
+					protected Cell computeNext() {
+						while (++slot < keys.length) {
+							byte value = (byte) (values[slot] & mask);
+							if (keys[slot] != EMPTY && value > 0) {
+								decodeKey(keys[slot], workingCell.getPos());
+								return workingCell.setValue(value);
+							}
+						}
+						return this.endOfData();
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public Iterable<MutableBlockPos> getAllNonZero(final byte mask) {
+		return new Iterable<MutableBlockPos>() {
+			@Override
+			public Iterator<MutableBlockPos> iterator() {
+				return new AbstractIterator<MutableBlockPos>() {
+					private int slot = -1;
+					private final MutableBlockPos dPos = new MutableBlockPos();
+
+					@Override
+					protected MutableBlockPos computeNext() {
+						while (++slot < keys.length) {
+							if (keys[slot] != EMPTY && (values[slot] & mask) > 0) {
+								decodeKey(keys[slot], dPos);
+								return dPos;
+							}
+						}
+						return this.endOfData();
+					}
+				};
+			}
+		};
+	}
+
+}
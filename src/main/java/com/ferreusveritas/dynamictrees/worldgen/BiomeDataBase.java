@@ -192,22 +192,32 @@ public class BiomeDataBase {
 					entry.setSpeciesSelector(selector);
 					break;
 				case SPLICE_BEFORE:
-					entry.setSpeciesSelector((pos, dirt, rnd) -> {
-						SpeciesSelection ss = selector.getSpecies(pos, dirt, rnd);
-						return ss.isHandled() ? ss : existing.getSpecies(pos, dirt, rnd);
-					});
+					entry.setSpeciesSelector(splice(selector, existing));
 					break;
 				case SPLICE_AFTER:
-					entry.setSpeciesSelector((pos, dirt, rnd) -> {
-						SpeciesSelection ss = existing.getSpecies(pos, dirt, rnd);
-						return ss.isHandled() ? ss : selector.getSpecies(pos, dirt, rnd);
-					});
+					entry.setSpeciesSelector(splice(existing, selector));
 					break;
 			}
 		}
 		return this;
 	}
 
+	/**
+	 * Splices the selectors into a single precomputed table where possible so worldgen isn't walking a chain of
+	 * selectors for every tree.
+	 */
+	private static ISpeciesSelector splice(ISpeciesSelector first, ISpeciesSelector second) {
+		ISpeciesSelector spliced = RandomSpeciesSelector.splice(first, second);
+		if (spliced != null) {
+			return spliced;
+		}
+
+		return (pos, dirt, rnd) -> {
+			SpeciesSelection ss = first.getSpecies(pos, dirt, rnd);
+			return ss.isHandled() ? ss : second.getSpecies(pos, dirt, rnd);
+		};
+	}
+
 	public BiomeDataBase setChanceSelector(Biome biome, IChanceSelector selector, Operation op) {
 		if (selector != null) {
 			BiomeEntry entry = getEntry(biome);
@@ -1,7 +1,9 @@
 package com.ferreusveritas.dynamictrees.worldgen;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -9,9 +11,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import com.ferreusveritas.dynamictrees.api.WorldGenRegistry.BiomeDataBaseJsonCapabilityRegistryEvent;
 import com.ferreusveritas.dynamictrees.api.worldgen.BiomePropertySelectors.EnumChance;
@@ -55,13 +59,25 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 	public static Set<Biome> blacklistedBiomes = new HashSet<>();
 	private static Map<String, IJsonBiomeSelector> jsonBiomeSelectorMap = new HashMap<>();
 	private static Map<String, IJsonBiomeApplier> jsonBiomeApplierMap = new HashMap<>();
-	private final JsonElement jsonElement;
+	private final CompletableFuture<JsonElement> jsonElement;
+	private List<JsonBiomeSection> sections;//Matched against the biomes once no matter how many databases are populated
 
+	/**
+	 * The json is read and parsed in the background so that every populator registered at startup loads at once.
+	 */
 	public BiomeDataBasePopulatorJson(ResourceLocation jsonLocation) {
-		this(JsonHelper.load(jsonLocation));
+		this(CompletableFuture.supplyAsync(() -> JsonHelper.load(jsonLocation)));
+	}
+
+	public BiomeDataBasePopulatorJson(File jsonFile) {
+		this(CompletableFuture.supplyAsync(() -> JsonHelper.load(jsonFile)));
 	}
 
 	public BiomeDataBasePopulatorJson(JsonElement jsonElement) {
+		this(CompletableFuture.completedFuture(jsonElement));
+	}
+
+	private BiomeDataBasePopulatorJson(CompletableFuture<JsonElement> jsonElement) {
 		this.jsonElement = jsonElement;
 	}
 
@@ -220,8 +236,8 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 	}
 
 	private static Predicate<Biome> readArrayNameSelector(JsonArray nameArray) {
-		final List<String> namesWhitelist = new ArrayList<>();
-		final List<String> namesBlacklist = new ArrayList<>();
+		final List<Pattern> namesWhitelist = new ArrayList<>();
+		final List<Pattern> namesBlacklist = new ArrayList<>();
 
 		for (final JsonElement nameElement : nameArray) {
 			if (!nameElement.isJsonPrimitive()) {
@@ -233,9 +249,9 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 			}
 			final String biomeMatch = primitive.getAsString();
 			if (biomeMatch.charAt(0) == '!') {
-				namesBlacklist.add(biomeMatch.substring(1));
+				namesBlacklist.add(Pattern.compile(biomeMatch.substring(1)));
 			} else {
-				namesWhitelist.add(biomeMatch);
+				namesWhitelist.add(Pattern.compile(biomeMatch));
 			}
 		}
 
@@ -243,16 +259,18 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 			final String regName = String.valueOf(biome.getRegistryName());
 
 			// Accept if the biome name matches any from the whilstlist and none from the blacklist. 
-			return namesWhitelist.stream().anyMatch(regName::matches) &&
-				namesBlacklist.stream().noneMatch(regName::matches);
+			return namesWhitelist.stream().anyMatch(p -> p.matcher(regName).matches()) &&
+				namesBlacklist.stream().noneMatch(p -> p.matcher(regName).matches());
 		};
 	}
 
 	private static Predicate<Biome> readNameSelector(String biomeMatch) {
 		if (biomeMatch.charAt(0) == '!') {
-			return biome -> !String.valueOf(biome.getRegistryName()).matches(biomeMatch.substring(1));
+			Pattern pattern = Pattern.compile(biomeMatch.substring(1));
+			return biome -> !pattern.matcher(String.valueOf(biome.getRegistryName())).matches();
 		} else {
-			return biome -> String.valueOf(biome.getRegistryName()).matches(biomeMatch);
+			Pattern pattern = Pattern.compile(biomeMatch);
+			return biome -> pattern.matcher(String.valueOf(biome.getRegistryName())).matches();
 		}
 	}
 
@@ -270,20 +288,51 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 
 	@Override
 	public void populate(BiomeDataBase biomeDataBase) {
-		if (jsonElement != null && jsonElement.isJsonArray()) {
-			for (JsonElement sectionElement : jsonElement.getAsJsonArray()) {
-				if (sectionElement.isJsonObject()) {
-					JsonObject section = sectionElement.getAsJsonObject();
-					readSection(section, biomeDataBase);
-				}
+		for (JsonBiomeSection section : getSections()) {
+			section.apply(biomeDataBase);
+		}
+	}
+
+	private synchronized List<JsonBiomeSection> getSections() {
+		if (sections == null) {
+			sections = readSections(getJsonElement());
+		}
+		return sections;
+	}
+
+	private JsonElement getJsonElement() {
+		try {
+			return jsonElement.join();
+		} catch (CompletionException e) {
+			System.err.println("Json Error: " + e.getCause());
+			return null;
+		}
+	}
+
+	private List<JsonBiomeSection> readSections(JsonElement jsonElement) {
+		if (jsonElement == null || !jsonElement.isJsonArray()) {
+			return Collections.emptyList();
+		}
+
+		//Selectors and their predicates run on the calling thread.  BiomeDictionary and add-on selectors aren't thread safe
+		List<Biome> biomes = Lists.newArrayList(Biome.REGISTRY);
+		List<JsonBiomeSection> sections = new ArrayList<>();
+		for (JsonElement sectionElement : jsonElement.getAsJsonArray()) {
+			if (sectionElement.isJsonObject()) {
+				JsonBiomeSection section = readSection(sectionElement.getAsJsonObject());
+				section.select(biomes);
+				sections.add(section);
 			}
 		}
+
+		return sections;
 	}
 
-	private void readSection(JsonObject section, BiomeDataBase dbase) {
+	private JsonBiomeSection readSection(JsonObject section) {
 
 		List<JsonBiomeSelectorData> selectors = new LinkedList<>();
 		List<JsonBiomeApplierData> appliers = new LinkedList<>();
+		boolean whiteAll = false;
 
 		for (Entry<String, JsonElement> entry : section.entrySet()) {
 
@@ -294,7 +343,7 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 				if (WHITE.equals(key)) {
 					if (element.isJsonPrimitive()) {
 						if ("all".equals(element.getAsString())) {
-							blacklistedBiomes.clear();
+							whiteAll = true;//The blacklist is cleared when the section is applied
 						}
 					}
 				} else if (SELECT.equals(key)) {
@@ -334,22 +383,43 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 
 		}
 
+		return new JsonBiomeSection(whiteAll, selectors.stream().map(JsonBiomeSelectorData::getFilter).collect(Collectors.toList()), appliers);
+	}
+
+	private static class JsonBiomeSection {
+
+		final boolean whiteAll;
+		final List<Predicate<Biome>> filters;
+		final List<JsonBiomeApplierData> appliers;
+		List<Biome> selectedBiomes = Collections.emptyList();
+
+		JsonBiomeSection(boolean whiteAll, List<Predicate<Biome>> filters, List<JsonBiomeApplierData> appliers) {
+			this.whiteAll = whiteAll;
+			this.filters = filters;
+			this.appliers = appliers;
+		}
+
 		//Filter biomes by selector predicates
-		Stream<Biome> stream = Lists.newArrayList(Biome.REGISTRY).stream();
-		for (JsonBiomeSelectorData s : selectors) {
-			stream = stream.filter(s.getFilter());
+		void select(List<Biome> biomes) {
+			selectedBiomes = biomes.stream().filter(b -> filters.stream().allMatch(f -> f.test(b))).collect(Collectors.toList());
 		}
 
-		//Filter blacklisted biomes
-		stream = stream.filter(b -> !blacklistedBiomes.contains(b));
+		void apply(BiomeDataBase dbase) {
+			if (whiteAll) {
+				blacklistedBiomes.clear();
+			}
+
+			//Blacklisted biomes are filtered as the appliers run since earlier sections may have changed the blacklist
+			for (Biome biome : selectedBiomes) {
+				if (!blacklistedBiomes.contains(biome)) {
+					appliers.forEach(a -> a.apply(dbase, biome));
+				}
+			}
+		}
 
-		//Apply all of the applicators to the database
-		stream.forEach(biome -> {
-			appliers.forEach(a -> a.apply(dbase, biome));
-		});
 	}
 
-	private class JsonBiomeSelectorData {
+	private static class JsonBiomeSelectorData {
 
 		final IJsonBiomeSelector selector;
 		final JsonElement elementData;
@@ -365,7 +435,7 @@ public class BiomeDataBasePopulatorJson implements IBiomeDataBasePopulator {
 
 	}
 
-	private class JsonBiomeApplierData {
+	private static class JsonBiomeApplierData {
 
 		IJsonBiomeApplier applier;
 		JsonElement elementData;
@@ -83,6 +83,13 @@ public class JoCode {
 		instructions = decode(code);
 	}
 
+	/**
+	 * @param instructions Already decoded instructions such as those from a {@link JoCodeBundle}
+	 */
+	public JoCode(byte[] instructions) {
+		this.instructions = instructions;
+	}
+
 	public JoCode setCareful(boolean c) {
 		careful = c;
 		return this;
@@ -211,7 +218,7 @@ public class JoCode {
 						IBlockState testBlockState = world.getBlockState(cellPos);
 						Block testBlock = testBlockState.getBlock();
 						if (testBlock.isReplaceable(world, cellPos)) {
-							world.setBlockState(cellPos, leavesProperties.getDynamicLeavesState(cell.getValue()), worldGen ? 16 : 2);//Flag 16 to prevent observers from causing cascading lag
+							WorldGenBlockWriter.setBlockState(world, cellPos, leavesProperties.getDynamicLeavesState(cell.getValue()), worldGen ? 16 : 2);//Flag 16 to prevent observers from causing cascading lag
 						}
 					} else {
 						leafMap.setVoxel(cellPos, (byte) 0);
@@ -242,7 +249,7 @@ public class JoCode {
 				addSnow(leafMap, world, rootPos, biome);
 
 			} else { //The growth failed.. turn the soil back to what it was
-				world.setBlockState(rootPos, initialDirtState, careful ? 3 : 2);
+				WorldGenBlockWriter.setBlockState(world, rootPos, initialDirtState, careful ? 3 : 2);
 			}
 		}
 	}
@@ -278,7 +285,7 @@ public class JoCode {
 										if (TreeHelper.isLeaves(leavesState)) {
 											BlockDynamicLeaves leavesBlock = (BlockDynamicLeaves) leavesState.getBlock();
 											if (leavesProperties.getTree() == leavesBlock.getProperties(leavesState).getTree()) {
-												world.setBlockState(delPos, ModBlocks.blockStates.air, 2);
+												WorldGenBlockWriter.setBlockState(world, delPos, ModBlocks.blockStates.air, 2);
 											}
 										}
 									}
@@ -286,7 +293,7 @@ public class JoCode {
 							}
 						}
 					}
-					world.setBlockState(pos, ModBlocks.blockStates.air, 2);
+					WorldGenBlockWriter.setBlockState(world, pos, ModBlocks.blockStates.air, 2);
 				}
 
 			}
@@ -420,7 +427,7 @@ public class JoCode {
 					do {
 						IBlockState state = world.getBlockState(iPos);
 						if (state.getMaterial() == Material.AIR) {
-							world.setBlockState(iPos, ModBlocks.blockStates.snowLayer.get(), 2);
+							WorldGenBlockWriter.setBlockState(world, iPos, ModBlocks.blockStates.snowLayer.get(), 2);
 							break;
 						} else if (state.getBlock() == ModBlocks.blockLeavesSnow.get() || state.getBlock() == Blocks.SNOW_LAYER) {
 							break;
@@ -0,0 +1,226 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import net.minecraft.util.math.MathHelper;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A pre-parsed binary form of a species' JoCode text file.  The text file is compiled once into a bundle on disk and
+ * from then on the bundle is memory-mapped and each {@link JoCode} is only decoded the first time it's selected.
+ * <p>
+ * Layout: magic, version, CRC32 of the source text, instruction count for each radius 2-8 and then every code as an
+ * unsigned short length followed by its raw instruction bytes, grouped by radius.
+ */
+public class JoCodeBundle {
+
+	public static final int MAGIC = 0x4A4F4342;//"JOCB"
+	public static final int VERSION = 1;
+	public static final int RADII = 7;//Radius values 2,3,4,5,6,7,8
+
+	private final ByteBuffer buffer;
+	private final int[][] offsets;//Buffer offsets of each length-prefixed code, indexed by radius
+	private final JoCode[][] codes;//Lazily decoded codes, indexed by radius
+
+	protected JoCodeBundle(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		this.offsets = new int[RADII][];
+		this.codes = new JoCode[RADII][];
+
+		buffer.position(16);//Skip magic, version and source checksum
+		for (int r = 0; r < RADII; r++) {
+			int count = buffer.getInt();
+			if (count < 0) {
+				throw new IOException("Corrupt JoCode bundle");
+			}
+			offsets[r] = new int[count];
+			codes[r] = new JoCode[count];
+		}
+
+		//Index the records so that any code can be reached directly
+		int pos = buffer.position();
+		for (int r = 0; r < RADII; r++) {
+			for (int i = 0; i < offsets[r].length; i++) {
+				if (pos + 2 > buffer.limit()) {
+					throw new IOException("Truncated JoCode bundle");
+				}
+				offsets[r][i] = pos;
+				pos += 2 + (buffer.getShort(pos) & 0xFFFF);
+			}
+		}
+
+		if (pos > buffer.limit()) {
+			throw new IOException("Truncated JoCode bundle");
+		}
+	}
+
+	public int getCount(int radius) {
+		return offsets[getIndex(radius)].length;
+	}
+
+	/**
+	 * Get the raw instructions of a code without decoding it into a {@link JoCode}
+	 */
+	public byte[] getInstructions(int radius, int index) {
+		int offset = offsets[getIndex(radius)][index];
+		byte[] instructions = new byte[buffer.getShort(offset) & 0xFFFF];
+		for (int i = 0; i < instructions.length; i++) {
+			instructions[i] = buffer.get(offset + 2 + i);
+		}
+		return instructions;
+	}
+
+	/**
+	 * Get a code from the bundle.  The code is created by the species the first time it's requested and reused from then
+	 * on.
+	 */
+	public JoCode getCode(Species species, int radius, int index) {
+		JoCode[] radiusCodes = codes[getIndex(radius)];
+		JoCode code = radiusCodes[index];
+		if (code == null) {
+			code = species.getJoCode(getInstructions(radius, index)).setCareful(false);
+			radiusCodes[index] = code;
+		}
+		return code;
+	}
+
+	private static int getIndex(int radius) {
+		return MathHelper.clamp(radius, 2, 8) - 2;
+	}
+
+	/**
+	 * Loads the bundle for a JoCode text resource.  If the bundle file is missing or was compiled from a different
+	 * version of the text resource then it's recompiled first.
+	 *
+	 * @param resourceName The classpath location of the JoCode text file
+	 * @param bundleFile   Where the compiled bundle is cached
+	 * @return The bundle or null if the resource doesn't exist or couldn't be compiled
+	 */
+	public static JoCodeBundle load(String resourceName, File bundleFile) {
+		InputStream stream = JoCodeBundle.class.getClassLoader().getResourceAsStream(resourceName);
+		if (stream == null) {
+			return null;
+		}
+
+		try {
+			byte[] source = readFully(stream);
+			CRC32 crc = new CRC32();
+			crc.update(source);
+			long checksum = crc.getValue();
+
+			JoCodeBundle bundle = map(bundleFile, checksum);
+			if (bundle != null) {
+				return bundle;
+			}
+
+			ByteBuffer compiled = compile(source, checksum);
+			try {
+				write(bundleFile, compiled);
+				bundle = map(bundleFile, checksum);
+			} catch (IOException e) {
+				DynamicTrees.log.warn("Unable to cache JoCode bundle at " + bundleFile + ": " + e.getMessage());
+			}
+
+			return bundle != null ? bundle : new JoCodeBundle(compiled);
+		} catch (IOException e) {
+			DynamicTrees.log.warn("Unable to compile JoCode bundle for " + resourceName + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Compiles JoCode text into the bundle format
+	 *
+	 * @param source   The UTF-8 text of a JoCode file
+	 * @param checksum The checksum of the source that's stored in the header
+	 */
+	public static ByteBuffer compile(byte[] source, long checksum) throws IOException {
+		List<List<byte[]>> radii = new ArrayList<>(RADII);
+		for (int r = 0; r < RADII; r++) {
+			radii.add(new ArrayList<>());
+		}
+
+		int size = 16 + RADII * 4;
+		BufferedReader readIn = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(source), StandardCharsets.UTF_8));
+		String line;
+		while ((line = readIn.readLine()) != null) {
+			if ((line.length() >= 3) && (line.charAt(0) != '#')) {
+				String[] split = line.split(":");
+				byte[] instructions = JoCode.decode(split[1]);
+				if (instructions.length > 0xFFFF) {
+					throw new IOException("JoCode too long: " + split[1]);
+				}
+				radii.get(getIndex(Integer.valueOf(split[0]))).add(instructions);
+				size += 2 + instructions.length;
+			}
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(MAGIC).putInt(VERSION).putLong(checksum);
+		for (List<byte[]> codes : radii) {
+			buffer.putInt(codes.size());
+		}
+		for (List<byte[]> codes : radii) {
+			for (byte[] instructions : codes) {
+				buffer.putShort((short) instructions.length).put(instructions);
+			}
+		}
+		buffer.flip();
+
+		return buffer;
+	}
+
+	/**
+	 * @return The memory-mapped bundle or null if it's missing, stale or corrupt
+	 */
+	private static JoCodeBundle map(File bundleFile, long checksum) {
+		if (!bundleFile.isFile()) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(bundleFile.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.limit() < 16 + RADII * 4 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != checksum) {
+				return null;
+			}
+			return new JoCodeBundle(buffer);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static void write(File bundleFile, ByteBuffer compiled) throws IOException {
+		File parent = bundleFile.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Couldn't create directory " + parent);
+		}
+
+		try (FileChannel channel = FileChannel.open(bundleFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer data = compiled.duplicate();
+			while (data.hasRemaining()) {
+				channel.write(data);
+			}
+		}
+	}
+
+	private static byte[] readFully(InputStream stream) throws IOException {
+		try (InputStream in = stream) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] chunk = new byte[4096];
+			int read;
+			while ((read = in.read(chunk)) != -1) {
+				out.write(chunk, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.ferreusveritas.dynamictrees.worldgen;
 
+import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.ModConstants;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import net.minecraft.util.math.MathHelper;
@@ -7,6 +8,7 @@ import net.minecraft.util.math.MathHelper;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -20,6 +22,7 @@ import java.util.logging.Logger;
 public class JoCodeStore {
 
 	ArrayList<ArrayList<JoCode>> store = new ArrayList<ArrayList<JoCode>>(7);//Radius values 2,3,4,5,6,7,8
+	List<JoCodeBundle> bundles = new ArrayList<>(1);//Compiled code files that are decoded lazily
 	Species species;
 
 	public JoCodeStore(Species species) {
@@ -35,6 +38,15 @@ public class JoCodeStore {
 	}
 
 	public void addCodesFromFile(Species species, String filename) {
+		if (ModConfigs.cacheJoCodes && ModConfigs.configDirectory != null && species.canBundleJoCodes()) {
+			JoCodeBundle bundle = JoCodeBundle.load(filename, getBundleFile(filename));
+			if (bundle != null) {
+				Logger.getLogger(ModConstants.MODID).log(Level.CONFIG, "Loaded Tree Code bundle for species \"" + species + "\" from file: " + filename);
+				bundles.add(bundle);
+				return;
+			}
+		}
+
 		try {
 			Logger.getLogger(ModConstants.MODID).log(Level.CONFIG, "Loading Tree Codes for species \"" + species + "\" from file: " + filename);
 			InputStream stream = getClass().getClassLoader().getResourceAsStream(filename);
@@ -60,6 +72,14 @@ public class JoCodeStore {
 		}
 	}
 
+	protected File getBundleFile(String filename) {
+		String name = filename.startsWith("assets/") ? filename.substring(7) : filename;
+		if (name.endsWith(".txt")) {
+			name = name.substring(0, name.length() - 4);
+		}
+		return new File(ModConfigs.configDirectory.getAbsolutePath() + "/" + ModConstants.MODID + "/cache/" + name + ".jocb");
+	}
+
 	public void addCode(Species species, int radius, String code) {
 		JoCode joCode = species.getJoCode(code).setCareful(false);
 		getListForRadius(radius).add(joCode);
@@ -67,8 +87,24 @@ public class JoCodeStore {
 
 	public JoCode getRandomCode(int radius, Random rand) {
 		ArrayList<JoCode> list = getListForRadius(radius);
-		if (!list.isEmpty()) {
-			return list.get(rand.nextInt(list.size()));
+		int total = list.size();
+		for (JoCodeBundle bundle : bundles) {
+			total += bundle.getCount(radius);
+		}
+
+		if (total > 0) {
+			int index = rand.nextInt(total);
+			if (index < list.size()) {
+				return list.get(index);
+			}
+			index -= list.size();
+			for (JoCodeBundle bundle : bundles) {
+				int count = bundle.getCount(radius);
+				if (index < count) {
+					return bundle.getCode(species, radius, index);
+				}
+				index -= count;
+			}
 		}
 
 		return null;
@@ -9,6 +9,11 @@ import com.google.gson.JsonObject;
 import net.minecraft.util.ResourceLocation;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A simple loader that reads a JSON file and facilitates database population for multiple custom dimensions.
@@ -26,10 +31,43 @@ public class MultiDimensionalPopulator {
 	}
 
 	public MultiDimensionalPopulator(JsonElement mainJsonElement, IBiomeDataBasePopulator defaultPopulator) {
-		load(mainJsonElement, defaultPopulator);
+		this(mainJsonElement, defaultPopulator, Collections.emptyMap());
 	}
 
-	private void load(JsonElement mainJsonElement, IBiomeDataBasePopulator defaultPopulator) {
+	/**
+	 * @param preloadedJson Files that were already read.  Any other referred file is read as it's needed.
+	 */
+	public MultiDimensionalPopulator(JsonElement mainJsonElement, IBiomeDataBasePopulator defaultPopulator, Map<File, JsonElement> preloadedJson) {
+		load(mainJsonElement, defaultPopulator, preloadedJson);
+	}
+
+	public static File getPopulatorFile(String filename) {
+		return new File(ModConfigs.configDirectory.getAbsolutePath() + "/" + filename);
+	}
+
+	/**
+	 * @return The files referred to by the active dimensions so they can be read ahead of time
+	 */
+	public static List<File> getPopulatorFiles(JsonElement mainJsonElement) {
+		List<File> populatorFiles = new ArrayList<>();
+		if (mainJsonElement != null && mainJsonElement.isJsonArray()) {
+			for (JsonElement element : mainJsonElement.getAsJsonArray()) {
+				if (element.isJsonObject() && element.getAsJsonObject().has(FILES) && element.getAsJsonObject().get(FILES).isJsonArray()) {
+					for (JsonElement filename : element.getAsJsonObject().getAsJsonArray(FILES)) {
+						if (filename.isJsonPrimitive()) {
+							populatorFiles.add(getPopulatorFile(filename.getAsString()));
+						}
+					}
+				}
+			}
+		}
+		return populatorFiles;
+	}
+
+	private void load(JsonElement mainJsonElement, IBiomeDataBasePopulator defaultPopulator, Map<File, JsonElement> preloadedJson) {
+
+		//Every file is opened before any dimension is populated so they all load in the background together
+		Map<Integer, List<BiomeDataBasePopulatorJson>> dimensionPopulators = new LinkedHashMap<>();
 
 		if (mainJsonElement != null && mainJsonElement.isJsonArray()) {
 			for (JsonElement element : mainJsonElement.getAsJsonArray()) {
@@ -42,31 +80,35 @@ public class MultiDimensionalPopulator {
 					JsonArray files = obj.get(FILES).getAsJsonArray();
 
 					if (active) {
-
-						System.out.println("Loading custom populators for dimension: " + dim);
-
-						//All new databases get a fresh coat of default population
-						BiomeDataBase database = new BiomeDataBase();
-
-						defaultPopulator.populate(database);
-
-						//This creates a link for the dimension id to this new database
-						TreeGenerator.getTreeGenerator().linkDimensionToDataBase(dim, database);
-
-						//Apply all of the referred json files
+						List<BiomeDataBasePopulatorJson> populators = new ArrayList<>();
 						for (JsonElement filename : files) {
 							if (filename.isJsonPrimitive()) {
-								File file = new File(ModConfigs.configDirectory.getAbsolutePath() + "/" + filename.getAsString());
-								//Each populator overwrites the results of the previous one in succession
-								new BiomeDataBasePopulatorJson(JsonHelper.load(file)).populate(database);
+								File file = getPopulatorFile(filename.getAsString());
+								populators.add(preloadedJson.containsKey(file) ? new BiomeDataBasePopulatorJson(preloadedJson.get(file)) : new BiomeDataBasePopulatorJson(file));
 							}
 						}
-
+						dimensionPopulators.put(dim, populators);
 					}
 				}
 			}
 		}
 
+		dimensionPopulators.forEach((dim, populators) -> {
+
+			System.out.println("Loading custom populators for dimension: " + dim);
+
+			//All new databases get a fresh coat of default population
+			BiomeDataBase database = new BiomeDataBase();
+
+			defaultPopulator.populate(database);
+
+			//This creates a link for the dimension id to this new database
+			TreeGenerator.getTreeGenerator().linkDimensionToDataBase(dim, database);
+
+			//Apply all of the referred json files.  Each populator overwrites the results of the previous one in succession
+			populators.forEach(populator -> populator.populate(database));
+		});
+
 	}
 
 }
@@ -26,11 +26,16 @@ public class TreeGenerator {
 
 	protected static TreeGenerator INSTANCE;
 
-	protected final BiomeDataBase defaultBiomeDataBase;
+	protected BiomeDataBase defaultBiomeDataBase;
 	public static final BiomeDataBase DIMENSIONBLACKLISTED = new BiomeDataBase();
 	protected final PoissonDiscProviderUniversal circleProvider;
 	protected final RandomXOR random = new RandomXOR();
-	protected final Map<Integer, BiomeDataBase> dimensionMap = new HashMap<>();
+	protected Map<Integer, BiomeDataBase> dimensionMap = new HashMap<>();
+	protected long treesGenerated;
+
+	//Databases being populated.  Worldgen keeps using the current ones until these are committed
+	private BiomeDataBase stagingDefaultBiomeDataBase;
+	private Map<Integer, BiomeDataBase> stagingDimensionMap;
 
 	public static void preInit() {
 		if (WorldGenRegistry.isWorldGenEnabled()) {
@@ -61,12 +66,78 @@ public class TreeGenerator {
 	}
 
 	public void linkDimensionToDataBase(int dimensionId, BiomeDataBase dBase) {
-		dimensionMap.put(dimensionId, dBase);
+		getLinkedDimensionMap().put(dimensionId, dBase);
 	}
 
 	public void BlackListDimension(int dimensionId) {
 		//System.out.println("DynamicTrees Applying BlackListed Dimension: " + dimensionId);
-		dimensionMap.put(dimensionId, DIMENSIONBLACKLISTED);
+		getLinkedDimensionMap().put(dimensionId, DIMENSIONBLACKLISTED);
+	}
+
+	private Map<Integer, BiomeDataBase> getLinkedDimensionMap() {
+		return stagingDimensionMap != null ? stagingDimensionMap : dimensionMap;
+	}
+
+	///////////////////////////////////////////
+	// STAGING
+	///////////////////////////////////////////
+
+	/**
+	 * Starts building a fresh set of biome databases.  Dimensions linked or blacklisted from now on go to the new set
+	 * while worldgen keeps using the current databases.  Must be followed by {@link #endStaging}.
+	 *
+	 * @return The new default database to be populated
+	 */
+	public BiomeDataBase beginStaging() {
+		stagingDefaultBiomeDataBase = new BiomeDataBase();
+		stagingDimensionMap = new HashMap<>();
+		return stagingDefaultBiomeDataBase;
+	}
+
+	/**
+	 * Takes the populated staging set so it can be handed to {@link #setBiomeDataBases}, possibly from another
+	 * thread.
+	 */
+	public BiomeDataBaseSet finishStaging() {
+		BiomeDataBaseSet dataBases = new BiomeDataBaseSet(stagingDefaultBiomeDataBase, stagingDimensionMap);
+		endStaging();
+		return dataBases;
+	}
+
+	/**
+	 * Drops the staging set.  Nothing changes for worldgen if it wasn't finished.
+	 */
+	public void endStaging() {
+		stagingDefaultBiomeDataBase = null;
+		stagingDimensionMap = null;
+	}
+
+	/**
+	 * Replaces the databases used by worldgen in one step.  Must be called from the server thread since worldgen reads
+	 * the databases without locking.
+	 */
+	public void setBiomeDataBases(BiomeDataBaseSet dataBases) {
+		defaultBiomeDataBase = dataBases.defaultDataBase;
+		dimensionMap = dataBases.dimensionMap;
+	}
+
+	/**
+	 * A complete set of biome databases built by staging.
+	 */
+	public static class BiomeDataBaseSet {
+
+		private final BiomeDataBase defaultDataBase;
+		private final Map<Integer, BiomeDataBase> dimensionMap;
+
+		private BiomeDataBaseSet(BiomeDataBase defaultDataBase, Map<Integer, BiomeDataBase> dimensionMap) {
+			this.defaultDataBase = defaultDataBase;
+			this.dimensionMap = dimensionMap;
+		}
+
+		public boolean isValid() {
+			return defaultDataBase.isValid() && dimensionMap.values().stream().allMatch(BiomeDataBase::isValid);
+		}
+
 	}
 
 	public void clearAllBiomeDataBases() {
@@ -102,6 +173,13 @@ public class TreeGenerator {
 
 	}
 
+	/**
+	 * @return The number of trees generated since the game started.  Used to measure worldgen rates.
+	 */
+	public long getTreesGenerated() {
+		return treesGenerated;
+	}
+
 	public PoissonDiscProviderUniversal getCircleProvider() {
 		return circleProvider;
 	}
@@ -157,6 +235,7 @@ public class TreeGenerator {
 					if (biomeEntry.getChanceSelector().getChance(random, species, circle.radius) == EnumChance.OK) {
 						if (species.generate(world, pos, biome, random, circle.radius, safeBounds)) {
 							result = EnumGeneratorResult.GENERATED;
+							treesGenerated++;
 						} else {
 							result = EnumGeneratorResult.FAILGENERATION;
 						}
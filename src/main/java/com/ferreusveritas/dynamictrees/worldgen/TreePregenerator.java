@@ -0,0 +1,343 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.ModConstants;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pregenerates the chunks of a square area so the trees in it are in place before anyone gets there.  Chunks are
+ * populated in a spiral outward from the center, as many each tick as the server can take while keeping its average
+ * tick time under {@link ModConfigs#pregenTargetMspt}.
+ * <p>
+ * Each world has one pregenerator.  Its progress is saved with the world so a run that was interrupted carries on after
+ * a restart.  Chunks loaded only for the run are unloaded again once the spiral has moved past them.
+ */
+public class TreePregenerator extends WorldSavedData {
+
+	public static final String DATA_NAME = ModConstants.MODID + "_pregen";
+
+	private static final int REPORT_INTERVAL = 200;//Ticks between progress reports
+	private static final int STALL_TICKS = 20;//A server over its target still populates a chunk this often
+
+	private boolean running;
+	private int centerX;
+	private int centerZ;
+	private int radius;
+	private int index;//Chunks of the spiral already populated
+
+	//Not saved
+	private UUID playerId;//Players are looked up for each report so one that logged out isn't held on to
+	private boolean reportToServer;
+	private final List<Chunk> loadedChunks = new ArrayList<>();
+	private int idleTicks;
+	private int reportTicks;
+	private long reportTime;
+	private int reportIndex;
+	private long reportTrees;
+
+	public TreePregenerator(String name) {
+		super(name);
+	}
+
+	public static TreePregenerator get(WorldServer world) {
+		MapStorage storage = world.getPerWorldStorage();
+		TreePregenerator pregenerator = (TreePregenerator) storage.getOrLoadData(TreePregenerator.class, DATA_NAME);
+		if (pregenerator == null) {
+			pregenerator = new TreePregenerator(DATA_NAME);
+			storage.setData(DATA_NAME, pregenerator);
+		}
+		return pregenerator;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public int getTotalChunks() {
+		int side = radius * 2 + 1;
+		return side * side;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Starts pregenerating the chunks within the radius of the center chunk.  Replaces any run in progress.
+	 *
+	 * @param sender Receives the progress reports if it's a player or the server.  Reports only go to the log after a
+	 *               restart.
+	 */
+	public void start(WorldServer world, int centerX, int centerZ, int radius, ICommandSender sender) {
+		this.running = true;
+		this.centerX = centerX;
+		this.centerZ = centerZ;
+		this.radius = radius;
+		this.index = 0;
+		setSender(sender);
+		resetReport();
+		markDirty();
+	}
+
+	public void stop(WorldServer world) {
+		running = false;
+		unloadAllChunks(world);
+		markDirty();
+	}
+
+	public void setSender(ICommandSender sender) {
+		this.playerId = sender instanceof EntityPlayerMP ? ((EntityPlayerMP) sender).getUniqueID() : null;
+		this.reportToServer = sender instanceof MinecraftServer;
+	}
+
+	@Nullable
+	private ICommandSender getSender(MinecraftServer server) {
+		if (playerId != null) {
+			return server.getPlayerList().getPlayerByUUID(playerId);//Null while the player is offline
+		}
+		return reportToServer ? server : null;
+	}
+
+	/**
+	 * Populates the chunks this tick has time for.  Called at the end of each world tick.
+	 */
+	public void tick(WorldServer world) {
+		if (!running) {
+			return;
+		}
+
+		MinecraftServer server = world.getMinecraftServer();
+		long budget = (long) ((ModConfigs.pregenTargetMspt - getAverageTickMillis(server)) * 1000000);
+		if (budget > 0 || ++idleTicks >= STALL_TICKS) {
+			idleTicks = 0;
+			long start = System.nanoTime();
+			int total = getTotalChunks();
+			int[] offset = new int[2];
+
+			do {
+				spiralOffset(index, offset);
+				populate(world, centerX + offset[0], centerZ + offset[1]);
+				index++;
+			} while (index < total && System.nanoTime() - start < budget);
+
+			unloadFinishedChunks(world);
+			markDirty();
+
+			if (index >= total) {
+				running = false;
+				unloadAllChunks(world);
+				report(world, "commands.dynamictrees.pregen.done");
+				return;
+			}
+		}
+
+		if (++reportTicks >= REPORT_INTERVAL) {
+			report(world, "commands.dynamictrees.pregen.progress");
+		}
+	}
+
+	/**
+	 * Loads the chunk and the neighbors it needs to be populated.  Populating a chunk writes into the neighbors on its
+	 * positive sides so it's only done once those exist.
+	 */
+	private void populate(WorldServer world, int chunkX, int chunkZ) {
+		ChunkProviderServer provider = world.getChunkProvider();
+		for (int dx = 0; dx <= 1; dx++) {
+			for (int dz = 0; dz <= 1; dz++) {
+				if (provider.getLoadedChunk(chunkX + dx, chunkZ + dz) == null) {
+					loadedChunks.add(provider.provideChunk(chunkX + dx, chunkZ + dz));//Loading a chunk populates it and its neighbors as they become ready
+				}
+			}
+		}
+	}
+
+	/**
+	 * Unloads the chunks loaded for the run that no step still to come will load again.  A step loads its own chunk and
+	 * the neighbors on its positive sides, so the chunks of the ring behind the spiral stay loaded until the spiral has
+	 * passed beside them.
+	 */
+	private void unloadFinishedChunks(WorldServer world) {
+		loadedChunks.removeIf(chunk -> {
+			if (isStillNeeded(chunk.x - centerX, chunk.z - centerZ)) {
+				return false;
+			}
+			unload(world, chunk);
+			return true;
+		});
+	}
+
+	private void unloadAllChunks(WorldServer world) {
+		loadedChunks.forEach(chunk -> unload(world, chunk));
+		loadedChunks.clear();
+	}
+
+	private static void unload(WorldServer world, Chunk chunk) {
+		if (!world.getPlayerChunkMap().contains(chunk.x, chunk.z)) {
+			world.getChunkProvider().queueUnload(chunk);
+		}
+	}
+
+	/**
+	 * @return True if a step that hasn't been made yet loads the chunk at the offset from the center
+	 */
+	private boolean isStillNeeded(int x, int z) {
+		for (int dx = 0; dx <= 1; dx++) {
+			for (int dz = 0; dz <= 1; dz++) {
+				int stepX = x - dx;
+				int stepZ = z - dz;
+				if (Math.max(Math.abs(stepX), Math.abs(stepZ)) <= radius && spiralIndex(stepX, stepZ) >= index) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static double getAverageTickMillis(MinecraftServer server) {
+		long sum = 0;
+		for (long time : server.tickTimeArray) {
+			sum += time;
+		}
+		return sum / (double) server.tickTimeArray.length / 1000000.0;
+	}
+
+	/**
+	 * Finds the position of a step along a square spiral that starts at the center and winds outward one ring at a
+	 * time.  Ring k holds the steps from (2k-1)^2 up to (2k+1)^2 so a radius r is covered by the first (2r+1)^2 steps.
+	 */
+	static void spiralOffset(int step, int[] offset) {
+		if (step == 0) {
+			offset[0] = offset[1] = 0;
+			return;
+		}
+
+		int ring = (int) Math.ceil((Math.sqrt(step + 1) - 1) / 2);
+		while ((2 * ring - 1) * (2 * ring - 1) > step) {//Guard against rounding at the ring edges
+			ring--;
+		}
+		while ((2 * ring + 1) * (2 * ring + 1) <= step) {
+			ring++;
+		}
+
+		int side = 2 * ring;
+		int last = (side + 1) * (side + 1) - 1;
+
+		if (step >= last - side) {
+			offset[0] = ring - (last - step);
+			offset[1] = -ring;
+			return;
+		}
+		last -= side;
+		if (step >= last - side) {
+			offset[0] = -ring;
+			offset[1] = -ring + (last - step);
+			return;
+		}
+		last -= side;
+		if (step >= last - side) {
+			offset[0] = -ring + (last - step);
+			offset[1] = ring;
+			return;
+		}
+		offset[0] = ring;
+		offset[1] = ring - (last - step - side);
+	}
+
+	/**
+	 * The inverse of {@link #spiralOffset}.  Finds the step of the spiral that lands on an offset from the center.
+	 */
+	static int spiralIndex(int x, int z) {
+		int ring = Math.max(Math.abs(x), Math.abs(z));
+		if (ring == 0) {
+			return 0;
+		}
+
+		int side = 2 * ring;
+		int last = (side + 1) * (side + 1) - 1;
+
+		if (z == -ring) {
+			return last - (ring - x);
+		}
+		last -= side;
+		if (x == -ring) {
+			return last - (z + ring);
+		}
+		last -= side;
+		if (z == ring) {
+			return last - (x + ring);
+		}
+		last -= side;
+		return last - (ring - z);
+	}
+
+	///////////////////////////////////////////
+	// REPORTING
+	///////////////////////////////////////////
+
+	private void resetReport() {
+		reportTicks = 0;
+		reportTime = System.nanoTime();
+		reportIndex = index;
+		reportTrees = TreeGenerator.getTreeGenerator() != null ? TreeGenerator.getTreeGenerator().getTreesGenerated() : 0;
+	}
+
+	/**
+	 * Reports the progress and the rates since the last report.
+	 */
+	private void report(WorldServer world, String key) {
+		double seconds = Math.max(System.nanoTime() - reportTime, 1) / 1000000000.0;
+		long trees = TreeGenerator.getTreeGenerator() != null ? TreeGenerator.getTreeGenerator().getTreesGenerated() : 0;
+		String chunksPerSecond = String.format("%.1f", (index - reportIndex) / seconds);
+		String treesPerSecond = String.format("%.1f", (trees - reportTrees) / seconds);
+
+		TextComponentTranslation message = new TextComponentTranslation(key, index, getTotalChunks(), chunksPerSecond, treesPerSecond);
+		ICommandSender sender = getSender(world.getMinecraftServer());
+		if (sender != null) {
+			sender.sendMessage(message);
+		}
+		DynamicTrees.log.info("Pregenerating dimension " + world.provider.getDimension() + ": " + index + "/" + getTotalChunks() + " chunks, " + chunksPerSecond + " chunks/sec, " + treesPerSecond + " trees/sec");
+
+		resetReport();
+	}
+
+	///////////////////////////////////////////
+	// NBT
+	///////////////////////////////////////////
+
+	@Override
+	public void readFromNBT(NBTTagCompound tag) {
+		running = tag.getBoolean("running");
+		centerX = tag.getInteger("x");
+		centerZ = tag.getInteger("z");
+		radius = tag.getInteger("radius");
+		index = tag.getInteger("index");
+		reportTime = System.nanoTime();
+		reportIndex = index;
+	}
+
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+		tag.setBoolean("running", running);
+		tag.setInteger("x", centerX);
+		tag.setInteger("z", centerZ);
+		tag.setInteger("radius", radius);
+		tag.setInteger("index", index);
+		return tag;
+	}
+
+}
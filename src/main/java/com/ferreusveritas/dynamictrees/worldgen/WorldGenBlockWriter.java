@@ -0,0 +1,130 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Places blocks during chunk population by writing straight into the chunk sections.  Going through
+ * {@link World#setBlockState} relights, notifies neighbors and looks up the chunk for every block, which is most of the
+ * cost of placing a tree during pregeneration.
+ * <p>
+ * Writing is only direct between {@link #begin} and {@link #end} and only into chunks that haven't been sent to
+ * players yet.  Blocks with tile entities, on either side of the change, rooty blocks being replaced and anything outside
+ * of a population pass go through the world as usual.  Callers are still responsible for keeping within the {@link
+ * com.ferreusveritas.dynamictrees.util.SafeChunkBounds}.
+ * <p>
+ * Height maps are raised as blocks are written so ground finding stays correct during the pass.  When the outermost
+ * pass ends each chunk that was written to has its height and sky light maps rebuilt and is flagged for the game to
+ * relight it once.  No block update or neighbor notification is ever sent for a direct write.
+ */
+public class WorldGenBlockWriter {
+
+	private static World activeWorld;
+	private static int depth = 0;//Population can cascade into neighboring chunks so passes nest
+	private static final Map<Long, Chunk> writtenChunks = new HashMap<>();
+
+	/**
+	 * Starts a population pass.  Must be paired with {@link #end}.
+	 */
+	public static void begin(World world) {
+		if (depth++ == 0) {
+			activeWorld = world;
+		}
+	}
+
+	/**
+	 * Ends a population pass.  The outermost pass relights the chunks that were written to.
+	 */
+	public static void end(World world) {
+		if (--depth > 0) {
+			return;
+		}
+
+		for (Chunk chunk : writtenChunks.values()) {
+			chunk.generateSkylightMap();//Rebuilds the height map, which may have been lowered, along with the sky light
+			chunk.setLightPopulated(false);//The game relights the chunk in one go before it's sent to anyone
+			chunk.markDirty();
+		}
+
+		writtenChunks.clear();
+		activeWorld = null;
+	}
+
+	public static boolean isActive(World world) {
+		return depth > 0 && activeWorld == world;
+	}
+
+	/**
+	 * Sets a block state, directly if a population pass is running and the chunk allows it.
+	 *
+	 * @param flags The flags to use if the state must be set through the world
+	 * @return True if the block was set
+	 */
+	public static boolean setBlockState(World world, BlockPos pos, IBlockState state, int flags) {
+		if (isActive(world) && setBlockStateDirect(world, pos, state)) {
+			return true;
+		}
+		return world.setBlockState(pos, state, flags);
+	}
+
+	public static boolean setBlockToAir(World world, BlockPos pos) {
+		return setBlockState(world, pos, ModBlocks.blockStates.air, 3);
+	}
+
+	private static boolean setBlockStateDirect(World world, BlockPos pos, IBlockState state) {
+		int y = pos.getY();
+		if (y < 0 || y > 255) {
+			return false;
+		}
+
+		int chunkX = pos.getX() >> 4;
+		int chunkZ = pos.getZ() >> 4;
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+		if (chunk == null || chunk.isPopulated()) {//Chunks that may have been sent to players need proper updates
+			return false;
+		}
+
+		ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+		ExtendedBlockStorage storage = storageArray[y >> 4];
+		int x = pos.getX() & 15;
+		int z = pos.getZ() & 15;
+
+		IBlockState oldState = storage != Chunk.NULL_BLOCK_STORAGE ? storage.get(x, y & 15, z) : Blocks.AIR.getDefaultState();
+		if (oldState.getBlock().hasTileEntity(oldState) || state.getBlock().hasTileEntity(state)) {
+			return false;
+		}
+		if (oldState.getBlock() != state.getBlock() && TreeHelper.isRooty(oldState)) {
+			return false;//Rooty blocks must be broken properly so they leave the root index
+		}
+		if (oldState == state) {
+			return true;
+		}
+
+		if (storage == Chunk.NULL_BLOCK_STORAGE) {
+			storage = new ExtendedBlockStorage(y >> 4 << 4, world.provider.hasSkyLight());
+			storageArray[y >> 4] = storage;
+		}
+		storage.set(x, y & 15, z, state);
+
+		//Raise the height map right away since trees that follow in this pass find the ground from it
+		int[] heightMap = chunk.getHeightMap();
+		int index = z << 4 | x;
+		if (y >= heightMap[index] && state.getLightOpacity(world, pos) > 0) {
+			heightMap[index] = y + 1;
+		}
+
+		writtenChunks.put(ChunkPos.asLong(chunkX, chunkZ), chunk);
+		return true;
+	}
+
+}
@@ -149,7 +149,12 @@ public class WorldGeneratorTrees implements IWorldGenerator {
 		BiomeDataBase dbase = treeGenerator.getBiomeDataBase(world);
 		if (dbase != TreeGenerator.DIMENSIONBLACKLISTED) {
 			SafeChunkBounds safeBounds = new SafeChunkBounds(world, new ChunkPos(chunkX, chunkZ));//Area that is safe to place blocks during worldgen
-			treeGenerator.getCircleProvider().getPoissonDiscs(world, chunkX, 0, chunkZ).forEach(c -> treeGenerator.makeTree(world, dbase, c, new GroundFinder(), safeBounds));
+			WorldGenBlockWriter.begin(world);
+			try {
+				treeGenerator.getCircleProvider().getPoissonDiscs(world, chunkX, 0, chunkZ).forEach(c -> treeGenerator.makeTree(world, dbase, c, new GroundFinder(), safeBounds));
+			} finally {
+				WorldGenBlockWriter.end(world);
+			}
 		}
 	}
 